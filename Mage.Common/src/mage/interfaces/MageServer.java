@@ -79,6 +79,10 @@ public interface MageServer {
     // ping - extends session
     boolean ping(String sessionId, String pingInfo) throws MageException;
 
+    // returns the version of the game view protocol used for the callbacks of the session
+    int negotiateViewProtocol(String sessionId, int version) throws MageException;
+    void acknowledgeGameView(String sessionId, UUID gameId, int version) throws MageException;
+
     //table methods
     TableView createTable(String sessionId, UUID roomId, MatchOptions matchOptions) throws MageException;
     TableView createTournamentTable(String sessionId, UUID roomId, TournamentOptions tournamentOptions) throws MageException;
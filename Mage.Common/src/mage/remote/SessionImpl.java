@@ -43,6 +43,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import mage.MageException;
 import mage.cards.decks.DeckCardLists;
@@ -63,6 +67,7 @@ import mage.interfaces.ServerState;
 import mage.interfaces.callback.ClientCallback;
 import mage.utils.CompressUtil;
 import mage.players.net.UserSkipPrioritySteps;
+import mage.remote.traffic.ZippedViewImpl;
 import mage.view.DraftPickView;
 import mage.view.GameTypeView;
 import mage.view.MatchView;
@@ -72,6 +77,8 @@ import mage.view.TournamentTypeView;
 import mage.view.TournamentView;
 import mage.view.UserDataView;
 import mage.view.UserView;
+import mage.view.ViewDeltaDecoder;
+import mage.view.ViewProtocol;
 import org.apache.log4j.Logger;
 import org.jboss.remoting.CannotConnectException;
 import org.jboss.remoting.Client;
@@ -102,6 +109,20 @@ public class SessionImpl implements Session {
     private Client callbackClient;
     private CallbackHandler callbackHandler;
     private ServerState serverState;
+    private final Map<UUID, ViewDeltaDecoder> viewDecoders = new ConcurrentHashMap<>();
+    // last decoded view of each game that is not acknowledged yet
+    private final Map<UUID, Integer> pendingAcknowledgements = new HashMap<>();
+    private boolean acknowledgeScheduled;
+    // the received views are acknowledged together at most every ACKNOWLEDGE_DELAY ms
+    private static final int ACKNOWLEDGE_DELAY = 250;
+    private static final ScheduledExecutorService acknowledgeExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "VIEW ACKNOWLEDGE");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
     private SessionState sessionState = SessionState.DISCONNECTED;
     private Connection connection;
     private final static int PING_CYCLES = 10;
@@ -289,6 +310,8 @@ public class SessionImpl implements Session {
             if (registerResult) {
                 sessionState = SessionState.CONNECTED;
                 serverState = server.getServerState();
+                int viewProtocol = server.negotiateViewProtocol(sessionId, ViewProtocol.VERSION);
+                logger.debug("Game view protocol version: " + viewProtocol);
                 if (!connection.getUsername().equals("Admin")) {
                     updateDatabase(connection.isForceDBComparison(), serverState);
                 }
@@ -431,6 +454,10 @@ public class SessionImpl implements Session {
             client.disconnected(askForReconnect); // MageFrame with check to reconnect
             pingTime.clear();
         }
+        viewDecoders.clear();
+        synchronized (pendingAcknowledgements) {
+            pendingAcknowledgements.clear();
+        }
     }
 
     @Override
@@ -456,7 +483,103 @@ public class SessionImpl implements Session {
         @Override
         public void handleCallback(Callback callback) throws HandleCallbackException {
             //logger.info("callback handler");
-            client.processCallback((ClientCallback)callback.getCallbackObject());
+            ClientCallback clientCallback = (ClientCallback) callback.getCallbackObject();
+            if (clientCallback.getData() instanceof ZippedViewImpl && !decodeView(clientCallback)) {
+                return;
+            }
+            if ("gameOver".equals(clientCallback.getMethod()) || "replayDone".equals(clientCallback.getMethod())) {
+                removeViewDecoder(clientCallback.getObjectId());
+            }
+            client.processCallback(clientCallback);
+        }
+    }
+
+    /**
+     * Decodes a numbered game view and acknowledges it, so the server can send
+     * the next views as changes to it. The acknowledgement is not sent right
+     * away, see {@link #acknowledgeView(UUID, int)}.
+     *
+     * @param clientCallback
+     * @return false if the view could not be decoded
+     */
+    private boolean decodeView(ClientCallback clientCallback) {
+        ZippedViewImpl<?> view = (ZippedViewImpl<?>) clientCallback.getData();
+        if (view.getVersion() == 0) {
+            return true;
+        }
+        UUID gameId = clientCallback.getObjectId();
+        ViewDeltaDecoder decoder = viewDecoders.get(gameId);
+        if (decoder == null) {
+            decoder = new ViewDeltaDecoder();
+            viewDecoders.put(gameId, decoder);
+        }
+        boolean decoded = false;
+        try {
+            clientCallback.setData(decoder.decode(view));
+            decoded = true;
+        } catch (IOException ex) {
+            logger.error("Can't decode game view " + view.getVersion() + " for " + clientCallback.getMethod(), ex);
+        }
+        acknowledgeView(gameId, decoded ? view.getVersion() : 0);
+        return decoded;
+    }
+
+    /**
+     * Only the last view of a game that was decoded has to be acknowledged,
+     * so the views received within ACKNOWLEDGE_DELAY are acknowledged with
+     * one call per game instead of one call per view.
+     *
+     * @param gameId
+     * @param version decoded view or 0 if a view could not be decoded
+     */
+    private void acknowledgeView(UUID gameId, int version) {
+        synchronized (pendingAcknowledgements) {
+            Integer pending = pendingAcknowledgements.get(gameId);
+            // after a failed view any decoded view can be used as base again
+            if (version == 0 || pending == null || pending == 0 || version > pending) {
+                pendingAcknowledgements.put(gameId, version);
+            }
+            if (!acknowledgeScheduled) {
+                acknowledgeScheduled = true;
+                acknowledgeExecutor.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        sendAcknowledgements();
+                    }
+                }, ACKNOWLEDGE_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void sendAcknowledgements() {
+        Map<UUID, Integer> acknowledgements;
+        synchronized (pendingAcknowledgements) {
+            acknowledgements = new HashMap<>(pendingAcknowledgements);
+            pendingAcknowledgements.clear();
+            acknowledgeScheduled = false;
+        }
+        for (Map.Entry<UUID, Integer> entry : acknowledgements.entrySet()) {
+            try {
+                if (isConnected()) {
+                    server.acknowledgeGameView(sessionId, entry.getKey(), entry.getValue());
+                }
+            } catch (MageException ex) {
+                handleMageException(ex);
+            } catch (Throwable t) {
+                handleThrowable(t);
+            }
+        }
+    }
+
+    /**
+     * No more views of the game are received
+     *
+     * @param gameId
+     */
+    private void removeViewDecoder(UUID gameId) {
+        viewDecoders.remove(gameId);
+        synchronized (pendingAcknowledgements) {
+            pendingAcknowledgements.remove(gameId);
         }
     }
 
@@ -1149,6 +1272,7 @@ public class SessionImpl implements Session {
         try {
             if (isConnected()) {
                 server.quitMatch(gameId, sessionId);
+                removeViewDecoder(gameId);
                 return true;
             }
         } catch (MageException ex) {
@@ -1207,6 +1331,7 @@ public class SessionImpl implements Session {
         try {
             if (isConnected()) {
                 server.stopWatching(gameId, sessionId);
+                removeViewDecoder(gameId);
                 return true;
             }
         } catch (MageException ex) {
@@ -1237,6 +1362,7 @@ public class SessionImpl implements Session {
         try {
             if (isConnected()) {
                 server.stopReplay(gameId, sessionId);
+                removeViewDecoder(gameId);
                 return true;
             }
         } catch (MageException ex) {
@@ -0,0 +1,72 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import java.io.Serializable;
+import mage.view.ViewProtocol;
+
+/**
+ * Game view sent in the binary form of {@link ViewProtocol}.
+ * Unzipped on the client by {@link mage.utils.CompressUtil#decompress(Object)} like any other zipped object.
+ * A view with a base version was deflated against an earlier view and is decoded by {@link mage.view.ViewDeltaDecoder}.
+ *
+ * @author magefree
+ */
+public class ZippedViewImpl<T> implements ZippedObject<T>, Serializable {
+
+    private byte[] data;
+    private int version;
+    private int baseVersion;
+
+    public ZippedViewImpl(T object) {
+        zip(object);
+    }
+
+    public ZippedViewImpl(byte[] data, int version, int baseVersion) {
+        this.data = data;
+        this.version = version;
+        this.baseVersion = baseVersion;
+    }
+
+    @Override
+    public void zip(T object) {
+        try {
+            data = ViewProtocol.encode(object);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T unzip() {
+        if (baseVersion > 0) {
+            throw new IllegalStateException("View " + version + " needs view " + baseVersion + " to be unzipped");
+        }
+        try {
+            return (T) ViewProtocol.decode(data);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * @return number of the view in the views of the game sent to the client, 0 if it is not numbered
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return number of the view the data was deflated against, 0 if it can be unzipped alone
+     */
+    public int getBaseVersion() {
+        return baseVersion;
+    }
+
+    private static final long serialVersionUID = 1L;
+}
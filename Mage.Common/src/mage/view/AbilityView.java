@@ -28,6 +28,7 @@
 
 package mage.view;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import mage.ObjectColor;
 import mage.abilities.Ability;
@@ -60,6 +61,19 @@ public class AbilityView extends CardView {
         this.manaCost = ability.getManaCosts().getSymbols();
     }
 
+    AbilityView(ViewInput in) throws IOException {
+        super(in);
+        this.sourceName = in.readString();
+        this.sourceCard = in.readCardView();
+    }
+
+    @Override
+    void writeTo(ViewOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(sourceName);
+        out.writeCardView(sourceCard);
+    }
+
     public CardView getSourceCard() {
         return this.sourceCard;
     }
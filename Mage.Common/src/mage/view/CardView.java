@@ -47,6 +47,7 @@ import mage.game.stack.StackAbility;
 import mage.target.Target;
 import mage.target.Targets;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -435,6 +436,122 @@ public class CardView extends SimpleCardView {
         this.tokenSetCode = token.getOriginalExpansionSetCode();
     }
 
+    CardView(ViewInput in) throws IOException {
+        super(in);
+        this.parentId = in.readUUID();
+        this.name = in.readString();
+        this.displayName = in.readString();
+        this.rules = in.readStrings();
+        this.power = in.readString();
+        this.toughness = in.readString();
+        this.loyalty = in.readString();
+        this.cardTypes = in.readEnums(CardType.class);
+        this.subTypes = in.readStrings();
+        this.superTypes = in.readStrings();
+        this.color = in.readColor();
+        this.manaCost = in.readStrings();
+        this.convertedManaCost = in.readVarInt();
+        this.rarity = in.readEnum(Rarity.class);
+        this.mageObjectType = in.readEnum(MageObjectType.class);
+        this.abilityType = in.readEnum(AbilityType.class);
+        this.ability = in.readCardView();
+        this.type = in.readVarInt();
+        this.secondCardFace = in.readCardView();
+        this.alternateName = in.readString();
+        this.originalName = in.readString();
+        this.leftSplitName = in.readString();
+        this.leftSplitCosts = in.readSerialized();
+        this.leftSplitRules = in.readStrings();
+        this.rightSplitName = in.readString();
+        this.rightSplitCosts = in.readSerialized();
+        this.rightSplitRules = in.readStrings();
+        this.targets = in.readUUIDList();
+        this.pairedCard = in.readUUID();
+        int size = in.readVarInt() - 1;
+        if (size >= 0) {
+            this.counters = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                counters.add(new CounterView(in.readString(), in.readVarInt()));
+            }
+        }
+        int flags = in.readVarInt();
+        this.isAbility = (flags & 1) != 0;
+        this.isToken = (flags & 1 << 1) != 0;
+        this.canTransform = (flags & 1 << 2) != 0;
+        this.transformed = (flags & 1 << 3) != 0;
+        this.flipCard = (flags & 1 << 4) != 0;
+        this.faceDown = (flags & 1 << 5) != 0;
+        this.isSplitCard = (flags & 1 << 6) != 0;
+        this.paid = (flags & 1 << 7) != 0;
+        this.controlledByOwner = (flags & 1 << 8) != 0;
+        this.rotate = (flags & 1 << 9) != 0;
+        this.hideInfo = (flags & 1 << 10) != 0;
+        this.isPlayable = (flags & 1 << 11) != 0;
+        this.isChoosable = (flags & 1 << 12) != 0;
+        this.selected = (flags & 1 << 13) != 0;
+        this.canAttack = (flags & 1 << 14) != 0;
+    }
+
+    @Override
+    void writeTo(ViewOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeUUID(parentId);
+        out.writeString(name);
+        out.writeString(displayName);
+        out.writeStrings(rules);
+        out.writeString(power);
+        out.writeString(toughness);
+        out.writeString(loyalty);
+        out.writeEnums(cardTypes);
+        out.writeStrings(subTypes);
+        out.writeStrings(superTypes);
+        out.writeColor(color);
+        out.writeStrings(manaCost);
+        out.writeVarInt(convertedManaCost);
+        out.writeEnum(rarity);
+        out.writeEnum(mageObjectType);
+        out.writeEnum(abilityType);
+        out.writeCardView(ability);
+        out.writeVarInt(type);
+        out.writeCardView(secondCardFace);
+        out.writeString(alternateName);
+        out.writeString(originalName);
+        out.writeString(leftSplitName);
+        out.writeObject(leftSplitCosts);
+        out.writeStrings(leftSplitRules);
+        out.writeString(rightSplitName);
+        out.writeObject(rightSplitCosts);
+        out.writeStrings(rightSplitRules);
+        out.writeUUIDs(targets);
+        out.writeUUID(pairedCard);
+        if (counters == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(counters.size() + 1);
+            for (CounterView counter : counters) {
+                out.writeString(counter.getName());
+                out.writeVarInt(counter.getCount());
+            }
+        }
+        int flags = 0;
+        flags |= isAbility ? 1 : 0;
+        flags |= isToken ? 1 << 1 : 0;
+        flags |= canTransform ? 1 << 2 : 0;
+        flags |= transformed ? 1 << 3 : 0;
+        flags |= flipCard ? 1 << 4 : 0;
+        flags |= faceDown ? 1 << 5 : 0;
+        flags |= isSplitCard ? 1 << 6 : 0;
+        flags |= paid ? 1 << 7 : 0;
+        flags |= controlledByOwner ? 1 << 8 : 0;
+        flags |= rotate ? 1 << 9 : 0;
+        flags |= hideInfo ? 1 << 10 : 0;
+        flags |= isPlayable ? 1 << 11 : 0;
+        flags |= isChoosable ? 1 << 12 : 0;
+        flags |= selected ? 1 << 13 : 0;
+        flags |= canAttack ? 1 << 14 : 0;
+        out.writeVarInt(flags);
+    }
+
     protected final void setTargets(Targets targets) {
         for (Target target : targets) {
             if (target.isChosen()) {
@@ -27,6 +27,7 @@
 */
 package mage.view;
 
+import java.io.IOException;
 import java.io.Serializable;
 import mage.cards.Card;
 import mage.constants.MageObjectType;
@@ -43,4 +44,8 @@ public class CommanderView extends CardView implements CommandObjectView, Serial
         super(sourceCard, game, null, false);
         this.mageObjectType = MageObjectType.COMMANDER;
     }   
+
+    CommanderView(ViewInput in) throws IOException {
+        super(in);
+    }
 }
@@ -46,6 +46,11 @@ public class CounterView implements Serializable {
         this.count = counter.getCount();
     }
 
+    CounterView(String name, int count) {
+        this.name = name;
+        this.count = count;
+    }
+
     public String getName() {
         return name;
     }
@@ -28,6 +28,7 @@
 
 package mage.view;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
@@ -107,6 +108,39 @@ public class GameClientMessage implements Serializable {
         this.choice = choice;
     }
 
+    GameClientMessage(ViewInput in) throws IOException {
+        if (in.readBoolean()) {
+            this.gameView = new GameView(in);
+        }
+        this.cardsView = in.readCardsView();
+        this.cardsView2 = in.readCardsView();
+        this.message = in.readString();
+        this.flag = in.readBoolean();
+        this.strings = in.readSerialized();
+        this.targets = in.readSerialized();
+        this.min = in.readInt();
+        this.max = in.readInt();
+        this.options = in.readSerialized();
+        this.choice = in.readSerialized();
+    }
+
+    void writeTo(ViewOutput out) throws IOException {
+        out.writeBoolean(gameView != null);
+        if (gameView != null) {
+            gameView.writeTo(out);
+        }
+        out.writeCardsView(cardsView);
+        out.writeCardsView(cardsView2);
+        out.writeString(message);
+        out.writeBoolean(flag);
+        out.writeObject(strings);
+        out.writeObject(targets);
+        out.writeInt(min);
+        out.writeInt(max);
+        out.writeObject(options);
+        out.writeObject(choice);
+    }
+
     public GameView getGameView() {
         return gameView;
     }
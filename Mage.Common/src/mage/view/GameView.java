@@ -47,6 +47,7 @@ import mage.game.stack.StackObject;
 import mage.players.Player;
 import org.apache.log4j.Logger;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
 import mage.watchers.common.CastSpellLastTurnWatcher;
@@ -182,6 +183,118 @@ public class GameView implements Serializable {
         }
     }
 
+    /**
+     * Creates the view for a player or a watcher from a view that was created
+     * for watchers. Only the parts that depend on the player are created again,
+     * everything else is shared with the given view.
+     *
+     * @param view view created without a player
+     * @param state
+     * @param game
+     * @param createdForPlayerId player the view is for or null for a watcher
+     */
+    public GameView(GameView view, GameState state, Game game, UUID createdForPlayerId) {
+        this.isPlayer = createdForPlayerId != null;
+        this.priorityTime = view.priorityTime;
+        for (PlayerView playerView: view.players) {
+            if (isPlayer && showsControlledPermanent(playerView, state, createdForPlayerId)) {
+                Player player = state.getPlayer(playerView.getPlayerId());
+                players.add(new PlayerView(player, state, game, createdForPlayerId, null));
+            } else {
+                players.add(playerView);
+            }
+        }
+        this.stack.putAll(view.stack);
+        if (isPlayer) {
+            for (StackObject stackObject: state.getStack()) {
+                // only face down spells are shown different to their controller
+                if (stackObject instanceof Spell && stackObject.getControllerId().equals(createdForPlayerId)
+                        && ((Spell) stackObject).isFaceDown(game)) {
+                    stack.put(stackObject.getId(), new CardView((Spell)stackObject, game, null, true));
+                    checkPaid(stackObject.getId(), (Spell)stackObject);
+                }
+            }
+        }
+        this.exiles.addAll(view.exiles);
+        this.revealed.addAll(view.revealed);
+        this.combat.addAll(view.combat);
+        this.phase = view.phase;
+        this.step = view.step;
+        this.turn = view.turn;
+        this.activePlayerId = view.activePlayerId;
+        this.activePlayerName = view.activePlayerName;
+        this.priorityPlayerName = view.priorityPlayerName;
+        if (isPlayer && state.getPriorityPlayerId() == createdForPlayerId) {
+            Player createdForPlayer = state.getPlayer(createdForPlayerId);
+            if (createdForPlayer != null) {
+                this.special = state.getSpecialActions().getControlledBy(state.getPriorityPlayerId(), createdForPlayer.isInPayManaMode()).size() > 0;
+            }
+        }
+        this.spellsCastCurrentTurn = view.spellsCastCurrentTurn;
+    }
+
+    private static boolean showsControlledPermanent(PlayerView playerView, GameState state, UUID controllerId) {
+        for (UUID permanentId: playerView.getBattlefield().keySet()) {
+            Permanent permanent = state.getPermanent(permanentId);
+            if (permanent != null && permanent.getControllerId().equals(controllerId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    GameView(ViewInput in) throws IOException {
+        this.priorityTime = in.readInt();
+        int size = in.readVarInt();
+        for (int i = 0; i < size; i++) {
+            players.add(new PlayerView(in));
+        }
+        this.hand = in.readCardsView();
+        this.canPlayInHand = in.readUUIDSet();
+        this.opponentHands = in.readSerialized();
+        this.watchedHands = in.readSerialized();
+        this.stack.putAll(in.readCardsView());
+        this.exiles.addAll(in.<List<ExileView>>readSerialized());
+        this.revealed.addAll(in.<List<RevealedView>>readSerialized());
+        this.lookedAt = in.readSerialized();
+        this.combat.addAll(in.<List<CombatGroupView>>readSerialized());
+        this.phase = in.readEnum(TurnPhase.class);
+        this.step = in.readEnum(PhaseStep.class);
+        this.activePlayerId = in.readUUID();
+        this.activePlayerName = in.readString();
+        this.priorityPlayerName = in.readString();
+        this.turn = in.readVarInt();
+        this.special = in.readBoolean();
+        this.isPlayer = in.readBoolean();
+        this.spellsCastCurrentTurn = in.readVarInt();
+    }
+
+    void writeTo(ViewOutput out) throws IOException {
+        out.writeInt(priorityTime);
+        out.writeVarInt(players.size());
+        for (PlayerView player : players) {
+            player.writeTo(out);
+        }
+        out.writeCardsView(hand);
+        out.writeUUIDs(canPlayInHand);
+        out.writeObject(opponentHands);
+        out.writeObject(watchedHands);
+        out.writeCardsView(stack);
+        out.writeObject(exiles);
+        out.writeObject(revealed);
+        out.writeObject(lookedAt);
+        out.writeObject(combat);
+        out.writeEnum(phase);
+        out.writeEnum(step);
+        out.writeUUID(activePlayerId);
+        out.writeString(activePlayerName);
+        out.writeString(priorityPlayerName);
+        out.writeVarInt(turn);
+        out.writeBoolean(special);
+        out.writeBoolean(isPlayer);
+        out.writeVarInt(spellsCastCurrentTurn);
+    }
+
     private void checkPaid(UUID uuid, StackAbility stackAbility) {
         for (Cost cost : stackAbility.getManaCostsToPay()) {
             if (!cost.isPaid()) {
@@ -31,6 +31,7 @@ package mage.view;
 import mage.ConditionalMana;
 import mage.players.ManaPool;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -64,6 +65,24 @@ public class ManaPoolView implements Serializable {
         }
     }
 
+    ManaPoolView(ViewInput in) throws IOException {
+        this.red = in.readVarInt();
+        this.green = in.readVarInt();
+        this.blue = in.readVarInt();
+        this.white = in.readVarInt();
+        this.black = in.readVarInt();
+        this.colorless = in.readVarInt();
+    }
+
+    void writeTo(ViewOutput out) throws IOException {
+        out.writeVarInt(red);
+        out.writeVarInt(green);
+        out.writeVarInt(blue);
+        out.writeVarInt(white);
+        out.writeVarInt(black);
+        out.writeVarInt(colorless);
+    }
+
     public int getRed() {
         return red;
     }
@@ -28,6 +28,7 @@
 
 package mage.view;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -150,6 +151,46 @@ public class PermanentView extends CardView {
         }
     }
 
+    PermanentView(ViewInput in) throws IOException {
+        super(in);
+        int flags = in.readVarInt();
+        this.tapped = (flags & 1) != 0;
+        this.flipped = (flags & 1 << 1) != 0;
+        this.phasedIn = (flags & 1 << 2) != 0;
+        this.summoningSickness = (flags & 1 << 3) != 0;
+        this.copy = (flags & 1 << 4) != 0;
+        this.controlled = (flags & 1 << 5) != 0;
+        this.morphed = (flags & 1 << 6) != 0;
+        this.manifested = (flags & 1 << 7) != 0;
+        this.attachedToPermanent = (flags & 1 << 8) != 0;
+        this.damage = in.readVarInt();
+        this.attachments = in.readUUIDList();
+        this.original = in.readCardView();
+        this.nameOwner = in.readString();
+        this.attachedTo = in.readUUID();
+    }
+
+    @Override
+    void writeTo(ViewOutput out) throws IOException {
+        super.writeTo(out);
+        int flags = 0;
+        flags |= tapped ? 1 : 0;
+        flags |= flipped ? 1 << 1 : 0;
+        flags |= phasedIn ? 1 << 2 : 0;
+        flags |= summoningSickness ? 1 << 3 : 0;
+        flags |= copy ? 1 << 4 : 0;
+        flags |= controlled ? 1 << 5 : 0;
+        flags |= morphed ? 1 << 6 : 0;
+        flags |= manifested ? 1 << 7 : 0;
+        flags |= attachedToPermanent ? 1 << 8 : 0;
+        out.writeVarInt(flags);
+        out.writeVarInt(damage);
+        out.writeUUIDs(attachments);
+        out.writeCardView(original);
+        out.writeString(nameOwner);
+        out.writeUUID(attachedTo);
+    }
+
     public boolean isTapped() {
         return tapped;
     }
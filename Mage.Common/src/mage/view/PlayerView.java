@@ -28,6 +28,7 @@
 
 package mage.view;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -44,6 +45,7 @@ import mage.game.command.Commander;
 import mage.game.command.Emblem;
 import mage.game.permanent.Permanent;
 import mage.players.Player;
+import mage.players.net.UserSkipPrioritySteps;
 
 /**
  *
@@ -151,6 +153,83 @@ public class PlayerView implements Serializable {
         this.passedUntilStackResolved = player.getPassedUntilStackResolved();
     }
 
+    PlayerView(ViewInput in) throws IOException {
+        this.playerId = in.readUUID();
+        this.name = in.readString();
+        this.life = in.readInt();
+        this.poison = in.readVarInt();
+        this.libraryCount = in.readVarInt();
+        this.handCount = in.readVarInt();
+        int flags = in.readVarInt();
+        this.isActive = (flags & 1) != 0;
+        this.hasPriority = (flags & 1 << 1) != 0;
+        this.timerActive = (flags & 1 << 2) != 0;
+        this.hasLeft = (flags & 1 << 3) != 0;
+        this.passedTurn = (flags & 1 << 4) != 0;
+        this.passedUntilEndOfTurn = (flags & 1 << 5) != 0;
+        this.passedUntilNextMain = (flags & 1 << 6) != 0;
+        this.passedUntilStackResolved = (flags & 1 << 7) != 0;
+        this.passedAllTurns = (flags & 1 << 8) != 0;
+        this.manaPool = new ManaPoolView(in);
+        this.graveyard.putAll(in.readCardsView());
+        this.exile.putAll(in.readCardsView());
+        int size = in.readVarInt();
+        for (int i = 0; i < size; i++) {
+            PermanentView view = (PermanentView) in.readCardView();
+            battlefield.put(view.getId(), view);
+        }
+        this.topCard = in.readCardView();
+        this.userDataView = new UserDataView(in.readVarInt(), in.readBoolean(), in.readBoolean(), in.<UserSkipPrioritySteps>readSerialized());
+        this.userDataView.userGroup = in.readVarInt();
+        size = in.readVarInt();
+        for (int i = 0; i < size; i++) {
+            commandList.add(in.<CommandObjectView>readSerialized());
+        }
+        attachments.addAll(in.readUUIDList());
+        this.statesSavedSize = in.readVarInt();
+        this.priorityTimeLeft = in.readInt();
+    }
+
+    void writeTo(ViewOutput out) throws IOException {
+        out.writeUUID(playerId);
+        out.writeString(name);
+        out.writeInt(life);
+        out.writeVarInt(poison);
+        out.writeVarInt(libraryCount);
+        out.writeVarInt(handCount);
+        int flags = 0;
+        flags |= isActive ? 1 : 0;
+        flags |= hasPriority ? 1 << 1 : 0;
+        flags |= timerActive ? 1 << 2 : 0;
+        flags |= hasLeft ? 1 << 3 : 0;
+        flags |= passedTurn ? 1 << 4 : 0;
+        flags |= passedUntilEndOfTurn ? 1 << 5 : 0;
+        flags |= passedUntilNextMain ? 1 << 6 : 0;
+        flags |= passedUntilStackResolved ? 1 << 7 : 0;
+        flags |= passedAllTurns ? 1 << 8 : 0;
+        out.writeVarInt(flags);
+        manaPool.writeTo(out);
+        out.writeCardsView(graveyard);
+        out.writeCardsView(exile);
+        out.writeVarInt(battlefield.size());
+        for (PermanentView view : battlefield.values()) {
+            out.writeCardView(view);
+        }
+        out.writeCardView(topCard);
+        out.writeVarInt(userDataView.avatarId);
+        out.writeBoolean(userDataView.showAbilityPickerForced);
+        out.writeBoolean(userDataView.allowRequestShowHandCards);
+        out.writeObject(userDataView.userSkipPrioritySteps);
+        out.writeVarInt(userDataView.userGroup);
+        out.writeVarInt(commandList.size());
+        for (CommandObjectView commandObject : commandList) {
+            out.writeObject(commandObject);
+        }
+        out.writeUUIDs(attachments);
+        out.writeVarInt(statesSavedSize);
+        out.writeInt(priorityTimeLeft);
+    }
+
     private boolean showInBattlefield(Permanent permanent, GameState state) {
 
         //show permanents controlled by player or attachments to permanents controlled by player
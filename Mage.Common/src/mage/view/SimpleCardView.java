@@ -28,6 +28,7 @@
 
 package mage.view;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.UUID;
 
@@ -50,6 +51,22 @@ public class SimpleCardView implements Serializable {
         this.tokenSetCode = tokenSetCode;
     }
 
+    SimpleCardView(ViewInput in) throws IOException {
+        this.id = in.readUUID();
+        this.expansionSetCode = in.readString();
+        this.tokenSetCode = in.readString();
+        this.cardNumber = in.readVarInt();
+        this.usesVariousArt = in.readBoolean();
+    }
+
+    void writeTo(ViewOutput out) throws IOException {
+        out.writeUUID(id);
+        out.writeString(expansionSetCode);
+        out.writeString(tokenSetCode);
+        out.writeVarInt(cardNumber);
+        out.writeBoolean(usesVariousArt);
+    }
+
     public UUID getId() {
         return id;
     }
@@ -28,6 +28,7 @@
 
 package mage.view;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -135,6 +136,19 @@ public class StackAbilityView extends CardView {
         }
     }
 
+    StackAbilityView(ViewInput in) throws IOException {
+        super(in);
+        this.sourceCard = in.readCardView();
+        this.abilityType = in.readEnum(AbilityType.class);
+    }
+
+    @Override
+    void writeTo(ViewOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeCardView(sourceCard);
+        out.writeEnum(abilityType);
+    }
+
     public CardView getSourceCard() {
         return this.sourceCard;
     }
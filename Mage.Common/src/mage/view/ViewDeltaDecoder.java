@@ -0,0 +1,68 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.view;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import mage.remote.traffic.ZippedViewImpl;
+
+/**
+ * Decodes the views of one game that were encoded by a {@link ViewDeltaEncoder}.
+ *
+ * The received views are kept, because the server deflates the next views
+ * against the last view that was acknowledged when they were sent.
+ *
+ * @author magefree
+ */
+public class ViewDeltaDecoder {
+
+    private static final int MAX_RECEIVED_VIEWS = 32;
+
+    private final Map<Integer, byte[]> receivedViews = new LinkedHashMap<Integer, byte[]>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+            return size() > MAX_RECEIVED_VIEWS;
+        }
+    };
+
+    public synchronized Object decode(ZippedViewImpl<?> view) throws IOException {
+        byte[] base = null;
+        if (view.getBaseVersion() > 0) {
+            base = receivedViews.get(view.getBaseVersion());
+            if (base == null) {
+                throw new StreamCorruptedException("View " + view.getBaseVersion() + " needed for view " + view.getVersion() + " is not available");
+            }
+        }
+        byte[] bytes = ViewProtocol.decompress(view.getData(), base);
+        receivedViews.put(view.getVersion(), bytes);
+        return ViewProtocol.fromBytes(bytes);
+    }
+
+}
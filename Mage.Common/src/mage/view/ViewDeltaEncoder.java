@@ -0,0 +1,93 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.view;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import mage.remote.traffic.ZippedViewImpl;
+
+/**
+ * Encodes the views of one game for one client.
+ *
+ * Every view is numbered and deflated against the last view the client
+ * acknowledged, so only the changes to that view take space. Views are sent
+ * asynchronously and can arrive out of order, so the last sent view can't be
+ * used as base. Until the client acknowledged a view the views are sent whole.
+ *
+ * @author magefree
+ */
+public class ViewDeltaEncoder {
+
+    /**
+     * Views that were sent but not yet acknowledged are kept up to this number
+     */
+    private static final int MAX_SENT_VIEWS = 16;
+
+    private final Map<Integer, byte[]> sentViews = new LinkedHashMap<Integer, byte[]>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+            return size() > MAX_SENT_VIEWS;
+        }
+    };
+    private int version;
+    private int acknowledgedVersion;
+
+    public synchronized ZippedViewImpl<Object> encode(Object view) throws IOException {
+        byte[] bytes = ViewProtocol.toBytes(view);
+        byte[] base = sentViews.get(acknowledgedVersion);
+        int baseVersion = base == null ? 0 : acknowledgedVersion;
+        version++;
+        sentViews.put(version, bytes);
+        return new ZippedViewImpl<>(ViewProtocol.compress(bytes, base), version, baseVersion);
+    }
+
+    /**
+     * @param version view the client received or 0 if the client could not
+     * decode a view and the next view has to be sent whole
+     */
+    public synchronized void acknowledge(int version) {
+        if (version <= 0) {
+            acknowledgedVersion = 0;
+            sentViews.clear();
+            return;
+        }
+        if (version <= acknowledgedVersion) {
+            return;
+        }
+        acknowledgedVersion = version;
+        // older views won't be used as base anymore
+        for (Iterator<Integer> it = sentViews.keySet().iterator(); it.hasNext();) {
+            if (it.next() < version) {
+                it.remove();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import mage.ObjectColor;
+
+/**
+ * Input of the binary view protocol, reads what {@link ViewOutput} has written.
+ *
+ * @author magefree
+ */
+class ViewInput extends ObjectInputStream {
+
+    private final List<String> strings = new ArrayList<>();
+
+    ViewInput(InputStream in) throws IOException {
+        super(in);
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed var int");
+    }
+
+    String readString() throws IOException {
+        int index = readVarInt();
+        if (index == 0) {
+            return null;
+        }
+        if (index > 1) {
+            return strings.get(index - 2);
+        }
+        byte[] bytes = new byte[readVarInt()];
+        readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    List<String> readStrings() throws IOException {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    UUID readUUID() throws IOException {
+        if (!readBoolean()) {
+            return null;
+        }
+        return new UUID(readLong(), readLong());
+    }
+
+    List<UUID> readUUIDList() throws IOException {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<UUID> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readUUID());
+        }
+        return values;
+    }
+
+    Set<UUID> readUUIDSet() throws IOException {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        Set<UUID> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add(readUUID());
+        }
+        return values;
+    }
+
+    <T extends Enum<T>> T readEnum(Class<T> type) throws IOException {
+        int ordinal = readVarInt() - 1;
+        if (ordinal < 0) {
+            return null;
+        }
+        T[] values = type.getEnumConstants();
+        if (ordinal >= values.length) {
+            throw new StreamCorruptedException("Unknown constant " + ordinal + " of " + type.getName());
+        }
+        return values[ordinal];
+    }
+
+    <T extends Enum<T>> List<T> readEnums(Class<T> type) throws IOException {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readEnum(type));
+        }
+        return values;
+    }
+
+    ObjectColor readColor() throws IOException {
+        int bits = readByte();
+        if (bits < 0) {
+            return null;
+        }
+        ObjectColor color = new ObjectColor();
+        color.setWhite((bits & 1) != 0);
+        color.setBlue((bits & 2) != 0);
+        color.setBlack((bits & 4) != 0);
+        color.setRed((bits & 8) != 0);
+        color.setGreen((bits & 16) != 0);
+        return color;
+    }
+
+    /**
+     * Reads an object that was written with default serialization
+     */
+    @SuppressWarnings("unchecked")
+    <T> T readSerialized() throws IOException {
+        try {
+            return (T) readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    CardView readCardView() throws IOException {
+        int type = readByte();
+        switch (type) {
+            case 0:
+                return null;
+            case ViewOutput.CARD_VIEW:
+                return new CardView(this);
+            case ViewOutput.PERMANENT_VIEW:
+                return new PermanentView(this);
+            case ViewOutput.STACK_ABILITY_VIEW:
+                return new StackAbilityView(this);
+            case ViewOutput.ABILITY_VIEW:
+                return new AbilityView(this);
+            case ViewOutput.COMMANDER_VIEW:
+                return new CommanderView(this);
+            case ViewOutput.SERIALIZED_VIEW:
+                return readSerialized();
+            default:
+                throw new StreamCorruptedException("Unknown card view type " + type);
+        }
+    }
+
+    CardsView readCardsView() throws IOException {
+        int size = readVarInt() - 2;
+        if (size == -2) {
+            return null;
+        }
+        if (size == -1) {
+            return readSerialized();
+        }
+        CardsView cards = new CardsView();
+        for (int i = 0; i < size; i++) {
+            UUID id = readUUID();
+            cards.put(id, readCardView());
+        }
+        return cards;
+    }
+
+}
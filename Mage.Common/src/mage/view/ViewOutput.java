@@ -0,0 +1,207 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.view;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.ObjectColor;
+
+/**
+ * Output of the binary view protocol.
+ *
+ * The views write their fields in a fixed order, so no field names or class
+ * descriptors are sent for them. A string that was already written in the same
+ * message is sent as its index. Objects without a binary form are written with
+ * default serialization on the same stream.
+ *
+ * @author magefree
+ */
+class ViewOutput extends ObjectOutputStream {
+
+    static final int CARD_VIEW = 1;
+    static final int PERMANENT_VIEW = 2;
+    static final int STACK_ABILITY_VIEW = 3;
+    static final int ABILITY_VIEW = 4;
+    static final int COMMANDER_VIEW = 5;
+    static final int SERIALIZED_VIEW = 6;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    ViewOutput(OutputStream out) throws IOException {
+        super(out);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * 0 for null, 1 followed by the string for a new string
+     * or the index of the string + 2 for a string that was already written
+     */
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(1);
+        writeVarInt(bytes.length);
+        write(bytes);
+    }
+
+    void writeStrings(List<String> values) throws IOException {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    void writeUUID(UUID value) throws IOException {
+        if (value == null) {
+            writeBoolean(false);
+            return;
+        }
+        writeBoolean(true);
+        writeLong(value.getMostSignificantBits());
+        writeLong(value.getLeastSignificantBits());
+    }
+
+    void writeUUIDs(Collection<UUID> values) throws IOException {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (UUID value : values) {
+            writeUUID(value);
+        }
+    }
+
+    void writeEnum(Enum<?> value) throws IOException {
+        writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    void writeEnums(List<? extends Enum<?>> values) throws IOException {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (Enum<?> value : values) {
+            writeEnum(value);
+        }
+    }
+
+    void writeColor(ObjectColor color) throws IOException {
+        if (color == null) {
+            writeByte(-1);
+            return;
+        }
+        int bits = 0;
+        if (color.isWhite()) {
+            bits |= 1;
+        }
+        if (color.isBlue()) {
+            bits |= 2;
+        }
+        if (color.isBlack()) {
+            bits |= 4;
+        }
+        if (color.isRed()) {
+            bits |= 8;
+        }
+        if (color.isGreen()) {
+            bits |= 16;
+        }
+        writeByte(bits);
+    }
+
+    void writeCardView(CardView card) throws IOException {
+        if (card == null) {
+            writeByte(0);
+            return;
+        }
+        Class<?> type = card.getClass();
+        if (type == CardView.class) {
+            writeByte(CARD_VIEW);
+        } else if (type == PermanentView.class) {
+            writeByte(PERMANENT_VIEW);
+        } else if (type == StackAbilityView.class) {
+            writeByte(STACK_ABILITY_VIEW);
+        } else if (type == AbilityView.class) {
+            writeByte(ABILITY_VIEW);
+        } else if (type == CommanderView.class) {
+            writeByte(COMMANDER_VIEW);
+        } else {
+            writeByte(SERIALIZED_VIEW);
+            writeObject(card);
+            return;
+        }
+        card.writeTo(this);
+    }
+
+    void writeCardsView(CardsView cards) throws IOException {
+        if (cards == null) {
+            writeVarInt(0);
+            return;
+        }
+        if (cards.getClass() != CardsView.class) {
+            writeVarInt(1);
+            writeObject(cards);
+            return;
+        }
+        writeVarInt(cards.size() + 2);
+        for (Map.Entry<UUID, CardView> entry : cards.entrySet()) {
+            writeUUID(entry.getKey());
+            writeCardView(entry.getValue());
+        }
+    }
+
+}
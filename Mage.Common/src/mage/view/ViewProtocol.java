@@ -0,0 +1,231 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.view;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary protocol for the game views sent to the clients with every game update.
+ *
+ * The views write their fields in a fixed order instead of using default
+ * serialization, so the class descriptors and field names are not repeated in
+ * every message. The result is deflated with the fastest compression level.
+ * A view can be deflated with a view the client already has as preset
+ * dictionary, so the parts that did not change are sent as back references.
+ * The stream buffers and the deflaters are kept in a bounded pool, encoders
+ * that don't fit back into the pool release their deflater right away.
+ *
+ * @author magefree
+ */
+public final class ViewProtocol {
+
+    /**
+     * Version of the protocol, 0 means default serialization,
+     * 1 the binary form and 2 the binary form with views deflated against
+     * the last view the client acknowledged
+     */
+    public static final int VERSION = 2;
+
+    private static final int GAME_VIEW = 1;
+    private static final int GAME_CLIENT_MESSAGE = 2;
+
+    /**
+     * Deflate only looks back this far, so only the end of a dictionary is used
+     */
+    private static final int MAX_DICTIONARY = 32 * 1024;
+
+    /**
+     * Buffers that grew larger than this are not kept for the next message
+     */
+    private static final int MAX_POOLED_BUFFER = 1024 * 1024;
+
+    private static final BlockingQueue<Encoder> encoders = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    private ViewProtocol() {}
+
+    public static boolean canEncode(Object data) {
+        return data instanceof GameView || data instanceof GameClientMessage;
+    }
+
+    public static byte[] encode(Object data) throws IOException {
+        return compress(toBytes(data), null);
+    }
+
+    public static Object decode(byte[] data) throws IOException {
+        return fromBytes(decompress(data, null));
+    }
+
+    static byte[] toBytes(Object data) throws IOException {
+        Encoder encoder = borrowEncoder();
+        try {
+            return encoder.toBytes(data);
+        } finally {
+            returnEncoder(encoder);
+        }
+    }
+
+    static Object fromBytes(byte[] bytes) throws IOException {
+        try (ViewInput in = new ViewInput(new ByteArrayInputStream(bytes))) {
+            int type = in.readByte();
+            switch (type) {
+                case GAME_VIEW:
+                    return new GameView(in);
+                case GAME_CLIENT_MESSAGE:
+                    return new GameClientMessage(in);
+                default:
+                    throw new StreamCorruptedException("Unknown view type " + type);
+            }
+        }
+    }
+
+    /**
+     * @param bytes
+     * @param dictionary bytes of a view the receiver has or null
+     * @return deflated bytes
+     */
+    static byte[] compress(byte[] bytes, byte[] dictionary) {
+        Encoder encoder = borrowEncoder();
+        try {
+            return encoder.compress(bytes, dictionary);
+        } finally {
+            returnEncoder(encoder);
+        }
+    }
+
+    private static Encoder borrowEncoder() {
+        Encoder encoder = encoders.poll();
+        if (encoder == null) {
+            encoder = new Encoder();
+        }
+        return encoder;
+    }
+
+    private static void returnEncoder(Encoder encoder) {
+        if (!encoders.offer(encoder)) {
+            encoder.end();
+        }
+    }
+
+    static byte[] decompress(byte[] data, byte[] dictionary) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8 * 1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count > 0) {
+                    out.write(buffer, 0, count);
+                } else if (inflater.needsDictionary()) {
+                    if (dictionary == null) {
+                        throw new StreamCorruptedException("View was deflated with a dictionary");
+                    }
+                    int length = Math.min(dictionary.length, MAX_DICTIONARY);
+                    inflater.setDictionary(dictionary, dictionary.length - length, length);
+                } else if (inflater.needsInput()) {
+                    throw new StreamCorruptedException("Unexpected end of view");
+                }
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new StreamCorruptedException(ex.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class Encoder {
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final byte[] chunk = new byte[8 * 1024];
+
+        public byte[] toBytes(Object data) throws IOException {
+            buffer.reset();
+            try {
+                ViewOutput out = new ViewOutput(buffer);
+                if (data instanceof GameView) {
+                    out.writeByte(GAME_VIEW);
+                    ((GameView) data).writeTo(out);
+                } else if (data instanceof GameClientMessage) {
+                    out.writeByte(GAME_CLIENT_MESSAGE);
+                    ((GameClientMessage) data).writeTo(out);
+                } else {
+                    throw new IllegalArgumentException("No binary form for " + data.getClass().getName());
+                }
+                out.close();
+                return buffer.toByteArray();
+            } finally {
+                releaseBuffer();
+            }
+        }
+
+        public byte[] compress(byte[] bytes, byte[] dictionary) {
+            buffer.reset();
+            deflater.reset();
+            try {
+                if (dictionary != null) {
+                    int length = Math.min(dictionary.length, MAX_DICTIONARY);
+                    deflater.setDictionary(dictionary, dictionary.length - length, length);
+                }
+                deflater.setInput(bytes);
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(chunk);
+                    buffer.write(chunk, 0, count);
+                }
+                return buffer.toByteArray();
+            } finally {
+                releaseBuffer();
+            }
+        }
+
+        private void releaseBuffer() {
+            if (buffer.size() > MAX_POOLED_BUFFER) {
+                buffer = new ByteArrayOutputStream(64 * 1024);
+            }
+        }
+
+        /**
+         * Frees the native memory of the deflater, the encoder can't be used
+         * afterwards
+         */
+        public void end() {
+            deflater.end();
+        }
+    }
+
+}
@@ -71,7 +71,6 @@ import java.util.concurrent.*;
 public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
 
     private static final transient org.apache.log4j.Logger logger = org.apache.log4j.Logger.getLogger(ComputerPlayer6.class);
-    private static final ExecutorService pool = Executors.newFixedThreadPool(1);
     protected int maxDepth;
     protected int maxNodes;
     protected int maxThink;
@@ -81,6 +80,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
     protected Combat combat;
     protected int currentScore;
     protected SimulationNode2 root;
+    protected transient volatile SimulationScheduler.Search search;
     private static final String FILE_WITH_INSTRUCTIONS = "config/ai.please.cast.this.txt";
     private final List<String> suggested = new ArrayList<>();
     protected Set<String> actionCache;
@@ -117,7 +117,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         this.actions.addAll(player.actions);
         this.targets.addAll(player.targets);
         this.choices.addAll(player.choices);
-        this.actionCache = player.actionCache;
+        // copies of the player are simulated in parallel, so each needs its own cache
+        this.actionCache = new HashSet<>(player.actionCache);
     }
 
     @Override
@@ -266,7 +267,6 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
     protected void calculateActions(Game game) {
         if (!getNextAction(game)) {
             Game sim = createSimulation(game);
-            SimulationNode2.resetCount();
             root = new SimulationNode2(null, sim, maxDepth, playerId);
             logger.info("simulating actions");
             //int bestScore = addActionsTimed(new FilterAbility());
@@ -336,8 +336,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                 //logger.info("alpha beta pruning");
                 break;
             }
-            if (SimulationNode2.nodeCount > maxNodes) {
-                //logger.info("simulating -- reached end-state, count=" + SimulationNode2.nodeCount);
+            if (node.getNodeCount() > maxNodes) {
+                //logger.info("simulating -- reached end-state, count=" + node.getNodeCount());
                 break;
             }
             int val = addActions(child, depth - 1, alpha, beta);
@@ -409,7 +409,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                         SimulationNode2 newNode = new SimulationNode2(node, sim, depth, ability.getControllerId());
                         node.children.add(newNode);
                         newNode.getTargets().add(targetId);
-                        logger.trace("Sim search -- node#: " + SimulationNode2.getCount() + " for player: " + sim.getPlayer(ability.getControllerId()).getName());
+                        logger.trace("Sim search -- node#: " + newNode.getNodeCount() + " for player: " + sim.getPlayer(ability.getControllerId()).getName());
                     }
                     return;
                 }
@@ -428,28 +428,25 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
      * @return
      */
     protected Integer addActionsTimed() {
-        FutureTask<Integer> task = new FutureTask<>(new Callable<Integer>() {
-            @Override
-            public Integer call() throws Exception {
-                return addActions(root, maxDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
-            }
-        });
-        pool.execute(task);
+        search = SimulationScheduler.getInstance().newSearch(maxThink);
         try {
             logger.debug("maxThink: " + maxThink + " seconds");
-            return task.get(maxThink, TimeUnit.SECONDS);
+            return search.execute(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return addActions(root, maxDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                }
+            });
         } catch (TimeoutException e) {
             logger.info("simulating - timed out");
-            task.cancel(true);
         } catch (ExecutionException e) {
             e.printStackTrace();
-            task.cancel(true);
         } catch (InterruptedException e) {
             e.printStackTrace();
-            task.cancel(true);
         } catch (Exception e) {
             e.printStackTrace();
-            task.cancel(true);
+        } finally {
+            search = null;
         }
         //TODO: timeout handling
         return 0;
@@ -467,8 +464,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
             logger.trace("interrupted - " + val);
             return val;
         }
-        if (depth <= 0 || SimulationNode2.nodeCount > maxNodes || game.gameOver(null)) {
-            logger.trace("Add actions -- reached end state, node count=" + SimulationNode2.nodeCount + ", depth=" + depth);
+        if (depth <= 0 || node.getNodeCount() > maxNodes || game.gameOver(null)) {
+            logger.trace("Add actions -- reached end state, node count=" + node.getNodeCount() + ", depth=" + depth);
             val = GameStateEvaluator2.evaluate(playerId, game);
             UUID currentPlayerId = node.getGame().getPlayerList().get();
             //logger.info("reached - " + val + ", playerId=" + playerId + ", node.pid="+currentPlayerId);
@@ -519,49 +516,64 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         if (logger.isInfoEnabled() && allActions.size() > 0 && depth == maxDepth) {
             logger.info("Sim Prio [" + depth + "] player " + currentPlayer.getName() + " adding " + allActions.size() + " actions:" + allActions);
         }
+        // the root level branches are simulated in parallel on the workers of the scheduler
+        SimulationScheduler.Search parallelSearch = search;
+        if (depth != maxDepth || allActions.size() < 2 || parallelSearch == null || !parallelSearch.isSearchThread()) {
+            parallelSearch = null;
+        }
+        CompletionService<SimulationNode2> branches = null;
+        Set<Future<SimulationNode2>> runningBranches = null;
+        if (parallelSearch != null) {
+            branches = parallelSearch.newCompletionService();
+            runningBranches = new HashSet<>();
+        }
+        Iterator<Ability> it = allActions.iterator();
         int counter = 0;
-        for (Ability action : allActions) {
-            counter++;
-            if (Thread.interrupted()) {
-                Thread.currentThread().interrupt();
-                logger.info("Sim Prio [" + depth + "] -- interrupted");
-                break;
-            }
-            Game sim = game.copy();
-            sim.setSimulation(true);
-            if (sim.getPlayer(currentPlayer.getId()).activateAbility((ActivatedAbility) action.copy(), sim)) {
-                sim.applyEffects();
-                if (checkForRepeatedAction(sim, node, action, currentPlayer.getId())) {
-                    logger.debug("Sim Prio [" + depth + "] -- repeated action: " + action.toString());
-                    continue;
-                }
-                if (!sim.gameOver(null) && action.isUsesStack()) {
-                    // only pass if the last action uses the stack
-                    sim.getPlayer(currentPlayer.getId()).pass(game);
-                    sim.getPlayerList().getNext();
-                }
-                SimulationNode2 newNode = new SimulationNode2(node, sim, action, depth, currentPlayer.getId());
-                logger.trace(new StringBuilder("Sim Prio [").append(depth).append("]#").append(counter).append(" -- newNode (").append(action.toString()).append(") ").append(newNode.hashCode()).append(" parent node ").append(node.hashCode()));
-                // int testVal = GameStateEvaluator2.evaluate(currentPlayer.getId(), sim);
-
-                sim.checkStateAndTriggered();
-                int val = addActions(newNode, depth - 1, alpha, beta);
-
-                if (logger.isInfoEnabled() && depth == maxDepth) {
-                    StringBuilder sb = new StringBuilder("Sim Prio [").append(depth).append("] #").append(counter)
-                            .append(" <").append(val).append("> (").append(action)
-                            .append(action.isModal() ? " Mode = " + action.getModes().getMode().toString() : "")
-                            .append(listTargets(game, action.getTargets())).append(")")
-                            .append(logger.isTraceEnabled() ? " #" + newNode.hashCode() : "");
-                    SimulationNode2 logNode = newNode;
-                    while (logNode.getChildren() != null && logNode.getChildren().size() > 0) {
-                        logNode = logNode.getChildren().get(0);
-                        if (logNode.getAbilities() != null && logNode.getAbilities().size() > 0) {
-                            sb.append(" -> [").append(logNode.getDepth()).append("]").append(logNode.getAbilities().toString()).append("<").append(logNode.getScore()).append(">");
-                        }
+        try {
+            while (true) {
+                SimulationNode2 newNode;
+                if (parallelSearch != null) {
+                    while (it.hasNext() && runningBranches.size() < parallelSearch.getParallelism()) {
+                        counter++;
+                        runningBranches.add(branches.submit(new BranchSimulation(node, game, currentPlayer.getId(), it.next(), depth, alpha, beta, counter)));
+                    }
+                    if (runningBranches.isEmpty()) {
+                        break;
                     }
-                    logger.info(sb);
+                    Future<SimulationNode2> branch;
+                    try {
+                        branch = branches.take();
+                        runningBranches.remove(branch);
+                        newNode = branch.get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        logger.info("Sim Prio [" + depth + "] -- interrupted");
+                        break;
+                    } catch (CancellationException e) {
+                        continue;
+                    } catch (ExecutionException e) {
+                        logger.error("Sim Prio [" + depth + "] -- branch failed", e.getCause());
+                        continue;
+                    }
+                } else {
+                    if (!it.hasNext()) {
+                        break;
+                    }
+                    counter++;
+                    if (Thread.interrupted()) {
+                        Thread.currentThread().interrupt();
+                        logger.info("Sim Prio [" + depth + "] -- interrupted");
+                        break;
+                    }
+                    Game sim = game.copy();
+                    sim.setSimulation(true);
+                    newNode = simulateAction(node, sim, currentPlayer.getId(), it.next(), depth, alpha, beta, counter);
                 }
+                if (newNode == null) {
+                    continue;
+                }
+                Ability action = newNode.getAbilities().get(0);
+                int val = newNode.getScore();
 
                 if (currentPlayer.getId().equals(playerId)) {
                     if (action instanceof PassAbility) {
@@ -612,14 +624,20 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                     //logger.info("Sim Prio -- pruning");
                     break;
                 }
-                if (SimulationNode2.nodeCount > maxNodes) {
+                if (node.getNodeCount() > maxNodes) {
                     logger.debug("Sim Prio -- reached end-state");
                     break;
                 }
+            } // end of while (allActions)
+        } finally {
+            if (runningBranches != null) {
+                for (Future<SimulationNode2> branch : runningBranches) {
+                    branch.cancel(true);
+                }
             }
-        } // end of for (allActions)
+        }
         if (depth == maxDepth) {
-            logger.info(new StringBuilder("Sim Prio [").append(depth).append("] -- End for Max Depth  -- Nodes calculated: ").append(SimulationNode2.nodeCount));
+            logger.info(new StringBuilder("Sim Prio [").append(depth).append("] -- End for Max Depth  -- Nodes calculated: ").append(node.getNodeCount()));
         }
         if (bestNode != null) {
             node.children.clear();
@@ -649,6 +667,96 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         }
     }
 
+    /**
+     * Activates the action in a copy of the game and simulates the game tree
+     * below it.
+     *
+     * @param node
+     * @param sim copy of the game the action is activated in
+     * @param currentPlayerId
+     * @param action
+     * @param depth
+     * @param alpha
+     * @param beta
+     * @param counter
+     * @return the node of the action with its score or null if the action
+     * can't be activated or repeats an earlier action
+     */
+    protected SimulationNode2 simulateAction(SimulationNode2 node, Game sim, UUID currentPlayerId, Ability action, int depth, int alpha, int beta, int counter) {
+        if (sim.getPlayer(currentPlayerId).activateAbility((ActivatedAbility) action.copy(), sim)) {
+            sim.applyEffects();
+            if (checkForRepeatedAction(sim, node, action, currentPlayerId)) {
+                logger.debug("Sim Prio [" + depth + "] -- repeated action: " + action.toString());
+                return null;
+            }
+            if (!sim.gameOver(null) && action.isUsesStack()) {
+                // only pass if the last action uses the stack
+                sim.getPlayer(currentPlayerId).pass(sim);
+                sim.getPlayerList().getNext();
+            }
+            SimulationNode2 newNode = new SimulationNode2(node, sim, action, depth, currentPlayerId);
+            logger.trace(new StringBuilder("Sim Prio [").append(depth).append("]#").append(counter).append(" -- newNode (").append(action.toString()).append(") ").append(newNode.hashCode()).append(" parent node ").append(node.hashCode()));
+            // int testVal = GameStateEvaluator2.evaluate(currentPlayer.getId(), sim);
+
+            sim.checkStateAndTriggered();
+            int val = addActions(newNode, depth - 1, alpha, beta);
+
+            if (logger.isInfoEnabled() && depth == maxDepth) {
+                StringBuilder sb = new StringBuilder("Sim Prio [").append(depth).append("] #").append(counter)
+                        .append(" <").append(val).append("> (").append(action)
+                        .append(action.isModal() ? " Mode = " + action.getModes().getMode().toString() : "")
+                        .append(listTargets(sim, action.getTargets())).append(")")
+                        .append(logger.isTraceEnabled() ? " #" + newNode.hashCode() : "");
+                SimulationNode2 logNode = newNode;
+                while (logNode.getChildren() != null && logNode.getChildren().size() > 0) {
+                    logNode = logNode.getChildren().get(0);
+                    if (logNode.getAbilities() != null && logNode.getAbilities().size() > 0) {
+                        sb.append(" -> [").append(logNode.getDepth()).append("]").append(logNode.getAbilities().toString()).append("<").append(logNode.getScore()).append(">");
+                    }
+                }
+                logger.info(sb);
+            }
+            newNode.setScore(val);
+            return newNode;
+        }
+        return null;
+    }
+
+    /**
+     * Root level branch of a search that runs on a worker of the scheduler.
+     * The game is copied on the search thread when the branch is submitted,
+     * because copying marks the state of the root game as shared. Nothing
+     * in a branch may touch the root game.
+     */
+    private class BranchSimulation implements Callable<SimulationNode2> {
+
+        private final SimulationNode2 node;
+        private final Game sim;
+        private final UUID currentPlayerId;
+        private final Ability action;
+        private final int depth;
+        private final int alpha;
+        private final int beta;
+        private final int counter;
+
+        BranchSimulation(SimulationNode2 node, Game game, UUID currentPlayerId, Ability action, int depth, int alpha, int beta, int counter) {
+            this.node = node;
+            this.sim = game.copy();
+            this.sim.setSimulation(true);
+            this.currentPlayerId = currentPlayerId;
+            this.action = action;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.counter = counter;
+        }
+
+        @Override
+        public SimulationNode2 call() {
+            return simulateAction(node, sim, currentPlayerId, action, depth, alpha, beta, counter);
+        }
+    }
+
     /**
      * Various AI optimizations for actions.
      *
@@ -1249,7 +1357,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                 }
                 sim.fireEvent(GameEvent.getEvent(GameEvent.EventType.DECLARED_ATTACKERS, playerId, playerId));
                 SimulationNode2 newNode = new SimulationNode2(node, sim, node.getDepth() - 1, activePlayerId);
-                logger.debug("simulating -- node #:" + SimulationNode2.getCount() + " declare attakers");
+                logger.debug("simulating -- node #:" + newNode.getNodeCount() + " declare attakers");
                 newNode.setCombat(sim.getCombat());
                 node.children.add(newNode);
             }
@@ -176,7 +176,6 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
         if (!getNextAction(game)) {
             currentScore = GameStateEvaluator2.evaluate(playerId, game);
             Game sim = createSimulation(game);
-            SimulationNode2.resetCount();
             root = new SimulationNode2(null, sim, maxDepth, playerId);
             
             addActionsTimed();
@@ -216,7 +215,6 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
         if (!getNextAction(game)) {
             currentScore = GameStateEvaluator2.evaluate(playerId, game);
             Game sim = createSimulation(game);
-            SimulationNode2.resetCount();
             root = new SimulationNode2(null, sim, maxDepth, playerId);
             logger.debug("Sim Calculate post combat actions ----------------------------------------------------------------------------------------");
 
@@ -250,7 +248,7 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
             return GameStateEvaluator2.evaluate(playerId, game);
         }
         // Condition to stop deeper simulation
-        if (depth <= 0 || SimulationNode2.nodeCount > maxNodes || game.gameOver(null)) {
+        if (depth <= 0 || node.getNodeCount() > maxNodes || game.gameOver(null)) {
             val = GameStateEvaluator2.evaluate(playerId, game);
             if (logger.isTraceEnabled()) {
                 StringBuilder sb = new StringBuilder("Add Actions -- reached end state  <").append(val).append(">");
@@ -51,6 +51,7 @@ public class Config2 {
     public static final int evaluatorPermanentFactor;
     public static final int evaluatorCreatureFactor;
     public static final int evaluatorHandFactor;
+    public static final int simulationThreads;
 //    public static final int maxThinkSeconds;
 
     static {
@@ -67,6 +68,7 @@ public class Config2 {
                 p.setProperty("evaluatorPermanentFactor", "1");
                 p.setProperty("evaluatorCreatureFactor", "1");
                 p.setProperty("evaluatorHandFactor", "1");
+                p.setProperty("simulationThreads", "0");
 //                p.setProperty("maxThinkSeconds", "30");
             }
         } catch (IOException ex) {
@@ -80,6 +82,8 @@ public class Config2 {
         evaluatorPermanentFactor = Integer.parseInt(p.getProperty("evaluatorPermanentFactor"));
         evaluatorCreatureFactor = Integer.parseInt(p.getProperty("evaluatorCreatureFactor"));
         evaluatorHandFactor = Integer.parseInt(p.getProperty("evaluatorHandFactor"));
+        // 0 = one thread per available processor
+        simulationThreads = Integer.parseInt(p.getProperty("simulationThreads", "0"));
 //        maxThinkSeconds = Integer.parseInt(p.getProperty("maxThinkSeconds"));
     }
 
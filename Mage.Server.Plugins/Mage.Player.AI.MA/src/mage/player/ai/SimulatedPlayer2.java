@@ -65,19 +65,21 @@ public class SimulatedPlayer2 extends ComputerPlayer {
     private final boolean isSimulatedPlayer;
     private transient ConcurrentLinkedQueue<Ability> allActions;
     private boolean forced;
-    private static PassAbility pass = new PassAbility();
+    private final PassAbility pass;
 
     private final List<String> suggested;
 
     public SimulatedPlayer2(UUID id, boolean isSimulatedPlayer, List<String> suggested) {
         super(id);
-        pass.setControllerId(playerId);
+        this.pass = new PassAbility();
+        this.pass.setControllerId(playerId);
         this.isSimulatedPlayer = isSimulatedPlayer;
         this.suggested = suggested;
     }
 
     public SimulatedPlayer2(final SimulatedPlayer2 player) {
         super(player);
+        this.pass = player.pass.copy();
         this.isSimulatedPlayer = player.isSimulatedPlayer;
         this.suggested = new ArrayList<>();
         for (String s : player.suggested) {
@@ -441,7 +443,7 @@ public class SimulatedPlayer2 extends ComputerPlayer {
         ability.activate(sim, false);
         sim.applyEffects();
         SimulationNode2 newNode = new SimulationNode2(parent, sim, depth, playerId);
-        logger.debug("simulating -- node #:" + SimulationNode2.getCount() + " triggered ability option");
+        logger.debug("simulating -- node #:" + newNode.getNodeCount() + " triggered ability option");
         for (Target target: ability.getTargets()) {
             for (UUID targetId: target.getTargets()) {
                 newNode.getTargets().add(targetId);
@@ -0,0 +1,226 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.player.ai;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.log4j.Logger;
+
+/**
+ * Executes the game tree searches of the MAD AI players.
+ *
+ * The root of every search runs on its own thread, the root level branches
+ * of a search are run on a pool of worker threads shared by all AI players
+ * of the server (simulationThreads in AIMinimax.properties, default is one
+ * per processor). A search only gets its fair share of the workers - the
+ * number of workers divided by the number of running searches - and is
+ * cancelled together with its queued branches when its time budget is used.
+ *
+ * @author magefree
+ */
+public class SimulationScheduler {
+
+    private static final Logger logger = Logger.getLogger(SimulationScheduler.class);
+
+    private static final SimulationScheduler instance = new SimulationScheduler(Config2.simulationThreads);
+
+    private final int workerThreads;
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor searches;
+    private final AtomicInteger runningSearches = new AtomicInteger();
+
+    public static SimulationScheduler getInstance() {
+        return instance;
+    }
+
+    SimulationScheduler(int threads) {
+        this.workerThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new SimulationThreadFactory("AI-SIM-WORKER"));
+        this.workers.allowCoreThreadTimeOut(true);
+        this.searches = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new SimulationThreadFactory("AI-SIM-SEARCH"));
+        logger.info("AI simulation scheduler started with " + workerThreads + " worker threads");
+    }
+
+    /**
+     * Creates a new search that may use the given time
+     *
+     * @param maxThink time budget of the search in seconds
+     * @return
+     */
+    public Search newSearch(int maxThink) {
+        return new Search(maxThink);
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * @return number of branches waiting for a worker thread
+     */
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * @return number of worker threads currently simulating a branch
+     */
+    public int getActiveWorkers() {
+        return workers.getActiveCount();
+    }
+
+    public int getRunningSearches() {
+        return runningSearches.get();
+    }
+
+    public long getCompletedBranches() {
+        return workers.getCompletedTaskCount();
+    }
+
+    public class Search {
+
+        private final long deadline;
+        private volatile Thread searchThread;
+
+        Search(int maxThink) {
+            this.deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(maxThink);
+        }
+
+        /**
+         * Runs the root of the search and waits for its result until the
+         * time budget is used. A timed out search is interrupted, so it can
+         * stop its branches.
+         *
+         * @param <T>
+         * @param root
+         * @return
+         * @throws TimeoutException
+         * @throws ExecutionException
+         * @throws InterruptedException
+         */
+        public <T> T execute(final Callable<T> root) throws TimeoutException, ExecutionException, InterruptedException {
+            FutureTask<T> task = new FutureTask<>(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    searchThread = Thread.currentThread();
+                    try {
+                        return root.call();
+                    } finally {
+                        searchThread = null;
+                    }
+                }
+            });
+            runningSearches.incrementAndGet();
+            try {
+                searches.execute(task);
+                return task.get(getRemainingMillis(), TimeUnit.MILLISECONDS);
+            } finally {
+                task.cancel(true);
+                runningSearches.decrementAndGet();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("AI search finished -- running searches: " + getRunningSearches() + " queued branches: " + getQueueDepth() + " active workers: " + getActiveWorkers());
+                }
+            }
+        }
+
+        /**
+         * Branches may only be forked from the root of the search, the
+         * workers simulate their branch on their own.
+         *
+         * @return true if called by the thread running the root of this search
+         */
+        public boolean isSearchThread() {
+            return searchThread == Thread.currentThread();
+        }
+
+        /**
+         * @return number of branches this search may run at the same time
+         */
+        public int getParallelism() {
+            return Math.max(1, workerThreads / Math.max(1, runningSearches.get()));
+        }
+
+        public long getRemainingMillis() {
+            return Math.max(0, deadline - System.currentTimeMillis());
+        }
+
+        /**
+         * Creates a completion service that runs the branches of this search
+         * on the shared workers. Branches that only get a worker after the
+         * time budget of the search is used are not started.
+         *
+         * @param <T>
+         * @return
+         */
+        public <T> CompletionService<T> newCompletionService() {
+            return new ExecutorCompletionService<T>(workers) {
+                @Override
+                public Future<T> submit(final Callable<T> branch) {
+                    return super.submit(new Callable<T>() {
+                        @Override
+                        public T call() throws Exception {
+                            if (getRemainingMillis() == 0) {
+                                throw new CancellationException("time budget used");
+                            }
+                            return branch.call();
+                        }
+                    });
+                }
+            };
+        }
+    }
+
+    private static class SimulationThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        SimulationThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -16,9 +16,15 @@ public abstract class BaseTreeOptimizer implements TreeOptimizer {
 
     /**
      * List of abilities that should be removed because of optimization.
-     *
+     * The optimizers are shared by the search threads, so every thread
+     * collects its own list.
      */
-    protected List<Ability> toRemove;
+    private final ThreadLocal<List<Ability>> toRemove = new ThreadLocal<List<Ability>>() {
+        @Override
+        protected List<Ability> initialValue() {
+            return new ArrayList<>();
+        }
+    };
 
     /**
      * Inner method for filtering actions.
@@ -37,25 +43,23 @@ public abstract class BaseTreeOptimizer implements TreeOptimizer {
      */
     @Override
     public final void optimize(Game game, List<Ability> actions) {
-        filter(game, actions);
-
-        if (toRemove != null) {
-            for (Ability r : toRemove) {
+        List<Ability> removed = toRemove.get();
+        try {
+            filter(game, actions);
+            for (Ability r : removed) {
                 actions.remove(r);
             }
+        } finally {
+            removed.clear();
         }
     }
 
     /**
      * Mark an ability to be removed
-     * Not thread-safe for performance reasons.
      *
      * @param ability
      */
     protected void removeAbility(Ability ability) {
-        if (toRemove == null) {
-            toRemove = new ArrayList<>();
-        }
-        toRemove.add(ability);
+        toRemove.get().add(ability);
     }
 }
@@ -34,12 +34,13 @@ import java.util.List;
 import java.util.UUID;
 import mage.game.Game;
 import mage.game.permanent.Permanent;
+import mage.util.Copyable;
 
 /**
  *
  * @author BetaSteward_at_googlemail.com
  */
-public class CombatGroupSimulator implements Serializable {
+public class CombatGroupSimulator implements Serializable, Copyable<CombatGroupSimulator> {
     public List<CreatureSimulator> attackers = new ArrayList<CreatureSimulator>();
     public List<CreatureSimulator> blockers = new ArrayList<CreatureSimulator>();
     public UUID defenderId;
@@ -61,6 +62,24 @@ public class CombatGroupSimulator implements Serializable {
         attacker = this.attackers.get(0);
     }
 
+    public CombatGroupSimulator(final CombatGroupSimulator group) {
+        for (CreatureSimulator creature: group.attackers) {
+            this.attackers.add(creature.copy());
+        }
+        for (CreatureSimulator creature: group.blockers) {
+            this.blockers.add(creature.copy());
+        }
+        this.defenderId = group.defenderId;
+        this.defenderIsPlaneswalker = group.defenderIsPlaneswalker;
+        this.unblockedDamage = group.unblockedDamage;
+        this.attacker = this.attackers.get(group.attackers.indexOf(group.attacker));
+    }
+
+    @Override
+    public CombatGroupSimulator copy() {
+        return new CombatGroupSimulator(this);
+    }
+
     private boolean hasFirstOrDoubleStrike() {
         for (CreatureSimulator creature: attackers) {
             if (creature.hasDoubleStrike || creature.hasFirstStrike)
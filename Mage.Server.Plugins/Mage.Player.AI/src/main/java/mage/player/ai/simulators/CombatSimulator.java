@@ -41,12 +41,13 @@ import mage.game.Game;
 import mage.game.combat.CombatGroup;
 import mage.game.permanent.Permanent;
 import mage.players.Player;
+import mage.util.Copyable;
 
 /**
  *
  * @author BetaSteward_at_googlemail.com
  */
-public class CombatSimulator implements Serializable {
+public class CombatSimulator implements Serializable, Copyable<CombatSimulator> {
 
     public List<CombatGroupSimulator> groups = new ArrayList<CombatGroupSimulator>();
     public List<UUID> defenders = new ArrayList<UUID>();
@@ -76,6 +77,22 @@ public class CombatSimulator implements Serializable {
 
     public CombatSimulator() {}
 
+    public CombatSimulator(final CombatSimulator combat) {
+        for (CombatGroupSimulator group: combat.groups) {
+            this.groups.add(group.copy());
+        }
+        this.defenders.addAll(combat.defenders);
+        this.playersLife.putAll(combat.playersLife);
+        this.planeswalkerLoyalty.putAll(combat.planeswalkerLoyalty);
+        this.attackerId = combat.attackerId;
+        this.rating = combat.rating;
+    }
+
+    @Override
+    public CombatSimulator copy() {
+        return new CombatSimulator(this);
+    }
+
     public void clear() {
         groups.clear();
         defenders.clear();
@@ -57,6 +57,8 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
     private static final int THINK_MAX_RATIO = 100;
     private static final double THINK_TIME_MULTIPLIER = 2.0;
     private static final boolean USE_MULTIPLE_THREADS = true;
+    // all threads search the same tree instead of building a tree each that is merged at the end
+    private static final boolean USE_SHARED_TREE = true;
 
     protected transient MCTSNode root;
     protected int maxThinkTime;
@@ -265,10 +267,16 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
             if (USE_MULTIPLE_THREADS) {
                 List<MCTSExecutor> tasks = new ArrayList<MCTSExecutor>();
                 for (int i = 0; i < cores; i++) {
-                    Game sim = createMCTSGame(game);
-                    MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
-                    player.setNextAction(action);
-                    MCTSExecutor exec = new MCTSExecutor(sim, playerId, thinkTime);
+                    MCTSExecutor exec;
+                    if (USE_SHARED_TREE) {
+                        exec = new MCTSExecutor(root, game.copy(), playerId, thinkTime);
+                    }
+                    else {
+                        Game sim = createMCTSGame(game);
+                        MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
+                        player.setNextAction(action);
+                        exec = new MCTSExecutor(sim, playerId, thinkTime);
+                    }
                     tasks.add(exec);
                 }
 
@@ -279,7 +287,9 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
                 }
 
                 for (MCTSExecutor task: tasks) {
-                    root.merge(task.getRoot());
+                    if (!USE_SHARED_TREE) {
+                        root.merge(task.getRoot());
+                    }
                     task.clear();
                 }
                 tasks.clear();
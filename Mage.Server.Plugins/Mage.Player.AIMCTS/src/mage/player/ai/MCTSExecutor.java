@@ -39,6 +39,8 @@ import org.apache.log4j.Logger;
 public class MCTSExecutor implements Callable<Boolean> {
 
     protected transient MCTSNode root;
+    // reset to the state of a node for each simulation instead of copying the node's game
+    protected transient Game simulation;
     protected int thinkTime;
     protected UUID playerId;
 
@@ -48,6 +50,22 @@ public class MCTSExecutor implements Callable<Boolean> {
         this.playerId = playerId;
         this.thinkTime = thinkTime;
         root = new MCTSNode(sim);
+        simulation = sim.copy();
+    }
+
+    /**
+     * Creates an executor that searches a tree that is shared with other executors
+     *
+     * @param root - the shared root node
+     * @param game - a game that is only used by this executor to run the simulations
+     * @param playerId
+     * @param thinkTime
+     */
+    public MCTSExecutor(MCTSNode root, Game game, UUID playerId, int thinkTime) {
+        this.playerId = playerId;
+        this.thinkTime = thinkTime;
+        this.root = root;
+        this.simulation = game;
     }
 
     @Override
@@ -63,26 +81,32 @@ public class MCTSExecutor implements Callable<Boolean> {
             if (currentTime > endTime)
                 break;
             current = root;
+            current.addVirtualLoss();
 
             // Selection
             while (!current.isLeaf()) {
                 current = current.select(this.playerId);
+                current.addVirtualLoss();
             }
 
             int result;
             if (!current.isTerminal()) {
-                // Expansion
-                current.expand();
-
-                // only run simulations for nodes that have siblings
-                if (current.getNumChildren() > 1) {
-                    // Simulation
+                // Expansion - skipped if another executor is expanding the node
+                if (current.expand() && current.getNumChildren() > 0) {
+                    boolean hasSiblings = current.getNumChildren() > 1;
                     current = current.select(this.playerId);
-                    result = current.simulate(this.playerId);
-                    simCount++;
+                    current.addVirtualLoss();
+                    // only run simulations for nodes that have siblings
+                    if (hasSiblings) {
+                        // Simulation
+                        result = current.simulate(this.playerId, simulation);
+                        simCount++;
+                    }
+                    else {
+                        result = 0;
+                    }
                 }
                 else {
-                    current = current.select(this.playerId);
                     result = 0;
                 }
             }
@@ -90,7 +114,7 @@ public class MCTSExecutor implements Callable<Boolean> {
                 result = current.isWinner(this.playerId)?1:-1;
             }
             // Backpropagation
-            current.backpropagate(result);
+            current.backpropagate(result, true);
         }
         logger.info("Simulated " + simCount + " games - nodes in tree: " + root.size());
         return true;
@@ -102,6 +126,7 @@ public class MCTSExecutor implements Callable<Boolean> {
 
     public void clear() {
         root = null;
+        simulation = null;
     }
 
 }
@@ -31,6 +31,9 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.constants.PhaseStep;
 import mage.constants.Zone;
 import mage.abilities.Ability;
@@ -55,10 +58,16 @@ public class MCTSNode {
     private static final double passRatioTolerance = 0.0;
      private static final transient Logger logger = Logger.getLogger(MCTSNode.class);
 
-    private int visits = 0;
-    private int wins = 0;
-    private MCTSNode parent;
-    private final List<MCTSNode> children = new ArrayList<MCTSNode>();
+    // the tree can be searched by several threads at once, the statistics are
+    // updated without locking and the children are published once expanded
+    private final AtomicInteger visits = new AtomicInteger();
+    private final AtomicInteger wins = new AtomicInteger();
+    // simulations currently running through this node, they count as visits
+    // without a result so other threads prefer different paths
+    private final AtomicInteger virtualLosses = new AtomicInteger();
+    private final AtomicBoolean expanded = new AtomicBoolean();
+    private volatile MCTSNode parent;
+    private final List<MCTSNode> children = new CopyOnWriteArrayList<MCTSNode>();
     private Ability action;
     private Game game;
     private Combat combat;
@@ -66,14 +75,14 @@ public class MCTSNode {
     private UUID playerId;
     private boolean terminal = false;
 
-    private static int nodeCount;
+    private static final AtomicInteger nodeCount = new AtomicInteger();
 
     public MCTSNode(Game game) {
         this.game = game;
         this.stateValue = game.getState().getValue(false, game);
         this.terminal = game.gameOver(null);
         setPlayer();
-        nodeCount = 1;
+        nodeCount.set(1);
     }    
 
     protected MCTSNode(MCTSNode parent, Game game, Ability action) {
@@ -83,7 +92,7 @@ public class MCTSNode {
         this.parent = parent;
         this.action = action;
         setPlayer();
-        nodeCount++;
+        nodeCount.incrementAndGet();
     }
 
     protected MCTSNode(MCTSNode parent, Game game, Combat combat) {
@@ -93,7 +102,7 @@ public class MCTSNode {
         this.terminal = game.gameOver(null);
         this.parent = parent;
         setPlayer();
-        nodeCount++;
+        nodeCount.incrementAndGet();
     }
 
     private void setPlayer() {
@@ -115,13 +124,17 @@ public class MCTSNode {
         if (children.size() == 1) {
             return children.get(0);
         }
+        int parentVisits = Math.max(1, visits.get() + virtualLosses.get());
         for (MCTSNode node: children) {
             double uct;
-            if (node.visits > 0)
+            int nodeWins = node.wins.get();
+            int nodeResults = node.visits.get();
+            int nodeVisits = nodeResults + node.virtualLosses.get();
+            if (nodeVisits > 0)
                 if (isTarget)
-                    uct = (node.wins / (node.visits)) + (selectionCoefficient * Math.sqrt(Math.log(visits) / (node.visits)));
+                    uct = (nodeWins / (nodeVisits * 1.0)) + (selectionCoefficient * Math.sqrt(Math.log(parentVisits) / nodeVisits));
                 else
-                    uct = ((node.visits - node.wins) / (node.visits)) + (selectionCoefficient * Math.sqrt(Math.log(visits) / (node.visits)));
+                    uct = ((nodeResults - nodeWins) / (nodeVisits * 1.0)) + (selectionCoefficient * Math.sqrt(Math.log(parentVisits) / nodeVisits));
             else
                 // ensure that a random unvisited node is played first
                 uct = 10000 + 1000 * Math.random();
@@ -133,7 +146,24 @@ public class MCTSNode {
         return bestChild;
     }
 
-    public void expand() {
+    /**
+     * Creates the child nodes, one for each option of the player
+     *
+     * @return false if the node was already expanded by another thread
+     */
+    public boolean expand() {
+        if (!expanded.compareAndSet(false, true)) {
+            // wait until the other thread has added the children
+            synchronized (this) {
+                return false;
+            }
+        }
+        addChildren();
+        return true;
+    }
+
+    private synchronized void addChildren() {
+        List<MCTSNode> newChildren = new ArrayList<MCTSNode>();
         MCTSPlayer player = (MCTSPlayer) game.getPlayer(playerId);
         if (player.getNextAction() == null) {
             logger.fatal("next action is null");
@@ -148,7 +178,7 @@ public class MCTSNode {
                     MCTSPlayer simPlayer = (MCTSPlayer) sim.getPlayer(player.getId());
                     simPlayer.activateAbility((ActivatedAbility)ability, sim);
                     sim.resume();
-                    children.add(new MCTSNode(this, sim, ability));
+                    newChildren.add(new MCTSNode(this, sim, ability));
                 }
                 break;
             case SELECT_ATTACKERS:
@@ -162,7 +192,7 @@ public class MCTSNode {
                         simPlayer.declareAttacker(attackerId, defenderId, sim, false);
                     }
                     sim.resume();
-                    children.add(new MCTSNode(this, sim, sim.getCombat()));
+                    newChildren.add(new MCTSNode(this, sim, sim.getCombat()));
                 }
                 break;
             case SELECT_BLOCKERS:
@@ -180,10 +210,11 @@ public class MCTSNode {
                         }
                     }
                     sim.resume();
-                    children.add(new MCTSNode(this, sim, sim.getCombat()));
+                    newChildren.add(new MCTSNode(this, sim, sim.getCombat()));
                 }
                 break;
         }
+        children.addAll(newChildren);
         game = null;
     }
 
@@ -192,6 +223,30 @@ public class MCTSNode {
         Game sim = createSimulation(game, playerId);
         sim.resume();
 //        long duration = System.nanoTime() - startTime;
+        return getResult(sim, playerId);
+    }
+
+    /**
+     * Plays out the game of this node using the passed game instead of a new copy,
+     * the passed game is reset to the state of this node first
+     *
+     * @param playerId
+     * @param sim - simulation game owned by the calling thread
+     * @return 1 for a win, -1 for a loss and 0 if the node was expanded in the meantime
+     */
+    public int simulate(UUID playerId, Game sim) {
+        synchronized (this) {
+            if (game == null)
+                return 0;
+            sim.restoreSimulation(game);
+        }
+        setSimulatedPlayers(sim, sim);
+        randomizePlayers(sim, playerId);
+        sim.resume();
+        return getResult(sim, playerId);
+    }
+
+    private int getResult(Game sim, UUID playerId) {
         int retVal = -1;  //anything other than a win is a loss
         for (Player simPlayer: sim.getPlayers().values()) {
 //            logger.info(simPlayer.getName() + " calculated " + ((SimulatedPlayerMCTS)simPlayer).getActionCount() + " actions in " + duration/1000000000.0 + "s");
@@ -204,13 +259,31 @@ public class MCTSNode {
     }
 
     public void backpropagate(int result) {
-        if (result == 0)
-            return;
-        if (result == 1)
-            wins++;
-        visits++;
-        if (parent != null)
-            parent.backpropagate(result);
+        backpropagate(result, false);
+    }
+
+    /**
+     * Adds the result of a simulation to this node and all its parents
+     *
+     * @param result
+     * @param virtualLoss - true if the virtual losses added during selection have to be removed
+     */
+    public void backpropagate(int result, boolean virtualLoss) {
+        MCTSNode node = this;
+        while (node != null) {
+            if (virtualLoss)
+                node.virtualLosses.decrementAndGet();
+            if (result != 0) {
+                if (result == 1)
+                    node.wins.incrementAndGet();
+                node.visits.incrementAndGet();
+            }
+            node = node.parent;
+        }
+    }
+
+    public void addVirtualLoss() {
+        virtualLosses.incrementAndGet();
     }
 
     public boolean isLeaf() {
@@ -225,25 +298,27 @@ public class MCTSNode {
         boolean bestIsPass = false;
         MCTSNode bestChild = null;
         for (MCTSNode node: children) {
+            int visits = node.visits.get();
+            int wins = node.wins.get();
             //favour passing vs any other action except for playing land if ratio is close
-            if (node.visits > bestCount) {
+            if (visits > bestCount) {
                 if (bestIsPass) {
-                    double ratio = node.wins/(node.visits * 1.0);
+                    double ratio = wins/(visits * 1.0);
                     if (ratio < bestRatio + passRatioTolerance)
                         continue;
                 }
                 bestChild = node;
-                bestCount = node.visits;
-                bestRatio = node.wins/(node.visits * 1.0);
+                bestCount = visits;
+                bestRatio = wins/(visits * 1.0);
                 bestIsPass = false;
             }
-            else if (node.action instanceof PassAbility && node.visits > 10 && !(bestChild.action instanceof PlayLandAbility)) {
+            else if (node.action instanceof PassAbility && visits > 10 && !(bestChild.action instanceof PlayLandAbility)) {
                 //favour passing vs any other action if ratio is close
-                double ratio = node.wins/(node.visits * 1.0);
+                double ratio = wins/(visits * 1.0);
                 if (ratio > bestRatio - passRatioTolerance) {
                     logger.info("choosing pass over " + bestChild.getAction());
                     bestChild = node;
-                    bestCount = node.visits;
+                    bestCount = visits;
                     bestRatio = ratio;
                     bestIsPass = true;
                 }
@@ -276,7 +351,7 @@ public class MCTSNode {
     }
 
     public int getNodeCount() {
-        return nodeCount;
+        return nodeCount.get();
     }
 
     public String getStateValue() {
@@ -284,13 +359,14 @@ public class MCTSNode {
     }
 
     public double getWinRatio() {
+        int visits = this.visits.get();
         if (visits > 0)
-            return wins/(visits * 1.0);
+            return wins.get()/(visits * 1.0);
         return -1.0;
     }
 
     public int getVisits() {
-        return visits;
+        return visits.get();
     }
 
     /**
@@ -302,16 +378,22 @@ public class MCTSNode {
      */
     protected Game createSimulation(Game game, UUID playerId) {
         Game sim = game.copy();
+        setSimulatedPlayers(sim, game);
+        randomizePlayers(sim, playerId);
+        sim.setSimulation(true);
+        return sim;
+    }
 
+    /*
+     * Replaces all players in the simulation with simulated players
+     */
+    protected void setSimulatedPlayers(Game sim, Game game) {
         for (Player copyPlayer: sim.getState().getPlayers().values()) {
             Player origPlayer = game.getState().getPlayers().get(copyPlayer.getId()).copy();
             SimulatedPlayerMCTS newPlayer = new SimulatedPlayerMCTS(copyPlayer.getId(), true);
             newPlayer.restore(origPlayer);
             sim.getState().getPlayers().put(copyPlayer.getId(), newPlayer);
         }
-        randomizePlayers(sim, playerId);
-        sim.setSimulation(true);
-        return sim;
     }
 
     /*
@@ -380,8 +462,8 @@ public class MCTSNode {
             return;
         }
 
-        this.visits += merge.visits;
-        this.wins += merge.wins;
+        this.visits.addAndGet(merge.visits.get());
+        this.wins.addAndGet(merge.wins.get());
 
         List<MCTSNode> mergeChildren = new ArrayList<MCTSNode>();
         for (MCTSNode child: merge.children) {
@@ -63,6 +63,7 @@ import mage.target.TargetPermanent;
 import mage.target.common.TargetAttackingCreature;
 import mage.target.common.TargetCreatureOrPlayer;
 import mage.target.common.TargetDefender;
+import mage.util.GameThreads;
 import mage.util.ManaUtil;
 import org.apache.log4j.Logger;
 
@@ -75,7 +76,9 @@ import java.util.*;
  */
 public class HumanPlayer extends PlayerImpl {
 
-    private final transient PlayerResponse response = new PlayerResponse();
+    private final transient ResponseMailbox mailbox = new ResponseMailbox();
+    // the last response taken from the mailbox, only used by the game thread
+    private transient PlayerResponse response = new PlayerResponse();
 
     protected static FilterCreatureForCombatBlock filterCreatureForCombatBlock = new FilterCreatureForCombatBlock();
     protected static FilterCreatureForCombat filterCreatureForCombat = new FilterCreatureForCombat();
@@ -99,43 +102,59 @@ public class HumanPlayer extends PlayerImpl {
         super(player);
     }
 
+    @Override
+    public void init(Game game, boolean testMode) {
+        super.init(game, testMode);
+        mailbox.reset();
+    }
+
     protected void waitForResponse(Game game) {
-        response.clear();
+        waitForResponse(game, ResponseMailbox.ANY);
+    }
+
+    /**
+     * Waits until the player sends a response of one of the given kinds, an
+     * abort or a timeout (PriorityTimer or maxSecondsIdle) that concedes the
+     * game for the player. Other responses are dropped.
+     *
+     * @param game
+     * @param kinds
+     */
+    private void waitForResponse(Game game, Set<ResponseMailbox.Kind> kinds) {
         log.debug("Waiting response from player: " + getId());
         game.resumeTimer(getTurnControlledBy());
-        synchronized(response) {
-            try {
-                response.wait();
-                log.debug("Got response from player: " + getId());
-            } catch (InterruptedException ex) {
-                ex.printStackTrace();
-            } finally {
-                game.pauseTimer(getTurnControlledBy());
-            }
+        // other games can run while this one waits for the player
+        GameThreads.pause();
+        try {
+            response = mailbox.take(kinds);
+            log.debug("Got response from player: " + getId());
+        } finally {
+            game.pauseTimer(getTurnControlledBy());
+            GameThreads.resume();
         }
     }
 
     protected void waitForBooleanResponse(Game game) {
         do {
-            waitForResponse(game);
+            waitForResponse(game, EnumSet.of(ResponseMailbox.Kind.BOOLEAN));
         } while (response.getBoolean() == null && !abort);
     }
 
     protected void waitForUUIDResponse(Game game) {
         do {
-            waitForResponse(game);
+            waitForResponse(game, EnumSet.of(ResponseMailbox.Kind.UUID));
         } while (response.getUUID() == null && !abort);
     }
 
     protected void waitForStringResponse(Game game) {
         do {
-            waitForResponse(game);
+            waitForResponse(game, EnumSet.of(ResponseMailbox.Kind.STRING));
         } while (response.getString() == null && !abort);
     }
 
     protected void waitForIntegerResponse(Game game) {
         do {
-            waitForResponse(game);
+            waitForResponse(game, EnumSet.of(ResponseMailbox.Kind.INTEGER));
         } while (response.getInteger() == null && !abort);
     }
 
@@ -1115,66 +1134,60 @@ public class HumanPlayer extends PlayerImpl {
 
     @Override
     public void setResponseString(String responseString) {
-        synchronized(response) {
-            response.setString(responseString);
-            response.notify();
-            log.debug("Got response string from player: " + getId());
-        }
+        PlayerResponse playerResponse = new PlayerResponse();
+        playerResponse.setString(responseString);
+        postResponse(playerResponse, ResponseMailbox.Kind.STRING, "string");
     }
 
     @Override
     public void setResponseManaType(UUID manaTypePlayerId, ManaType manaType) {
-        synchronized(response) {
-            response.setManaType(manaType);
-            response.setResponseManaTypePlayerId(manaTypePlayerId);
-            response.notify();
-            log.debug("Got response mana type from player: " + getId());
-        }
+        PlayerResponse playerResponse = new PlayerResponse();
+        playerResponse.setManaType(manaType);
+        playerResponse.setResponseManaTypePlayerId(manaTypePlayerId);
+        postResponse(playerResponse, ResponseMailbox.Kind.MANA_TYPE, "mana type");
     }
 
     @Override
     public void setResponseUUID(UUID responseUUID) {
-        synchronized(response) {
-            response.setUUID(responseUUID);
-            response.notify();
-            log.debug("Got response UUID from player: " + getId());
-        }
+        PlayerResponse playerResponse = new PlayerResponse();
+        playerResponse.setUUID(responseUUID);
+        postResponse(playerResponse, ResponseMailbox.Kind.UUID, "UUID");
     }
 
     @Override
     public void setResponseBoolean(Boolean responseBoolean) {
-        synchronized(response) {
-            response.setBoolean(responseBoolean);
-            response.notify();
-            log.debug("Got response boolean from player: " + getId());
-        }
+        PlayerResponse playerResponse = new PlayerResponse();
+        playerResponse.setBoolean(responseBoolean);
+        postResponse(playerResponse, ResponseMailbox.Kind.BOOLEAN, "boolean");
     }
 
     @Override
     public void setResponseInteger(Integer responseInteger) {
-        synchronized(response) {
-            response.setInteger(responseInteger);
-            response.notify();
-            log.debug("Got response integer from player: " + getId());
+        PlayerResponse playerResponse = new PlayerResponse();
+        playerResponse.setInteger(responseInteger);
+        postResponse(playerResponse, ResponseMailbox.Kind.INTEGER, "integer");
+    }
+
+    private void postResponse(PlayerResponse playerResponse, ResponseMailbox.Kind kind, String name) {
+        if (mailbox.post(playerResponse, kind)) {
+            log.debug("Got response " + name + " from player: " + getId());
+        } else {
+            log.debug("Dropped response " + name + " from player: " + getId() + " (not waiting for it)");
         }
     }
 
     @Override
     public void abort() {
         abort = true;
-        synchronized(response) {
-            response.notify();
-            log.debug("Got cancel action from player: " + getId());
-        }
+        mailbox.cancel();
+        log.debug("Got cancel action from player: " + getId());
     }
 
     @Override
     public void skip() {
-        synchronized(response) {
-            response.setInteger(0);
-            response.notify();
-            log.debug("Got skip action from player: " + getId());
-        }
+        PlayerResponse playerResponse = new PlayerResponse();
+        playerResponse.setInteger(0);
+        postResponse(playerResponse, ResponseMailbox.Kind.INTEGER, "skip");
     }
 
     @Override
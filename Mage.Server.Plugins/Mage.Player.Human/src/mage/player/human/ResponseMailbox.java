@@ -0,0 +1,130 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+
+package mage.player.human;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands the responses of a player over to the game thread.
+ *
+ * The game thread opens a request for the kinds of response it expects and
+ * waits until one of them arrives. Only the first matching response to an
+ * open request is accepted. Responses that arrive while no request is open,
+ * responses of another kind and duplicates are dropped without waking the
+ * game thread, so they can't change a response the game thread is working
+ * with.
+ *
+ * A cancel completes the open request and every following one until the
+ * mailbox is reset, so a cancel that arrives while the game thread is busy
+ * is not lost.
+ *
+ * @author magefree
+ */
+class ResponseMailbox {
+
+    enum Kind {
+        STRING, UUID, BOOLEAN, INTEGER, MANA_TYPE
+    }
+
+    static final Set<Kind> ANY = EnumSet.allOf(Kind.class);
+
+    private final AtomicReference<Request> open = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Waits for a response of one of the given kinds.
+     *
+     * @param kinds
+     * @return the response, an empty response if the mailbox was cancelled or
+     * the waiting thread was interrupted
+     */
+    PlayerResponse take(Set<Kind> kinds) {
+        Request request = new Request(kinds);
+        open.set(request);
+        try {
+            if (cancelled) {
+                request.complete(new PlayerResponse());
+            }
+            request.done.await();
+            return request.response.get();
+        } catch (InterruptedException ex) {
+            return new PlayerResponse();
+        } finally {
+            open.compareAndSet(request, null);
+        }
+    }
+
+    /**
+     * @param response
+     * @param kind
+     * @return false if the response was dropped
+     */
+    boolean post(PlayerResponse response, Kind kind) {
+        Request request = open.get();
+        if (request == null || !request.kinds.contains(kind)) {
+            return false;
+        }
+        return request.complete(response);
+    }
+
+    void cancel() {
+        cancelled = true;
+        Request request = open.get();
+        if (request != null) {
+            request.complete(new PlayerResponse());
+        }
+    }
+
+    void reset() {
+        cancelled = false;
+    }
+
+    private static class Request {
+
+        private final Set<Kind> kinds;
+        private final AtomicReference<PlayerResponse> response = new AtomicReference<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        Request(Set<Kind> kinds) {
+            this.kinds = kinds;
+        }
+
+        boolean complete(PlayerResponse value) {
+            if (!response.compareAndSet(null, value)) {
+                return false;
+            }
+            done.countDown();
+            return true;
+        }
+    }
+
+}
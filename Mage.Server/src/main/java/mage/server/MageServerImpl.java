@@ -355,6 +355,31 @@ public class MageServerImpl implements MageServer {
         return SessionManager.getInstance().extendUserSession(sessionId, pingInfo);
     }
 
+    @Override
+    public int negotiateViewProtocol(final String sessionId, final int version) throws MageException {
+        return executeWithResult("negotiateViewProtocol", sessionId, new ActionWithResult<Integer>() {
+            @Override
+            public Integer execute() throws MageException {
+                return SessionManager.getInstance().setViewProtocol(sessionId, version);
+            }
+
+            @Override
+            public Integer negativeResult() {
+                return 0;
+            }
+        });
+    }
+
+    @Override
+    public void acknowledgeGameView(final String sessionId, final UUID gameId, final int version) throws MageException {
+        execute("acknowledgeGameView", sessionId, new Action() {
+            @Override
+            public void execute() {
+                SessionManager.getInstance().acknowledgeGameView(sessionId, gameId, version);
+            }
+        });
+    }
+
 //    @Override
 //    public void deregisterClient(final String sessionId) throws MageException {
 //        execute("deregisterClient", sessionId, new Action() {
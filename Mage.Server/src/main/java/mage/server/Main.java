@@ -136,6 +136,7 @@ public class Main {
 
         logger.info("Config - max seconds idle: " + config.getMaxSecondsIdle());
         logger.info("Config - max game threads: " + config.getMaxGameThreads());
+        logger.info("Config - park wait. games: " + (config.isParkWaitingGames() ? "True":"false"));
         logger.info("Config - max AI opponents: " + config.getMaxAiOpponents());
         logger.info("Config - min user name l.: " + config.getMinUserNameLength());
         logger.info("Config - max user name l.: " + config.getMaxUserNameLength());
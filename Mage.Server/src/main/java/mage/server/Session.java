@@ -28,11 +28,16 @@
 
 package mage.server;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,9 +45,14 @@ import mage.MageException;
 import mage.interfaces.callback.ClientCallback;
 import mage.players.net.UserData;
 import mage.players.net.UserGroup;
+import mage.remote.traffic.ZippedObject;
+import mage.remote.traffic.ZippedViewImpl;
 import mage.server.game.GamesRoomManager;
 import mage.server.util.ConfigSettings;
+import mage.server.util.ThreadExecutor;
 import mage.view.UserDataView;
+import mage.view.ViewDeltaEncoder;
+import mage.view.ViewProtocol;
 import org.apache.log4j.Logger;
 import org.jboss.remoting.callback.AsynchInvokerCallbackHandler;
 import org.jboss.remoting.callback.Callback;
@@ -56,6 +66,7 @@ import org.jboss.remoting.callback.InvokerCallbackHandler;
 public class Session {
 
     private static final Logger logger = Logger.getLogger(Session.class);
+    private static final ExecutorService callExecutor = ThreadExecutor.getInstance().getCallExecutor();
 
     private final String sessionId;
     private UUID userId;
@@ -64,6 +75,10 @@ public class Session {
     private final Date timeConnected;
     private boolean isAdmin = false;
     private final AsynchInvokerCallbackHandler callbackHandler;
+    private volatile int viewProtocol = 0;
+    private final ConcurrentHashMap<UUID, ViewDeltaEncoder> viewEncoders = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<ClientCallback> callbacks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sendingCallbacks = new AtomicBoolean();
 
     private final ReentrantLock lock;
 
@@ -271,18 +286,120 @@ public class Session {
 
     }
 
+    /**
+     * Callbacks are encoded and handed to the callback handler on a thread of
+     * the call executor, so encoding and deflating the views doesn't hold up
+     * the game thread. The callbacks of a session are sent one after another
+     * in the order they were fired.
+     *
+     * @param call
+     */
     public void fireCallback(final ClientCallback call) {
-        try {
+        synchronized (callbacks) {
             call.setMessageId(messageId++);
-            callbackHandler.handleCallbackOneway(new Callback(call));
+            callbacks.add(call);
+        }
+        if (sendingCallbacks.compareAndSet(false, true)) {
+            callExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    sendCallbacks();
+                }
+            });
+        }
+    }
+
+    private void sendCallbacks() {
+        while (true) {
+            ClientCallback call;
+            while ((call = callbacks.poll()) != null) {
+                sendCallback(call);
+            }
+            sendingCallbacks.set(false);
+            // a callback fired after the queue was found empty has to be sent by this thread
+            if (callbacks.isEmpty() || !sendingCallbacks.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void sendCallback(ClientCallback call) {
+        try {
+            callbackHandler.handleCallbackOneway(new Callback(encodeView(call)));
         } catch (HandleCallbackException ex) {
+            // the connection is lost, the remaining callbacks can't be sent either
+            callbacks.clear();
             User user = UserManager.getInstance().getUser(userId);
             logger.warn("SESSION CALLBACK EXCEPTION - " + (user != null ? user.getName():"") + " userId " + userId);
             logger.warn(" - method: " + call.getMethod());
             logger.warn(" - cause: " + getBasicCause(ex).toString());
             logger.trace("Stack trace:", ex);
             userLostConnection();
+        } catch (RuntimeException ex) {
+            // don't stop sending the following callbacks of the session
+            logger.error("Can't send callback " + call.getMethod() + " to userId " + userId, ex);
+        }
+    }
+
+    /**
+     * Game views are sent in the binary view protocol if the client asked for it.
+     * The callback is copied, because the same callback can be sent to sessions
+     * using default serialization.
+     */
+    private ClientCallback encodeView(ClientCallback call) {
+        if ("gameOver".equals(call.getMethod()) || "replayDone".equals(call.getMethod())) {
+            viewEncoders.remove(call.getObjectId());
+        }
+        if (viewProtocol == 0 || !ViewProtocol.canEncode(call.getData())) {
+            return call;
+        }
+        ZippedObject<Object> view;
+        if (viewProtocol > 1 && call.getObjectId() != null) {
+            try {
+                view = getViewEncoder(call.getObjectId()).encode(call.getData());
+            } catch (IOException ex) {
+                logger.error("Can't encode view for " + call.getMethod(), ex);
+                return call;
+            }
+        } else {
+            view = new ZippedViewImpl<>(call.getData());
+        }
+        ClientCallback encoded = new ClientCallback(call.getMethod(), call.getObjectId(), view);
+        encoded.setMessageId(call.getMessageId());
+        return encoded;
+    }
+
+    private ViewDeltaEncoder getViewEncoder(UUID gameId) {
+        ViewDeltaEncoder encoder = viewEncoders.get(gameId);
+        if (encoder == null) {
+            encoder = new ViewDeltaEncoder();
+            ViewDeltaEncoder existing = viewEncoders.putIfAbsent(gameId, encoder);
+            if (existing != null) {
+                encoder = existing;
+            }
         }
+        return encoder;
+    }
+
+    /**
+     * Drops the view encoder of a game the session doesn't get views of anymore
+     *
+     * @param gameId
+     */
+    public void removeViewEncoder(UUID gameId) {
+        viewEncoders.remove(gameId);
+    }
+
+    public void acknowledgeView(UUID gameId, int version) {
+        ViewDeltaEncoder encoder = viewEncoders.get(gameId);
+        if (encoder != null) {
+            encoder.acknowledge(version);
+        }
+    }
+
+    public int setViewProtocol(int version) {
+        this.viewProtocol = Math.max(0, Math.min(version, ViewProtocol.VERSION));
+        return viewProtocol;
     }
 
     public UUID getUserId() {
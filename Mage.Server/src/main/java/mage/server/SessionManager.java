@@ -29,6 +29,7 @@ package mage.server;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import mage.MageException;
 import mage.server.services.LogKeys;
@@ -111,6 +112,28 @@ public class SessionManager {
         return false;
     }
 
+    public int setViewProtocol(String sessionId, int version) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            return session.setViewProtocol(version);
+        }
+        return 0;
+    }
+
+    public void acknowledgeGameView(String sessionId, UUID gameId, int version) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            session.acknowledgeView(gameId, version);
+        }
+    }
+
+    public void removeViewEncoder(String sessionId, UUID gameId) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            session.removeViewEncoder(gameId);
+        }
+    }
+
     public void disconnect(String sessionId, DisconnectReason reason) {
         Session session = sessions.get(sessionId);     
         if (session != null) {
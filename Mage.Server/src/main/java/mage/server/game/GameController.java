@@ -28,12 +28,7 @@
 
 package mage.server.game;
 
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
-import java.io.OutputStream;
+import java.io.File;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
@@ -49,7 +44,6 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPOutputStream;
 import mage.MageException;
 import mage.abilities.Ability;
 import mage.cards.Card;
@@ -64,6 +58,7 @@ import mage.constants.PlayerAction;
 import mage.constants.Zone;
 import mage.game.Game;
 import mage.game.GameException;
+import mage.game.GameRecorder;
 import mage.game.Table;
 import mage.game.events.Listener;
 import mage.game.events.PlayerQueryEvent;
@@ -123,6 +118,12 @@ public class GameController implements GameCallback {
         chatId = ChatManager.getInstance().createChatSession("Game " + game.getId());
         this.game = game;
         this.game.setSaveGame(ConfigSettings.getInstance().isSaveGameActivated());
+        if (game.isSaveGame()) {
+            // the states are appended to the recording while the game is played
+            File file = new File("saved/" + game.getId().toString() + ".game");
+            file.getParentFile().mkdirs();
+            game.getGameStates().setRecorder(new GameRecorder(file, game));
+        }
         this.tableId = tableId;
         this.choosingPlayerId = choosingPlayerId;
         for (Player player: game.getPlayers().values()) {
@@ -137,9 +138,17 @@ public class GameController implements GameCallback {
 
     public void cleanUp() {
         cancelTimeout();
+        GameRecorder recorder = game.getGameStates().getRecorder();
+        if (recorder != null) {
+            game.getGameStates().flush();
+            recorder.close();
+        }
         for (GameSessionPlayer gameSessionPlayer: gameSessions.values()) {
             gameSessionPlayer.CleanUp();
         }
+        for (GameSessionWatcher gameSessionWatcher: watchers.values()) {
+            gameSessionWatcher.CleanUp();
+        }
         ChatManager.getInstance().destroyChatSession(chatId);
         for(PriorityTimer priorityTimer: timers.values()) {
             priorityTimer.cancel();
@@ -441,7 +450,10 @@ public class GameController implements GameCallback {
     }
 
     public void stopWatching(UUID userId) {
-        watchers.remove(userId);
+        GameSessionWatcher gameWatcher = watchers.remove(userId);
+        if (gameWatcher != null) {
+            gameWatcher.CleanUp();
+        }
         User user = UserManager.getInstance().getUser(userId);
         if (user != null) {
             ChatManager.getInstance().broadcast(chatId, user.getName(), " has stopped watching", MessageColor.BLUE, true, ChatMessage.MessageType.STATUS);
@@ -455,6 +467,7 @@ public class GameController implements GameCallback {
                 GameSessionPlayer gameSessionPlayer = gameSessions.get(playerId);
                 if (gameSessionPlayer != null) {
                     gameSessionPlayer.quitGame();
+                    gameSessionPlayer.CleanUp();
                 }
             } else {
                 // The player did never join the game but the game controller was started because the player was still connected as the
@@ -664,11 +677,13 @@ public class GameController implements GameCallback {
                 }
             }
         }
+        // the parts of the view that are the same for all players and watchers are created only once
+        GameView watcherView = new GameView(game.getState(), game, null, null);
         for (final GameSessionPlayer gameSession: gameSessions.values()) {
-            gameSession.update();
+            gameSession.update(watcherView);
         }
         for (final GameSessionWatcher gameWatcher: watchers.values()) {
-            gameWatcher.update();
+            gameWatcher.update(watcherView);
         }
     }
 
@@ -801,13 +816,14 @@ public class GameController implements GameCallback {
             message.append(game.getStep().getType().toString()).append(" - ");
         }
         message.append("Waiting for ").append(game.getPlayer(playerId).getName());
+        GameView watcherView = new GameView(game.getState(), game, null, null);
         for (final Entry<UUID, GameSessionPlayer> entry: gameSessions.entrySet()) {
             if (!entry.getKey().equals(playerId)) {
-                entry.getValue().inform(message.toString());
+                entry.getValue().inform(message.toString(), watcherView);
             }
         }
         for (final GameSessionWatcher watcher: watchers.values()) {
-            watcher.inform(message.toString());
+            watcher.inform(message.toString(), watcherView);
         }
     }
 
@@ -821,6 +837,7 @@ public class GameController implements GameCallback {
             return;
         }
         final String message = new StringBuilder(game.getStep().getType().toString()).append(" - Waiting for ").append(controller.getName()).toString();
+        GameView watcherView = new GameView(game.getState(), game, null, null);
         for (final Entry<UUID, GameSessionPlayer> entry: gameSessions.entrySet()) {
             boolean skip = false;
             for (UUID uuid : players) {
@@ -830,11 +847,11 @@ public class GameController implements GameCallback {
                 }
             }
             if (!skip) {
-                entry.getValue().inform(message);
+                entry.getValue().inform(message, watcherView);
             }
         }
         for (final GameSessionWatcher watcher: watchers.values()) {
-            watcher.inform(message);
+            watcher.inform(message, watcherView);
         }
     }
 
@@ -873,24 +890,22 @@ public class GameController implements GameCallback {
         }
     }
 
+    /**
+     * Finishes the recording of the game.
+     *
+     * @return true if the game was recorded
+     */
     public boolean saveGame() {
-        try {
-            OutputStream file = new FileOutputStream("saved/" + game.getId().toString() + ".game");
-            OutputStream buffer = new BufferedOutputStream(file);
-            ObjectOutput output = new ObjectOutputStream(new GZIPOutputStream(buffer));
-            try {
-                output.writeObject(game);
-                output.writeObject(game.getGameStates());
-            }
-            finally {
-                output.close();
-            }
+        GameRecorder recorder = game.getGameStates().getRecorder();
+        if (recorder == null) {
+            return false;
+        }
+        game.getGameStates().flush();
+        recorder.close();
+        if (recorder.isRecorded()) {
             logger.debug("Saved game:" + game.getId());
             return true;
         }
-        catch(IOException ex) {
-            logger.fatal("Cannot save game.", ex);
-        }
         return false;
     }
 
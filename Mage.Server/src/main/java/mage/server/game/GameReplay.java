@@ -28,18 +28,13 @@
 
 package mage.server.game;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.ObjectInput;
 import java.util.UUID;
-import java.util.zip.GZIPInputStream;
 import mage.game.Game;
+import mage.game.GameRecording;
 import mage.game.GameState;
-import mage.game.GameStates;
 import mage.server.Main;
-import mage.util.CopierObjectInputStream;
 import org.apache.log4j.Logger;
 
 
@@ -52,13 +47,13 @@ public class GameReplay {
 
     private static final Logger logger = Logger.getLogger(GameReplay.class);
 
-    private final GameStates savedGame;
+    private final GameRecording recording;
     private final Game game;
     private int stateIndex;
 
     public GameReplay(UUID gameId) {
+        this.recording = openRecording(gameId);
         this.game = loadGame(gameId);
-        this.savedGame = game.getGameStates();
     }
 
     public void start() {
@@ -66,15 +61,21 @@ public class GameReplay {
     }
 
     public GameState next() {
-        if (this.stateIndex < savedGame.getSize()) {
-            return savedGame.get(stateIndex++);
+        while (recording != null && this.stateIndex < recording.getSize()) {
+            GameState state = getState(stateIndex++);
+            if (state != null) {
+                return state;
+            }
         }
         return null;
     }
 
     public GameState previous() {
-        if (this.stateIndex > 0) {
-            return savedGame.get(--stateIndex);
+        while (this.stateIndex > 0) {
+            GameState state = getState(--stateIndex);
+            if (state != null) {
+                return state;
+            }
         }
         return null;
     }
@@ -83,23 +84,28 @@ public class GameReplay {
         return this.game;
     }
 
-    private Game loadGame(UUID gameId) {
-        try{
-            InputStream file = new FileInputStream("saved/" + gameId.toString() + ".game");
-            InputStream buffer = new BufferedInputStream(file);
-            ObjectInput input = new CopierObjectInputStream(Main.classLoader, new GZIPInputStream(buffer));
+    public void close() {
+        if (recording != null) {
             try {
-                Game loadGame = (Game)input.readObject();
-                GameStates states = (GameStates)input.readObject();
-                loadGame.loadGameStates(states);
-                return loadGame;
-            }
-            finally {
-                input.close();
+                recording.close();
+            } catch (IOException ex) {
+                logger.warn("Cannot close game recording", ex);
             }
         }
-        catch(ClassNotFoundException ex) {
-            logger.fatal("Cannot load game. Class not found.", ex);
+    }
+
+    private GameState getState(int index) {
+        try {
+            return recording.getState(index);
+        } catch (IOException ex) {
+            logger.error("Cannot load game state " + index, ex);
+        }
+        return null;
+    }
+
+    private GameRecording openRecording(UUID gameId) {
+        try {
+            return new GameRecording(new File("saved/" + gameId.toString() + ".game"), Main.classLoader);
         }
         catch(IOException ex) {
             logger.fatal("Cannot load game:" + gameId, ex);
@@ -107,4 +113,16 @@ public class GameReplay {
         return null;
     }
 
+    private Game loadGame(UUID gameId) {
+        if (recording != null) {
+            try {
+                return recording.getGame();
+            }
+            catch(IOException ex) {
+                logger.fatal("Cannot load game:" + gameId, ex);
+            }
+        }
+        return null;
+    }
+
 }
@@ -211,8 +211,16 @@ public class GameSessionPlayer extends GameSessionWatcher {
 
     @Override
     public GameView getGameView() {
+        return processPlayerView(new GameView(game.getState(), game, playerId, null));
+    }
+
+    @Override
+    public GameView getGameView(GameView watcherView) {
+        return processPlayerView(new GameView(watcherView, game.getState(), game, playerId));
+    }
+
+    private GameView processPlayerView(GameView gameView) {
         Player player = game.getPlayer(playerId);
-        GameView gameView = new GameView(game.getState(), game, playerId, null);
         gameView.setHand(new CardsView(player.getHand().getCards(game)));
         if (gameView.getPriorityPlayerName().equals(player.getName())) {
             gameView.setCanPlayInHand(player.getPlayableInHand(game));
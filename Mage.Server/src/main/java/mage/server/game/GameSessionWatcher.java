@@ -35,6 +35,7 @@ import mage.game.Game;
 import mage.game.Table;
 import mage.interfaces.callback.ClientCallback;
 import mage.players.Player;
+import mage.server.SessionManager;
 import mage.server.User;
 import mage.server.UserManager;
 import mage.view.GameClientMessage;
@@ -82,6 +83,18 @@ public class GameSessionWatcher {
         }
     }
 
+    /**
+     * @param watcherView view of the game created for all watchers of this update
+     */
+    public void update(GameView watcherView) {
+        if (!killed) {
+            User user = UserManager.getInstance().getUser(userId);
+            if (user != null) {
+                user.fireCallback(new ClientCallback("gameUpdate", game.getId(), getGameView(watcherView)));
+            }
+        }
+    }
+
     public void inform(final String message) {
         if (!killed) {
             User user = UserManager.getInstance().getUser(userId);
@@ -91,6 +104,15 @@ public class GameSessionWatcher {
         }
     }
 
+    public void inform(final String message, GameView watcherView) {
+        if (!killed) {
+            User user = UserManager.getInstance().getUser(userId);
+            if (user != null) {
+                user.fireCallback(new ClientCallback("gameInform", game.getId(), new GameClientMessage(getGameView(watcherView), message)));
+            }
+        }
+    }
+
     public void informPersonal(final String message) {
         if (!killed) {
             User user = UserManager.getInstance().getUser(userId);
@@ -115,7 +137,11 @@ public class GameSessionWatcher {
      * 
      */
     public void CleanUp() {
-
+        // the views of the game are not sent to the user anymore
+        User user = UserManager.getInstance().getUser(userId);
+        if (user != null) {
+            SessionManager.getInstance().removeViewEncoder(user.getSessionId(), game.getId());
+        }
     }
 
     public void gameError(final String message) {
@@ -138,6 +164,12 @@ public class GameSessionWatcher {
 
     }
 
+    public GameView getGameView(GameView watcherView) {
+        GameView gameView = new GameView(watcherView, game.getState(), game, null);
+        processWatchedHands(userId, gameView);
+        return gameView;
+    }
+
     protected void processWatchedHands(UUID userId, GameView gameView) {
         Map<String, SimpleCardsView> handCards = new HashMap<>();
         for (Player player: game.getPlayers().values()) {
@@ -32,6 +32,7 @@ import java.util.UUID;
 import java.util.concurrent.Callable;
 import mage.MageException;
 import mage.game.Game;
+import mage.util.GameThreads;
 import org.apache.log4j.Logger;
 
 /**
@@ -57,6 +58,7 @@ public class GameWorker<T> implements Callable {
         try {
             logger.debug("GAME WORKER started gameId "+ game.getId());
             Thread.currentThread().setName("GAME " + game.getId());
+            GameThreads.enter();
             game.start(choosingPlayerId);
             game.fireUpdatePlayersEvent();
             gameController.gameResult(game.getWinner());
@@ -70,6 +72,8 @@ public class GameWorker<T> implements Callable {
         } catch (Error err) {
             logger.fatal("GameWorker general error [" + game.getId() + "]" +err, err);
             err.printStackTrace();
+        } finally {
+            GameThreads.leave();
         }
         return null;
     }
@@ -52,6 +52,7 @@ import mage.server.UserManager;
 import mage.server.tournament.TournamentManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.ThreadExecutor;
+import mage.util.GameThreads;
 import mage.view.MatchView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
@@ -128,10 +129,15 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
         }
 
         Collections.sort(users, new UserNameSorter());                
+        // with parked waiting games only the running games count against the limit
+        int runningGames = GameThreads.getRunning();
+        if (runningGames < 0) {
+            runningGames = ThreadExecutor.getInstance().getActiveThreads(ThreadExecutor.getInstance().getGameExecutor());
+        }
         List<RoomUsersView> roomUserInfo = new ArrayList<>();
         roomUserInfo.add(new RoomUsersView(users, 
                 GameManager.getInstance().getNumberActiveGames(),
-                ThreadExecutor.getInstance().getActiveThreads(ThreadExecutor.getInstance().getGameExecutor()),
+                runningGames,
                 ConfigSettings.getInstance().getMaxGameThreads()
         ));
         roomUsersView = roomUserInfo;
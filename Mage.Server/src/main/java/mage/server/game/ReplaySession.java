@@ -84,6 +84,7 @@ public class ReplaySession implements GameCallback {
             user.fireCallback(new ClientCallback("replayDone", replay.getGame().getId(), result));
         }
         ReplayManager.getInstance().endReplay(replay.getGame().getId(), userId);
+        replay.close();
     }
 
     private void updateGame(final GameState state, Game game) {
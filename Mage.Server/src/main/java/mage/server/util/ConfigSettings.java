@@ -99,6 +99,10 @@ public class ConfigSettings {
         return config.getServer().getMaxGameThreads().intValue();
     }
 
+    public boolean isParkWaitingGames() {
+        return Boolean.TRUE.equals(config.getServer().isParkWaitingGames());
+    }
+
     public int getMaxSecondsIdle() {
         return config.getServer().getMaxSecondsIdle().intValue();
     }
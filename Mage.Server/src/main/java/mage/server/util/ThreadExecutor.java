@@ -34,6 +34,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import mage.util.GameThreads;
 
 /**
  *
@@ -42,7 +43,7 @@ import java.util.concurrent.TimeUnit;
 public class ThreadExecutor {
 
     private static final ExecutorService callExecutor = Executors.newCachedThreadPool();
-    private static final ExecutorService gameExecutor = Executors.newFixedThreadPool(ConfigSettings.getInstance().getMaxGameThreads());
+    private static final ExecutorService gameExecutor = createGameExecutor();
     private static final ScheduledExecutorService timeoutExecutor = Executors.newScheduledThreadPool(4);
     private static final ScheduledExecutorService timeoutIdleExecutor = Executors.newScheduledThreadPool(4);
 
@@ -69,6 +70,22 @@ public class ThreadExecutor {
         ((ThreadPoolExecutor)timeoutIdleExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT_IDLE"));
     }
 
+    /**
+     * Each game holds its thread until it ends, most of the time waiting for
+     * player input. With parkWaitingGames each game gets its own thread and
+     * maxGameThreads only limits the games that run rules engine work at the
+     * same time (see GameThreads), otherwise games beyond maxGameThreads wait
+     * until a running game has ended.
+     */
+    private static ExecutorService createGameExecutor() {
+        ConfigSettings config = ConfigSettings.getInstance();
+        if (config.isParkWaitingGames()) {
+            GameThreads.setMaxRunning(config.getMaxGameThreads());
+            return Executors.newCachedThreadPool();
+        }
+        return Executors.newFixedThreadPool(config.getMaxGameThreads());
+    }
+
     private static final ThreadExecutor INSTANCE = new ThreadExecutor();
 
     public static ThreadExecutor getInstance() {
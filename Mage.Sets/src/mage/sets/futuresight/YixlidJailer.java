@@ -29,7 +29,6 @@ package mage.sets.futuresight;
 
 import java.util.UUID;
 import mage.MageInt;
-import mage.abilities.Abilities;
 import mage.abilities.Ability;
 import mage.abilities.common.SimpleStaticAbility;
 import mage.abilities.effects.ContinuousEffectImpl;
@@ -105,9 +104,8 @@ class YixlidJailerEffect extends ContinuousEffectImpl {
                                 // TODO: Fix that (LevelX2)
                                 // game.getContinuousEffects().removeGainedEffectsForSource(card.getId());
                                 // game.getState().resetTriggersForSourceId(card.getId());
-                                Abilities abilities = game.getState().getAllOtherAbilities(card.getId());
-                                if (abilities != null) {
-                                    abilities.clear();
+                                if (game.getState().getAllOtherAbilities(card.getId()) != null) {
+                                    game.getState().getCardState(card.getId()).getAbilities().clear();
                                 }
                             }
                         }
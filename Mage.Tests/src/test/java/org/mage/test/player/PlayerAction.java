@@ -28,13 +28,14 @@
 
 package org.mage.test.player;
 
+import java.io.Serializable;
 import mage.constants.PhaseStep;
 
 /**
  *
  * @author BetaSteward_at_googlemail.com
  */
-public class PlayerAction {
+public class PlayerAction implements Serializable {
 
     private final int turnNum;
     private final PhaseStep step;
@@ -0,0 +1,165 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package org.mage.test.serverside;
+
+import java.util.ArrayList;
+import java.util.List;
+import mage.abilities.Ability;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.counters.CounterType;
+import mage.filter.Filter;
+import mage.game.permanent.Permanent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Checks that applying the continuous effects to the kept values of the
+ * permanents gives the same result as restoring all values from the cards.
+ *
+ * @author magefree
+ */
+public class ApplyEffectsTest extends CardTestPlayerBase {
+
+    @Test
+    public void testIncrementalEqualsFullRecompute() {
+        addCard(Zone.BATTLEFIELD, playerA, "Island", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Glorious Anthem", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Levitation", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Elvish Archdruid", 1);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 2);
+        addCard(Zone.BATTLEFIELD, playerB, "Archetype of Courage", 1);
+        addCard(Zone.HAND, playerA, "Turn to Frog", 1);
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Turn to Frog", "Archetype of Courage");
+
+        setStopAt(1, PhaseStep.END_TURN);
+        execute();
+
+        assertPowerToughness(playerB, "Archetype of Courage", 1, 1);
+
+        List<String> values = getValues();
+        // apply twice so that kept abilities are restored once more
+        currentGame.getState().applyEffects(currentGame);
+        currentGame.getState().applyEffects(currentGame);
+        Assert.assertEquals(values, getValues());
+
+        currentGame.getOptions().fullEffectsRecompute = true;
+        currentGame.getState().applyEffects(currentGame);
+        Assert.assertEquals(values, getValues());
+    }
+
+    // The kept abilities of the permanents are the same objects in all applications of
+    // the effects, the triggered abilities have to work like with new copies each time.
+
+    @Test
+    public void testGainedTriggeredAbilityKept() {
+        checkGainedTriggeredAbility(false);
+    }
+
+    @Test
+    public void testGainedTriggeredAbilityFullRecompute() {
+        checkGainedTriggeredAbility(true);
+    }
+
+    @Test
+    public void testCopiedTriggeredAbilityKept() {
+        checkCopiedTriggeredAbility(false);
+    }
+
+    @Test
+    public void testCopiedTriggeredAbilityFullRecompute() {
+        checkCopiedTriggeredAbility(true);
+    }
+
+    /**
+     * Eternal Thirst - Enchanted creature has lifelink and "Whenever a creature
+     * an opponent controls dies, put a +1/+1 counter on this creature."
+     */
+    private void checkGainedTriggeredAbility(boolean fullRecompute) {
+        addCard(Zone.BATTLEFIELD, playerA, "Swamp", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Glorious Anthem", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 1);
+        addCard(Zone.HAND, playerA, "Eternal Thirst", 1);
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 2);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 2);
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Eternal Thirst", "Silvercoat Lion");
+        castSpell(1, PhaseStep.POSTCOMBAT_MAIN, playerA, "Lightning Bolt", "Llanowar Elves");
+        castSpell(3, PhaseStep.PRECOMBAT_MAIN, playerA, "Lightning Bolt", "Llanowar Elves");
+
+        gameOptions.fullEffectsRecompute = fullRecompute;
+        setStopAt(3, PhaseStep.END_TURN);
+        execute();
+
+        assertPermanentCount(playerB, "Llanowar Elves", 0);
+        assertCounterCount("Silvercoat Lion", CounterType.P1P1, 2);
+        assertPowerToughness(playerA, "Silvercoat Lion", 5, 5);
+    }
+
+    /**
+     * Clone copies Ajani's Pridemate - Whenever you gain life, you may put a
+     * +1/+1 counter on Ajani's Pridemate.
+     * Angel's Mercy - You gain 7 life.
+     */
+    private void checkCopiedTriggeredAbility(boolean fullRecompute) {
+        addCard(Zone.BATTLEFIELD, playerA, "Island", 4);
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 4);
+        addCard(Zone.BATTLEFIELD, playerA, "Glorious Anthem", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Ajani's Pridemate", 1);
+        addCard(Zone.HAND, playerA, "Clone", 1);
+        addCard(Zone.HAND, playerA, "Angel's Mercy", 1);
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Clone");
+        setChoice(playerA, "Ajani's Pridemate");
+        castSpell(3, PhaseStep.PRECOMBAT_MAIN, playerA, "Angel's Mercy");
+
+        gameOptions.fullEffectsRecompute = fullRecompute;
+        setStopAt(3, PhaseStep.END_TURN);
+        execute();
+
+        assertLife(playerA, 27);
+        assertPermanentCount(playerA, "Ajani's Pridemate", 2);
+        assertPowerToughness(playerA, "Ajani's Pridemate", 4, 4, Filter.ComparisonScope.All);
+    }
+
+    private List<String> getValues() {
+        List<String> values = new ArrayList<>();
+        for (Permanent permanent : currentGame.getBattlefield().getAllPermanents()) {
+            StringBuilder sb = new StringBuilder(permanent.getValue());
+            for (Ability ability : permanent.getAbilities()) {
+                sb.append(ability.getClass().getSimpleName());
+            }
+            values.add(sb.toString());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package org.mage.test.serverside;
+
+import mage.cards.Card;
+import mage.constants.CardType;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.filter.common.FilterCreaturePermanent;
+import mage.filter.predicate.mageobject.SubtypePredicate;
+import mage.game.permanent.Battlefield;
+import mage.game.permanent.Permanent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Checks that the battlefield queries find the permanents after their
+ * controller or types changed.
+ *
+ * @author magefree
+ */
+public class BattlefieldIndexesTest extends CardTestPlayerBase {
+
+    @Test
+    public void testControlChange() {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 3);
+        // Gain control of target creature until end of turn. Untap that creature. It gains haste until end of turn.
+        addCard(Zone.HAND, playerA, "Act of Treason");
+        addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion");
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Act of Treason", "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        Battlefield battlefield = currentGame.getBattlefield();
+        Permanent lion = getPermanent("Silvercoat Lion", playerA.getId());
+        Assert.assertTrue(battlefield.getAllActivePermanents(playerA.getId()).contains(lion));
+        Assert.assertFalse(battlefield.getAllActivePermanents(playerB.getId()).contains(lion));
+        Assert.assertEquals(1, battlefield.countAll(new FilterCreaturePermanent(), playerA.getId(), currentGame));
+        Assert.assertEquals(0, battlefield.countAll(new FilterCreaturePermanent(), playerB.getId(), currentGame));
+    }
+
+    @Test
+    public void testLandBecomesCreature() {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 1);
+        // {2}{R}{G}: Until end of turn, Raging Ravine becomes a 3/3 red and green Elemental creature with "Whenever this creature attacks, put a +1/+1 counter on it." It's still a land.
+        addCard(Zone.BATTLEFIELD, playerA, "Raging Ravine");
+
+        activateAbility(1, PhaseStep.PRECOMBAT_MAIN, playerA, "{2}{R}{G}: Until end of turn, {this} becomes a 3/3 red and green Elemental creature with \"Whenever this creature attacks, put a +1/+1 counter on it.\" It's still a land.");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        Battlefield battlefield = currentGame.getBattlefield();
+        Permanent ravine = getPermanent("Raging Ravine", playerA.getId());
+        Assert.assertTrue(battlefield.getAllActivePermanents(CardType.CREATURE).contains(ravine));
+        Assert.assertTrue(battlefield.getAllActivePermanents(CardType.LAND).contains(ravine));
+        FilterCreaturePermanent filter = new FilterCreaturePermanent();
+        filter.add(new SubtypePredicate("Elemental"));
+        Assert.assertEquals(1, battlefield.getAllActivePermanents(filter, playerA.getId(), currentGame).size());
+    }
+
+    @Test
+    public void testPermanentEntersBattlefield() {
+        addCard(Zone.BATTLEFIELD, playerA, "Llanowar Elves");
+        addCard(Zone.HAND, playerA, "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        Battlefield battlefield = currentGame.getBattlefield();
+        Assert.assertEquals(1, battlefield.getAllActivePermanents(CardType.CREATURE).size());
+
+        Card lion = playerA.getHand().getCards(currentGame).iterator().next();
+        lion.putOntoBattlefield(currentGame, Zone.HAND, null, playerA.getId());
+
+        Assert.assertEquals(2, battlefield.getAllActivePermanents(CardType.CREATURE).size());
+        Assert.assertEquals(2, battlefield.getAllActivePermanents(playerA.getId()).size());
+    }
+
+    @Test
+    public void testTransform() {
+        // At the beginning of each upkeep, if no spells were cast last turn, transform Gatstaf Shepherd.
+        addCard(Zone.BATTLEFIELD, playerA, "Gatstaf Shepherd");
+
+        setStopAt(2, PhaseStep.DRAW);
+        execute();
+
+        assertPermanentCount(playerA, "Gatstaf Howler", 1);
+        FilterCreaturePermanent filter = new FilterCreaturePermanent();
+        filter.add(new SubtypePredicate("Human"));
+        Assert.assertEquals(0, currentGame.getBattlefield().countAll(filter, playerA.getId(), currentGame));
+    }
+
+    @Test
+    public void testChangeling() {
+        addCard(Zone.BATTLEFIELD, playerA, "Llanowar Elves");
+        // Changeling (This card is every creature type at all times.)
+        addCard(Zone.BATTLEFIELD, playerA, "Chameleon Colossus");
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        FilterCreaturePermanent filter = new FilterCreaturePermanent();
+        filter.add(new SubtypePredicate("Elf"));
+        Assert.assertEquals(2, currentGame.getBattlefield().countAll(filter, playerA.getId(), currentGame));
+    }
+}
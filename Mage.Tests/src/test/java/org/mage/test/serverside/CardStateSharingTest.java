@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.serverside;
+
+import java.util.UUID;
+import mage.counters.CounterType;
+import mage.game.GameState;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that copies of a {@link GameState} share the card states until one
+ * of them changes the state of a card, and then only copy that card state.
+ *
+ * @author magefree
+ */
+public class CardStateSharingTest {
+
+    @Test
+    public void testChangedCardStateIsCopied() {
+        UUID changed = UUID.randomUUID();
+        UUID unchanged = UUID.randomUUID();
+        GameState state = new GameState();
+        state.getCardState(changed).getCounters().addCounter(CounterType.TIME.createInstance(3));
+        state.getCardState(unchanged).getCounters().addCounter(CounterType.TIME.createInstance(1));
+
+        GameState copy = state.copy();
+        copy.getCardState(changed).getCounters().addCounter(CounterType.TIME.createInstance(1));
+        state.getCardState(changed).getCounters().removeCounter(CounterType.TIME, 1);
+
+        Assert.assertEquals(2, state.getCardState(changed).getCounters().getCount(CounterType.TIME));
+        Assert.assertEquals(4, copy.getCardState(changed).getCounters().getCount(CounterType.TIME));
+        // the state of the other card is still shared
+        Assert.assertSame(state.getReadOnlyCardState(unchanged), copy.getReadOnlyCardState(unchanged));
+    }
+
+    @Test
+    public void testCopyOfCopyDoesNotChangeOwnState() {
+        UUID cardId = UUID.randomUUID();
+        GameState state = new GameState();
+        state.getCardState(cardId).setFaceDown(true);
+
+        GameState copy = state.copy();
+        GameState copyOfCopy = copy.copy();
+        copy.getCardState(cardId).setFaceDown(false);
+        // the state of the copy was copied before, but is now shared again
+        copyOfCopy.getCardState(cardId).getCounters().addCounter(CounterType.TIME.createInstance(1));
+
+        Assert.assertTrue(state.getReadOnlyCardState(cardId).isFaceDown());
+        Assert.assertFalse(copy.getReadOnlyCardState(cardId).isFaceDown());
+        Assert.assertTrue(copyOfCopy.getReadOnlyCardState(cardId).isFaceDown());
+        Assert.assertEquals(0, copy.getReadOnlyCardState(cardId).getCounters().getCount(CounterType.TIME));
+        Assert.assertEquals(0, state.getReadOnlyCardState(cardId).getCounters().getCount(CounterType.TIME));
+    }
+
+    @Test
+    public void testZoneChangeClearsOnlyTheCopy() {
+        UUID cardId = UUID.randomUUID();
+        GameState state = new GameState();
+        state.getCardState(cardId).getCounters().addCounter(CounterType.TIME.createInstance(2));
+
+        GameState copy = state.copy();
+        copy.updateZoneChangeCounter(cardId);
+
+        Assert.assertEquals(2, state.getReadOnlyCardState(cardId).getCounters().getCount(CounterType.TIME));
+        Assert.assertEquals(0, copy.getReadOnlyCardState(cardId).getCounters().getCount(CounterType.TIME));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.serverside;
+
+import mage.Mana;
+import mage.abilities.mana.ManaAbility;
+import mage.cards.Card;
+import mage.cards.CardsImpl;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.counters.CounterType;
+import mage.game.GameState;
+import mage.game.GameStates;
+import mage.game.permanent.Permanent;
+import mage.players.Player;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Checks that the hash of the game state follows the changes of the state.
+ *
+ * @author magefree
+ */
+public class GameStateHashTest extends CardTestPlayerBase {
+
+    @Test
+    public void testHashFollowsChanges() {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion");
+        addCard(Zone.HAND, playerA, "Silvercoat Lion", 2);
+
+        setStopAt(2, PhaseStep.UPKEEP);
+        execute();
+
+        GameState state = currentGame.getState();
+        long hash = state.getHash();
+        Assert.assertEquals("Copies must have the same hash", hash, state.copy().getHash());
+
+        Permanent lion = getPermanent("Silvercoat Lion", playerA.getId());
+        lion.tap(currentGame);
+        long tapped = state.getHash();
+        Assert.assertNotEquals(hash, tapped);
+        lion.untap(currentGame);
+        Assert.assertEquals(hash, state.getHash());
+
+        lion.damage(1, lion.getId(), currentGame, false, true);
+        Assert.assertNotEquals(hash, state.getHash());
+        lion.removeAllDamage(currentGame);
+        Assert.assertEquals(hash, state.getHash());
+
+        lion.addCounters(CounterType.P1P1.createInstance(), currentGame);
+        Assert.assertNotEquals(hash, state.getHash());
+        lion.getCounters().removeCounter(CounterType.P1P1, 1);
+        Assert.assertEquals(hash, state.getHash());
+
+        Player player = currentGame.getPlayer(playerA.getId());
+        player.loseLife(2, currentGame);
+        Assert.assertNotEquals(hash, state.getHash());
+        player.gainLife(2, currentGame);
+        Assert.assertEquals(hash, state.getHash());
+
+        // the hidden hash only knows the number of cards in the hand
+        long hidden = state.getHash(false);
+        Card card = player.getHand().getCards(currentGame).iterator().next();
+        player.getHand().remove(card);
+        player.getLibrary().putOnTop(card, currentGame);
+        Assert.assertNotEquals(hash, state.getHash());
+        Assert.assertNotEquals(hidden, state.getHash(false));
+
+        // the incrementally updated hashes have to match the hashes of fresh copies
+        Assert.assertEquals(new CardsImpl(Zone.HAND, player.getHand().getCards(currentGame)).getHash(), player.getHand().getHash());
+        Assert.assertEquals(player.getLibrary().copy().getHash(), player.getLibrary().getHash());
+
+        player.getLibrary().remove(card.getId(), currentGame);
+        player.getHand().add(card);
+        Assert.assertEquals(hash, state.getHash());
+        Assert.assertEquals(hidden, state.getHash(false));
+    }
+
+    @Test
+    public void testHashFollowsManaAndLayeredValues() {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        GameState state = currentGame.getState();
+        long hash = state.getHash();
+
+        Player player = currentGame.getPlayer(playerA.getId());
+        Permanent forest = getPermanent("Forest", playerA.getId());
+        ManaAbility manaAbility = forest.getAbilities().getManaAbilities(Zone.BATTLEFIELD).get(0);
+        player.getManaPool().addMana(Mana.GreenMana(1), currentGame, manaAbility);
+        Assert.assertNotEquals("Mana in the pool must change the hash", hash, state.getHash());
+        player.getManaPool().emptyPool(currentGame);
+        Assert.assertEquals(hash, state.getHash());
+
+        // power and toughness are only changed by the layer effects
+        Permanent lion = getPermanent("Silvercoat Lion", playerA.getId());
+        lion.getPower().boostValue(2);
+        Assert.assertNotEquals("The power of a permanent must change the hash", hash, state.getHash());
+        lion.getPower().boostValue(-2);
+        Assert.assertEquals(hash, state.getHash());
+    }
+
+    @Test
+    public void testRestoredStateHasSameHash() {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.GRAVEYARD, playerB, "Silvercoat Lion", 2);
+
+        setStopAt(2, PhaseStep.UPKEEP);
+        execute();
+
+        GameState state = currentGame.getState();
+        GameStates states = new GameStates();
+        states.save(state);
+        long hash = state.getHash();
+        for (Permanent permanent : currentGame.getBattlefield().getAllActivePermanents()) {
+            permanent.tap(currentGame);
+        }
+        Assert.assertNotEquals(hash, state.getHash());
+        Assert.assertEquals(hash, states.get(0).getHash());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.serverside;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.GameRecorder;
+import mage.game.GameRecording;
+import mage.game.GameState;
+import mage.game.GameStates;
+import mage.game.permanent.Permanent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Checks that the saved game states restore the state they were saved from.
+ *
+ * @author magefree
+ */
+public class GameStatesTest extends CardTestPlayerBase {
+
+    @Test
+    public void testSaveAndRollback() {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.BATTLEFIELD, playerB, "Mountain", 5);
+
+        setStopAt(2, PhaseStep.UPKEEP);
+        execute();
+
+        GameStates states = new GameStates();
+        GameState state = currentGame.getState();
+        List<String> values = new ArrayList<>();
+        for (Permanent permanent : currentGame.getBattlefield().getAllActivePermanents()) {
+            values.add(state.getValue(true));
+            states.save(state);
+            permanent.tap(currentGame);
+        }
+
+        Assert.assertEquals(13, states.getSize());
+        for (int i = 0; i < values.size(); i++) {
+            Assert.assertEquals("State " + i + " was not restored", values.get(i), states.get(i).getValue(true));
+        }
+
+        GameState restored = states.rollback(4);
+        Assert.assertEquals(5, states.getSize());
+        Assert.assertEquals(values.get(4), restored.getValue(true));
+
+        // states saved after a rollback have to be encoded against the remaining states
+        states.save(state);
+        Assert.assertEquals(6, states.getSize());
+        Assert.assertEquals(state.getValue(true), states.get(5).getValue(true));
+        Assert.assertEquals(values.get(3), states.get(3).getValue(true));
+    }
+
+    @Test
+    public void testRecentStatesAreNotShared() {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 2);
+
+        setStopAt(2, PhaseStep.UPKEEP);
+        execute();
+
+        // the last saved states are kept as copies, changing a returned state must not change them
+        GameStates states = new GameStates();
+        GameState state = currentGame.getState();
+        String value = state.getValue(true);
+        states.save(state);
+        GameState restored = states.rollback(0);
+        for (Permanent permanent : restored.getBattlefield().getAllActivePermanents()) {
+            permanent.setTapped(true);
+        }
+        Assert.assertNotEquals(value, restored.getValue(true));
+        Assert.assertEquals(value, states.get(0).getValue(true));
+
+        // encoding the copies keeps them
+        states.flush();
+        Assert.assertEquals(value, states.get(0).getValue(true));
+    }
+
+    @Test
+    public void testRecording() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.BATTLEFIELD, playerB, "Mountain", 5);
+
+        setStopAt(2, PhaseStep.UPKEEP);
+        execute();
+
+        File file = File.createTempFile("game", ".game");
+        file.deleteOnExit();
+        GameRecorder recorder = new GameRecorder(file, currentGame);
+        GameStates states = new GameStates();
+        states.setRecorder(recorder);
+        GameState state = currentGame.getState();
+        List<String> values = new ArrayList<>();
+        for (Permanent permanent : currentGame.getBattlefield().getAllActivePermanents()) {
+            values.add(state.getValue(true));
+            states.save(state);
+            permanent.tap(currentGame);
+        }
+        // the rolled back states are dropped from the recording
+        states.rollback(9);
+        values = values.subList(0, 10);
+        values.add(state.getValue(true));
+        states.save(state);
+        states.flush();
+        recorder.close();
+        Assert.assertTrue(recorder.isRecorded());
+
+        GameRecording recording = new GameRecording(file, getClass().getClassLoader());
+        try {
+            Assert.assertEquals(currentGame.getId(), recording.getGame().getId());
+            Assert.assertEquals(11, recording.getSize());
+            for (int i = values.size() - 1; i >= 0; i--) {
+                Assert.assertEquals("State " + i + " was not recorded", values.get(i), recording.getState(i).getValue(true));
+            }
+            Assert.assertEquals(0, recording.getFirstStateOfTurn(2));
+            Assert.assertEquals(10, recording.getFirstStateOfTurn(3));
+        } finally {
+            recording.close();
+        }
+    }
+}
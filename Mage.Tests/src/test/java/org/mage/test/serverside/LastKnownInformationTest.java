@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.serverside;
+
+import java.util.UUID;
+import mage.MageObject;
+import mage.constants.Zone;
+import mage.game.LastKnownInformation;
+import mage.game.permanent.token.SoldierToken;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that copies of a {@link LastKnownInformation} share the snapshots,
+ * but that remembering or resetting the last known information in one of
+ * them never changes the other.
+ *
+ * @author magefree
+ */
+public class LastKnownInformationTest {
+
+    private final UUID objectId = UUID.randomUUID();
+    private final MageObject snapshot = new SoldierToken();
+
+    @Test
+    public void testPutInCopy() {
+        LastKnownInformation lki = new LastKnownInformation();
+        lki.put(objectId, Zone.BATTLEFIELD, snapshot, 1);
+
+        LastKnownInformation copy = lki.copy();
+        UUID otherId = UUID.randomUUID();
+        copy.put(otherId, Zone.BATTLEFIELD, new SoldierToken(), 1);
+        copy.put(objectId, Zone.BATTLEFIELD, new SoldierToken(), 2);
+        copy.put(objectId, Zone.GRAVEYARD, new SoldierToken(), null);
+
+        Assert.assertFalse(lki.getObjects(Zone.BATTLEFIELD).containsKey(otherId));
+        Assert.assertNull(lki.get(objectId, 2));
+        Assert.assertNull(lki.getObjects(Zone.GRAVEYARD));
+        Assert.assertFalse(lki.isShortLiving(otherId, Zone.BATTLEFIELD));
+        Assert.assertSame(snapshot, lki.get(objectId, 1));
+        Assert.assertTrue(copy.getObjects(Zone.BATTLEFIELD).containsKey(otherId));
+        Assert.assertNotNull(copy.get(objectId, 2));
+    }
+
+    @Test
+    public void testPutInOriginal() {
+        LastKnownInformation lki = new LastKnownInformation();
+        lki.put(objectId, Zone.BATTLEFIELD, snapshot, 1);
+
+        LastKnownInformation copy = lki.copy();
+        UUID otherId = UUID.randomUUID();
+        lki.put(otherId, Zone.BATTLEFIELD, new SoldierToken(), 1);
+
+        Assert.assertFalse(copy.getObjects(Zone.BATTLEFIELD).containsKey(otherId));
+        Assert.assertFalse(copy.isShortLiving(otherId, Zone.BATTLEFIELD));
+        Assert.assertNull(copy.get(otherId, 1));
+        Assert.assertSame(snapshot, copy.get(objectId, 1));
+    }
+
+    @Test
+    public void testResetInEitherCopy() {
+        LastKnownInformation lki = new LastKnownInformation();
+        lki.put(objectId, Zone.BATTLEFIELD, snapshot, 1);
+
+        LastKnownInformation copy = lki.copy();
+        copy.reset();
+        copy.resetShortLiving();
+        Assert.assertSame(snapshot, lki.getObjects(Zone.BATTLEFIELD).get(objectId));
+        Assert.assertSame(snapshot, lki.get(objectId, 1));
+        Assert.assertTrue(lki.isShortLiving(objectId, Zone.BATTLEFIELD));
+
+        LastKnownInformation otherCopy = lki.copy();
+        lki.reset();
+        lki.resetShortLiving();
+        Assert.assertSame(snapshot, otherCopy.getObjects(Zone.BATTLEFIELD).get(objectId));
+        Assert.assertSame(snapshot, otherCopy.get(objectId, 1));
+        Assert.assertTrue(otherCopy.isShortLiving(objectId, Zone.BATTLEFIELD));
+    }
+
+    @Test
+    public void testPutAfterCopyOfCopy() {
+        LastKnownInformation lki = new LastKnownInformation();
+        lki.put(objectId, Zone.BATTLEFIELD, snapshot, 1);
+
+        LastKnownInformation copy = lki.copy();
+        UUID copyId = UUID.randomUUID();
+        // the copy owns its maps after this, until it's copied again
+        copy.put(copyId, Zone.BATTLEFIELD, new SoldierToken(), 1);
+        LastKnownInformation copyOfCopy = copy.copy();
+        UUID otherId = UUID.randomUUID();
+        copy.put(otherId, Zone.BATTLEFIELD, new SoldierToken(), 1);
+
+        Assert.assertFalse(copyOfCopy.getObjects(Zone.BATTLEFIELD).containsKey(otherId));
+        Assert.assertFalse(copyOfCopy.isShortLiving(otherId, Zone.BATTLEFIELD));
+        Assert.assertTrue(copyOfCopy.getObjects(Zone.BATTLEFIELD).containsKey(copyId));
+        Assert.assertFalse(lki.getObjects(Zone.BATTLEFIELD).containsKey(copyId));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package org.mage.test.serverside;
+
+import java.util.Set;
+import java.util.UUID;
+import mage.cards.Card;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.permanent.Permanent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Checks that the cached playable cards of a player are found again after
+ * the game changed.
+ *
+ * @author magefree
+ */
+public class PlayableCacheTest extends CardTestPlayerBase {
+
+    @Test
+    public void testPlayableInHandAfterLandEntersBattlefield() {
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 1);
+        addCard(Zone.HAND, playerA, "Silvercoat Lion", 1);
+        addCard(Zone.HAND, playerA, "Plains", 1);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        Card lion = null;
+        Card plains = null;
+        for (Card card : playerA.getHand().getCards(currentGame)) {
+            if (card.getName().equals("Silvercoat Lion")) {
+                lion = card;
+            } else {
+                plains = card;
+            }
+        }
+        Assert.assertNotNull(lion);
+        Assert.assertNotNull(plains);
+
+        Set<UUID> playable = playerA.getPlayableInHand(currentGame);
+        Assert.assertTrue(playable.contains(plains.getId()));
+        Assert.assertFalse(playable.contains(lion.getId()));
+        // the cached set can't be changed by the caller
+        playable.add(lion.getId());
+        Assert.assertEquals(1, playerA.getPlayableInHand(currentGame).size());
+
+        plains.putOntoBattlefield(currentGame, Zone.HAND, null, playerA.getId());
+
+        playable = playerA.getPlayableInHand(currentGame);
+        Assert.assertTrue(playable.contains(lion.getId()));
+        Assert.assertFalse(playable.contains(plains.getId()));
+    }
+
+    /**
+     * The playable cards found while a spell is cast must not be used again
+     * after the cast was cancelled and the game state rolled back.
+     */
+    @Test
+    public void testPlayableInHandAfterCancelledCast() {
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 2);
+        addCard(Zone.HAND, playerA, "Silvercoat Lion", 1);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        Card lion = playerA.getHand().getCards(currentGame).iterator().next();
+        Assert.assertTrue(playerA.getPlayableInHand(currentGame).contains(lion.getId()));
+
+        int bookmark = currentGame.bookmarkState();
+        // the lands are tapped to pay for the lion, then the cast is cancelled
+        for (Permanent permanent : currentGame.getBattlefield().getAllActivePermanents(playerA.getId())) {
+            permanent.tap(currentGame);
+        }
+        Assert.assertFalse(playerA.getPlayableInHand(currentGame).contains(lion.getId()));
+        currentGame.restoreState(bookmark, "cancel cast");
+
+        for (Permanent permanent : currentGame.getBattlefield().getAllActivePermanents(playerA.getId())) {
+            Assert.assertFalse(permanent.isTapped());
+        }
+        Assert.assertTrue(playerA.getPlayableInHand(currentGame).contains(lion.getId()));
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package org.mage.test.serverside;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import mage.cards.Card;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.counters.CounterType;
+import mage.filter.Filter;
+import mage.game.permanent.Permanent;
+import mage.remote.traffic.ZippedViewImpl;
+import mage.view.CardsView;
+import mage.view.GameClientMessage;
+import mage.view.GameView;
+import mage.view.ViewDeltaDecoder;
+import mage.view.ViewDeltaEncoder;
+import mage.view.ViewProtocol;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Checks that the game views are the same after they were written and read
+ * with the binary view protocol.
+ *
+ * @author magefree
+ */
+public class ViewProtocolTest extends CardTestPlayerBase {
+
+    @Test
+    public void testGameViewRoundTrip() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 2);
+        addCard(Zone.HAND, playerA, "Rancor", 1);
+        addCard(Zone.HAND, playerA, "Giant Growth", 1);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 1);
+        addCard(Zone.GRAVEYARD, playerB, "Lightning Bolt", 1);
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Rancor", "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.POSTCOMBAT_MAIN);
+        execute();
+
+        assertPowerToughness(playerA, "Silvercoat Lion", 4, 2, Filter.ComparisonScope.Any);
+
+        for (Permanent permanent : currentGame.getBattlefield().getAllActivePermanents(playerB.getId())) {
+            permanent.addCounters(CounterType.M1M1.createInstance(1), currentGame);
+            permanent.setTapped(true);
+        }
+
+        GameView gameView = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+        gameView.setHand(new CardsView(playerA.getHand().getCards(currentGame)));
+        Set<UUID> canPlayInHand = new HashSet<>();
+        for (Card card : playerA.getHand().getCards(currentGame)) {
+            canPlayInHand.add(card.getId());
+        }
+        gameView.setCanPlayInHand(canPlayInHand);
+
+        byte[] data = ViewProtocol.encode(gameView);
+        assertSameView("gameView", gameView, ViewProtocol.decode(data));
+
+        GameClientMessage message = new GameClientMessage(gameView, "Select a target", gameView.getHand(), gameView.getCanPlayInHand(), true, null);
+        assertSameView("message", message, ViewProtocol.decode(ViewProtocol.encode(message)));
+
+        Assert.assertTrue("Binary view should be smaller than the zipped serialized view", data.length < zippedSize(gameView));
+    }
+
+    @Test
+    public void testViewCreatedFromWatcherView() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 1);
+        addCard(Zone.HAND, playerA, "Rancor", 1);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 1);
+
+        // playerA controls an aura on a creature of playerB
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Rancor", "Llanowar Elves");
+
+        setStopAt(1, PhaseStep.POSTCOMBAT_MAIN);
+        execute();
+
+        assertPowerToughness(playerB, "Llanowar Elves", 3, 1);
+
+        GameView watcherView = new GameView(currentGame.getState(), currentGame, null, null);
+        assertSameView("watcher", watcherView, new GameView(watcherView, currentGame.getState(), currentGame, null));
+        for (UUID playerId : currentGame.getState().getPlayerList()) {
+            GameView playerView = new GameView(currentGame.getState(), currentGame, playerId, null);
+            assertSameView("player", playerView, new GameView(watcherView, currentGame.getState(), currentGame, playerId));
+        }
+    }
+
+    @Test
+    public void testViewDelta() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 1);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 2);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        ViewDeltaEncoder encoder = new ViewDeltaEncoder();
+        ViewDeltaDecoder decoder = new ViewDeltaDecoder();
+
+        GameView first = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+        ZippedViewImpl<Object> full = encoder.encode(first);
+        Assert.assertEquals(0, full.getBaseVersion());
+        assertSameView("first", first, decoder.decode(full));
+
+        // not acknowledged yet, so the next view is sent whole again
+        Permanent lion = getPermanent("Silvercoat Lion", playerA.getId());
+        lion.setTapped(true);
+        GameView second = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+        ZippedViewImpl<Object> secondZipped = encoder.encode(second);
+        Assert.assertEquals(0, secondZipped.getBaseVersion());
+
+        encoder.acknowledge(full.getVersion());
+        lion.setTapped(false);
+        GameView third = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+        ZippedViewImpl<Object> delta = encoder.encode(third);
+        Assert.assertEquals(full.getVersion(), delta.getBaseVersion());
+        Assert.assertTrue("Delta should be smaller than the whole view", delta.getData().length < full.getData().length / 2);
+
+        // the second view arrives after the third
+        assertSameView("third", third, decoder.decode(delta));
+        assertSameView("second", second, decoder.decode(secondZipped));
+
+        encoder.acknowledge(delta.getVersion());
+        encoder.acknowledge(secondZipped.getVersion());
+        GameView fourth = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+        ZippedViewImpl<Object> nextDelta = encoder.encode(fourth);
+        Assert.assertEquals(delta.getVersion(), nextDelta.getBaseVersion());
+        assertSameView("fourth", fourth, decoder.decode(nextDelta));
+    }
+
+    private static int zippedSize(Object object) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(bos))) {
+            oos.writeObject(object);
+        }
+        return bos.size();
+    }
+
+    private static void assertSameView(String path, Object expected, Object actual) throws IllegalAccessException {
+        if (expected == null || actual == null) {
+            Assert.assertEquals(path, expected, actual);
+            return;
+        }
+        if (expected instanceof Map) {
+            Map<?, ?> expectedMap = (Map<?, ?>) expected;
+            Map<?, ?> actualMap = (Map<?, ?>) actual;
+            Assert.assertEquals(path + " keys", expectedMap.keySet(), actualMap.keySet());
+            for (Map.Entry<?, ?> entry : expectedMap.entrySet()) {
+                assertSameView(path + "[" + entry.getKey() + "]", entry.getValue(), actualMap.get(entry.getKey()));
+            }
+        } else if (expected instanceof Set) {
+            Assert.assertEquals(path, expected, actual);
+        } else if (expected instanceof Collection) {
+            Assert.assertEquals(path + " size", ((Collection<?>) expected).size(), ((Collection<?>) actual).size());
+            Iterator<?> it = ((Collection<?>) actual).iterator();
+            int i = 0;
+            for (Object element : (Collection<?>) expected) {
+                assertSameView(path + "[" + i++ + "]", element, it.next());
+            }
+        } else if (expected instanceof Object[]) {
+            Object[] expectedArray = (Object[]) expected;
+            Object[] actualArray = (Object[]) actual;
+            Assert.assertEquals(path + " length", expectedArray.length, actualArray.length);
+            for (int i = 0; i < expectedArray.length; i++) {
+                assertSameView(path + "[" + i + "]", expectedArray[i], actualArray[i]);
+            }
+        } else if (expected.getClass().getName().startsWith("mage.") && !(expected instanceof Enum)) {
+            Assert.assertEquals(path + " class", expected.getClass(), actual.getClass());
+            for (Class<?> type = expected.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    assertSameView(path + "." + field.getName(), field.get(expected), field.get(actual));
+                }
+            }
+        } else {
+            Assert.assertEquals(path, expected, actual);
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package org.mage.test.serverside.performance;
+
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import org.junit.Ignore;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Compares applying the continuous effects of an anthem heavy board
+ * incrementally with a full recompute.
+ *
+ * @author magefree
+ */
+@Ignore
+public class ApplyEffectsPerformanceTest extends CardTestPlayerBase {
+
+    public void run() throws Exception {
+        init();
+        reset();
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 10);
+        addCard(Zone.BATTLEFIELD, playerA, "Glorious Anthem", 3);
+        addCard(Zone.BATTLEFIELD, playerA, "Honor of the Pure", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Levitation", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 10);
+        addCard(Zone.BATTLEFIELD, playerA, "Elvish Archdruid", 3);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 10);
+        addCard(Zone.BATTLEFIELD, playerB, "Mountain", 10);
+        setStopAt(2, PhaseStep.END_TURN);
+        execute();
+
+        for (int i = 0; i < 4; i++) {
+            currentGame.getOptions().fullEffectsRecompute = i % 2 == 0;
+            long t1 = System.currentTimeMillis();
+            for (int j = 0; j < 5000; j++) {
+                currentGame.getState().applyEffects(currentGame);
+            }
+            long t2 = System.currentTimeMillis();
+            System.out.println((currentGame.getOptions().fullEffectsRecompute ? "Full recompute" : "Incremental") + " took: " + (t2 - t1) + " ms for 5000 applies");
+        }
+    }
+
+    public static void main(String[] args) {
+        ApplyEffectsPerformanceTest test = new ApplyEffectsPerformanceTest();
+        try {
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package org.mage.test.serverside.performance;
 
+import java.lang.management.ManagementFactory;
+import mage.constants.Zone;
 import mage.game.Game;
+import mage.game.GameState;
+import mage.util.Copier;
 import org.junit.Ignore;
 import org.mage.test.serverside.base.CardTestPlayerBase;
 
@@ -15,6 +19,13 @@ public class CopyGameStatePerformanceTest extends CardTestPlayerBase {
     public void run() throws Exception {
         init();
         reset();
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 8);
+        addCard(Zone.BATTLEFIELD, playerA, "Glorious Anthem", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 6);
+        addCard(Zone.BATTLEFIELD, playerB, "Mountain", 8);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 6);
+        addCard(Zone.BATTLEFIELD, playerB, "Elvish Archdruid", 4);
+        execute();
         System.out.println("Started copying...");
         long t1 = System.currentTimeMillis();
         for (int i = 0; i < 2000; i++) {
@@ -23,6 +34,30 @@ public class CopyGameStatePerformanceTest extends CardTestPlayerBase {
         }
         long t2 = System.currentTimeMillis();
         System.out.println("Test took: " + (t2-t1) + " ms");
+
+        GameState state = currentGame.getState();
+        long bytes = getAllocatedBytes();
+        for (int i = 0; i < 2000; i++) {
+            state.copy();
+        }
+        System.out.println("Bytes allocated per state copy: " + (getAllocatedBytes() - bytes) / 2000);
+
+        // the copies made by Copier for objects that implement Copyable vs the serialization round trip
+        Copier<Game> copier = new Copier<>();
+        t1 = System.currentTimeMillis();
+        for (int i = 0; i < 200; i++) {
+            copier.copy(currentGame);
+        }
+        t2 = System.currentTimeMillis();
+        for (int i = 0; i < 200; i++) {
+            copier.copySerialized(currentGame);
+        }
+        long t3 = System.currentTimeMillis();
+        System.out.println("Game copies: Copyable " + (t2 - t1) + " ms, serialized " + (t3 - t2) + " ms");
+    }
+
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
     }
 
     public static void main(String[] args) {
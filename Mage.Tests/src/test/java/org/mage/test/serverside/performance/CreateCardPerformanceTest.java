@@ -0,0 +1,61 @@
+package org.mage.test.serverside.performance;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.cards.Card;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Test for creating cards, like for the boosters of a 16 player draft.
+ *
+ * @author magefree
+ */
+@Ignore
+public class CreateCardPerformanceTest extends CardTestPlayerBase {
+
+    private static final int CARDS = 16 * 3 * 15;
+
+    @Test
+    public void run() throws Exception {
+        init();
+        List<CardInfo> cards = new ArrayList<>();
+        for (String name : new String[]{"Forest", "Silvercoat Lion", "Llanowar Elves", "Glorious Anthem", "Elvish Archdruid"}) {
+            cards.add(CardRepository.instance.findCards(name).get(0));
+        }
+        for (int round = 0; round < 5; round++) {
+            long t1 = System.nanoTime();
+            for (int i = 0; i < CARDS; i++) {
+                cards.get(i % cards.size()).getCard();
+            }
+            long t2 = System.nanoTime();
+            for (int i = 0; i < CARDS; i++) {
+                createUncached(cards.get(i % cards.size()).getClassName());
+            }
+            long t3 = System.nanoTime();
+            System.out.println(CARDS + " cards: cached constructors " + (t2 - t1) / 1000000 + " ms, lookup per card " + (t3 - t2) / 1000000 + " ms");
+        }
+    }
+
+    private static Card createUncached(String className) throws Exception {
+        Constructor<?> con = Class.forName(className).getConstructor(new Class[]{UUID.class});
+        Card card = (Card) con.newInstance(new Object[]{null});
+        card.build();
+        return card;
+    }
+
+    public static void main(String[] args) {
+        CreateCardPerformanceTest test = new CreateCardPerformanceTest();
+        try {
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
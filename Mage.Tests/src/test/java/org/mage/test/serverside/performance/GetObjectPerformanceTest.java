@@ -0,0 +1,68 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.cards.Card;
+import mage.constants.Zone;
+import mage.game.permanent.Permanent;
+import mage.game.stack.StackAbility;
+import org.junit.Ignore;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Test for looking up objects by id on a 40 permanent board with 5 objects on the stack.
+ *
+ * @author magefree
+ */
+@Ignore
+public class GetObjectPerformanceTest extends CardTestPlayerBase {
+
+    public void run() throws Exception {
+        init();
+        reset();
+        addCard(Zone.BATTLEFIELD, playerA, "Forest", 10);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 10);
+        addCard(Zone.BATTLEFIELD, playerB, "Mountain", 10);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 10);
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 5);
+        execute();
+
+        List<UUID> ids = new ArrayList<>();
+        for (Permanent permanent : currentGame.getBattlefield().getAllPermanents()) {
+            ids.add(permanent.getId());
+            if (currentGame.getStack().size() < 5) {
+                for (Ability ability : permanent.getAbilities()) {
+                    StackAbility stackAbility = new StackAbility(ability.copy(), permanent.getControllerId());
+                    currentGame.getStack().push(stackAbility);
+                    ids.add(stackAbility.getId());
+                    break;
+                }
+            }
+        }
+        for (Card card : playerA.getHand().getCards(currentGame)) {
+            ids.add(card.getId());
+        }
+
+        System.out.println("Started looking up objects...");
+        long t1 = System.currentTimeMillis();
+        for (int i = 0; i < 200000; i++) {
+            for (UUID id : ids) {
+                currentGame.getObject(id);
+            }
+        }
+        long t2 = System.currentTimeMillis();
+        System.out.println("Test took: " + (t2-t1) + " ms for " + 200000 * ids.size() + " lookups");
+    }
+
+    public static void main(String[] args) {
+        GetObjectPerformanceTest test = new GetObjectPerformanceTest();
+        try {
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.tournament;
+
+import java.util.Random;
+import mage.game.tournament.SwissPairing;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the pairings of swiss rounds.
+ *
+ * @author magefree
+ */
+public class SwissPairingTest {
+
+    @Test
+    public void testPairsEqualPoints() {
+        int[] opponents = SwissPairing.pair(new int[]{6, 3, 6, 0, 3, 0}, new boolean[6][6], new boolean[6]);
+        Assert.assertEquals(2, opponents[0]);
+        Assert.assertEquals(4, opponents[1]);
+        Assert.assertEquals(5, opponents[3]);
+    }
+
+    @Test
+    public void testAvoidsRematch() {
+        boolean[][] played = new boolean[4][4];
+        played[0][1] = played[1][0] = true;
+        int[] opponents = SwissPairing.pair(new int[]{3, 3, 0, 0}, played, new boolean[4]);
+        Assert.assertNotEquals(1, opponents[0]);
+        assertValid(opponents, played, new boolean[4]);
+    }
+
+    @Test
+    public void testBye() {
+        int[] opponents = SwissPairing.pair(new int[]{3, 3, 0}, new boolean[3][3], new boolean[3]);
+        Assert.assertEquals(-1, opponents[2]);
+
+        // the player with the lowest points already had a bye
+        opponents = SwissPairing.pair(new int[]{3, 3, 0}, new boolean[3][3], new boolean[]{false, false, true});
+        Assert.assertEquals(2, opponents[opponents[0] == -1 ? 1 : 0]);
+
+        Assert.assertArrayEquals(new int[]{-1}, SwissPairing.pair(new int[]{0}, new boolean[1][1], new boolean[1]));
+    }
+
+    /**
+     * Plays tournaments with random results. As long as each player has
+     * played less than half of the others, pairings without a rematch exist
+     * and have to be found.
+     */
+    @Test
+    public void testNoRematches() {
+        Random random = new Random(1);
+        for (int tournament = 0; tournament < 200; tournament++) {
+            int players = 4 + random.nextInt(60);
+            int rounds = Math.min(players / 2 - 1, 8);
+            int[] points = new int[players];
+            boolean[][] played = new boolean[players][players];
+            boolean[] hadBye = new boolean[players];
+            for (int round = 0; round < rounds; round++) {
+                int[] opponents = SwissPairing.pair(points, played, hadBye);
+                assertValid(opponents, played, hadBye);
+                playRound(opponents, points, played, hadBye, random);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeTournament() {
+        Random random = new Random(2);
+        int players = 257;
+        int[] points = new int[players];
+        boolean[][] played = new boolean[players][players];
+        boolean[] hadBye = new boolean[players];
+        long duration = 0;
+        for (int round = 0; round < 9; round++) {
+            long start = System.nanoTime();
+            int[] opponents = SwissPairing.pair(points, played, hadBye);
+            duration = Math.max(duration, System.nanoTime() - start);
+            assertValid(opponents, played, hadBye);
+            playRound(opponents, points, played, hadBye, random);
+        }
+        // far above the few milliseconds a round takes, only catches a pairing that runs away
+        Assert.assertTrue("slowest round took " + duration / 1000000 + " ms", duration < 10000000000L);
+    }
+
+    private static void assertValid(int[] opponents, boolean[][] played, boolean[] hadBye) {
+        int byes = 0;
+        for (int i = 0; i < opponents.length; i++) {
+            if (opponents[i] == -1) {
+                Assert.assertFalse("second bye", hadBye[i]);
+                byes++;
+            } else {
+                Assert.assertEquals(i, opponents[opponents[i]]);
+                Assert.assertFalse("rematch", played[i][opponents[i]]);
+            }
+        }
+        Assert.assertEquals(opponents.length % 2, byes);
+    }
+
+    private static void playRound(int[] opponents, int[] points, boolean[][] played, boolean[] hadBye, Random random) {
+        for (int i = 0; i < opponents.length; i++) {
+            int j = opponents[i];
+            if (j == -1) {
+                hadBye[i] = true;
+                points[i] += 3;
+            } else if (j > i) {
+                played[i][j] = played[j][i] = true;
+                int result = random.nextInt(5);
+                if (result == 0) {
+                    points[i]++;
+                    points[j]++;
+                } else if (result < 3) {
+                    points[i] += 3;
+                } else {
+                    points[j] += 3;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+import mage.cards.repository.CardScanner;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that the in-memory lookups of {@link CardRepository#findCards(CardCriteria)}
+ * find the same cards as the database query built by {@link CardCriteria#buildQuery}.
+ *
+ * @author magefree
+ */
+public class CardCriteriaTest {
+
+    @BeforeClass
+    public static void scanCards() {
+        CardScanner.scan();
+    }
+
+    @Test
+    public void testNoColorSelected() {
+        assertSameCards(new CardCriteria().setCodes("M10")
+                .black(false).blue(false).green(false).red(false).white(false).colorless(false));
+    }
+
+    @Test
+    public void testColors() {
+        assertSameCards(new CardCriteria().setCodes("M10").red(true).white(true)
+                .black(false).blue(false).green(false).colorless(false));
+        assertSameCards(new CardCriteria().setCodes("M10", "M11")
+                .black(false).blue(false).green(false).red(false).white(false).colorless(true));
+    }
+
+    @Test
+    public void testAllTypesSelected() {
+        CardCriteria criteria = new CardCriteria().setCodes("M10").types(CardType.ARTIFACT, CardType.CREATURE,
+                CardType.ENCHANTMENT, CardType.INSTANT, CardType.LAND, CardType.PLANESWALKER, CardType.SORCERY);
+        assertSameCards(criteria);
+        Assert.assertEquals(CardRepository.instance.findCards(new CardCriteria().setCodes("M10")).size(),
+                CardRepository.instance.findCards(criteria).size());
+    }
+
+    @Test
+    public void testTypes() {
+        assertSameCards(new CardCriteria().setCodes("M10").types(CardType.INSTANT, CardType.SORCERY));
+        assertSameCards(new CardCriteria().setCodes("ISD").notTypes(CardType.LAND).doubleFaced(true));
+        assertSameCards(new CardCriteria().supertypes("Basic").subtypes("Forest"));
+        assertSameCards(new CardCriteria().setCodes("M11").notTypes(CardType.CREATURE).subtypes("Aura"));
+        assertSameCards(new CardCriteria().setCodes("M10").notSupertypes("Basic").types(CardType.LAND));
+    }
+
+    @Test
+    public void testNameRulesAndRarity() {
+        assertSameCards(new CardCriteria().name("Angel").rarities(Rarity.RARE, Rarity.MYTHIC));
+        assertSameCards(new CardCriteria().rules("Flying").setCodes("M10", "M11", "M12").maxCardNumber(100));
+    }
+
+    @Test
+    public void testSortedPage() {
+        CardCriteria byName = new CardCriteria().setCodes("M10").types(CardType.CREATURE)
+                .setOrderBy("name").start(5L).count(10L);
+        Assert.assertEquals(10, CardRepository.instance.findCards(byName).size());
+        Assert.assertEquals(getNames(CardRepository.instance.queryCards(byName)), getNames(CardRepository.instance.findCards(byName)));
+
+        CardCriteria byNumber = new CardCriteria().setCodes("M10").green(true)
+                .black(false).blue(false).red(false).white(false).colorless(false)
+                .setOrderBy("cardNumber").start(3L).count(20L);
+        Assert.assertEquals(getNumbers(CardRepository.instance.queryCards(byNumber)), getNumbers(CardRepository.instance.findCards(byNumber)));
+
+        CardCriteria pastEnd = new CardCriteria().setCodes("M10").setOrderBy("name").start(10000L).count(10L);
+        Assert.assertEquals(0, CardRepository.instance.queryCards(pastEnd).size());
+        Assert.assertEquals(0, CardRepository.instance.findCards(pastEnd).size());
+    }
+
+    private static void assertSameCards(CardCriteria criteria) {
+        List<String> queried = getKeys(CardRepository.instance.queryCards(criteria));
+        Assert.assertFalse("The criteria must find cards", queried.isEmpty());
+        Assert.assertEquals(queried, getKeys(CardRepository.instance.findCards(criteria)));
+    }
+
+    private static List<String> getKeys(List<CardInfo> cards) {
+        List<String> keys = new ArrayList<>();
+        for (CardInfo card : cards) {
+            keys.add(card.getSetCode() + " " + card.getCardNumber() + " " + card.getName());
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    // cards with the same name can be in any order
+    private static List<String> getNames(List<CardInfo> cards) {
+        List<String> names = new ArrayList<>();
+        for (CardInfo card : cards) {
+            names.add(card.getName());
+        }
+        return names;
+    }
+
+    private static List<Integer> getNumbers(List<CardInfo> cards) {
+        List<Integer> numbers = new ArrayList<>();
+        for (CardInfo card : cards) {
+            numbers.add(card.getCardNumber());
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import mage.util.CopyOnWriteHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that changes to a copied {@link CopyOnWriteHashMap} don't reach the
+ * map it was copied from.
+ *
+ * @author magefree
+ */
+public class CopyOnWriteHashMapTest {
+
+    @Test
+    public void testCopiesAreIndependent() {
+        CopyOnWriteHashMap<String, Integer> map = new CopyOnWriteHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        CopyOnWriteHashMap<String, Integer> copy = map.copy();
+
+        copy.put("a", 3);
+        copy.remove("b");
+        Assert.assertEquals(Integer.valueOf(1), map.get("a"));
+        Assert.assertEquals(Integer.valueOf(2), map.get("b"));
+        Assert.assertEquals(Integer.valueOf(3), copy.get("a"));
+        Assert.assertFalse(copy.containsKey("b"));
+    }
+
+    @Test
+    public void testSetValueOfEntryCopiesFirst() {
+        CopyOnWriteHashMap<String, Integer> map = new CopyOnWriteHashMap<>();
+        map.put("a", 1);
+        CopyOnWriteHashMap<String, Integer> copy = map.copy();
+
+        for (Map.Entry<String, Integer> entry : copy.entrySet()) {
+            Assert.assertEquals(Integer.valueOf(1), entry.setValue(5));
+            Assert.assertEquals(Integer.valueOf(5), entry.getValue());
+        }
+        Assert.assertEquals(Integer.valueOf(5), copy.get("a"));
+        Assert.assertEquals("The map copied from must keep its value", Integer.valueOf(1), map.get("a"));
+
+        // the same through the map that was copied from
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(7);
+        }
+        Assert.assertEquals(Integer.valueOf(7), map.get("a"));
+        Assert.assertEquals(Integer.valueOf(5), copy.get("a"));
+    }
+
+    @Test
+    public void testIteratorRemoveCopiesFirst() {
+        CopyOnWriteHashMap<String, Integer> map = new CopyOnWriteHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        CopyOnWriteHashMap<String, Integer> copy = map.copy();
+
+        Iterator<String> it = copy.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().equals("a")) {
+                it.remove();
+            }
+        }
+        Assert.assertEquals(1, copy.size());
+        Assert.assertEquals(2, map.size());
+    }
+}
@@ -27,6 +27,7 @@
  */
 package org.mage.test.utils;
 
+import mage.Mana;
 import mage.abilities.mana.ManaOptions;
 import mage.constants.PhaseStep;
 import mage.constants.Zone;
@@ -231,6 +232,52 @@ public class ManaOptionsTest extends CardTestPlayerBase {
         Assert.assertEquals("{Any}{Any}", getManaOption(1, manaOptions));
     }
 
+    // 20 painlands of all five colors produce 3^20 combinations of single manas,
+    // most of them dominated by others
+    @Test
+    public void testFiveColorsManySources() {
+        String[] lands = {"Adarkar Wastes", "Sulfurous Springs", "Karplusan Forest", "Brushland", "Underground River",
+            "Llanowar Wastes", "Battlefield Forge", "Caves of Koilos", "Shivan Reef", "Yavimaya Coast"};
+        for (String land: lands) {
+            addCard(Zone.BATTLEFIELD, playerA, land, 2);
+        }
+
+        setStopAt(1, PhaseStep. UPKEEP);
+        execute();
+
+        ManaOptions manaOptions = playerA.getAvailableManaTest(currentGame);
+
+        Assert.assertTrue("no mana variations", manaOptions.size() > 0);
+        Mana fourOfEachColor = new Mana(4, 4, 4, 4, 4, 0, 0);
+        boolean found = false;
+        for (Mana mana: manaOptions) {
+            Assert.assertEquals("not all lands used", 20, mana.count());
+            if (mana.includesMana(fourOfEachColor)) {
+                found = true;
+            }
+        }
+        Assert.assertTrue("no mana variation for {W}{W}{W}{W}{U}{U}{U}{U}{B}{B}{B}{B}{R}{R}{R}{R}{G}{G}{G}{G}", found);
+    }
+
+    // Prismatic Omen: Lands you control are every basic land type in addition to their other types.
+    // The Plains can produce each color, its options are combined to {Any}.
+    // Grinning Ignus: {R}, Return Grinning Ignus to its owner's hand: Add {2}{R} to your mana pool.
+    @Test
+    public void testFilterAfterFiveColorSource() {
+        addCard(Zone.BATTLEFIELD, playerA, "Prismatic Omen", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Grinning Ignus", 1);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        ManaOptions manaOptions = playerA.getAvailableManaTest(currentGame);
+
+        Assert.assertEquals("mana variations don't fit",2, manaOptions.size());
+        Assert.assertEquals("{Any}", getManaOption(0, manaOptions));
+        Assert.assertEquals("{2}{R}", getManaOption(1, manaOptions));
+    }
+
     private     String getManaOption(int index, ManaOptions manaOptions) {
         if (manaOptions.size() < index + 1) {
             return "";
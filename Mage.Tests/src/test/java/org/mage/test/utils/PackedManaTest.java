@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package org.mage.test.utils;
+
+import java.util.Random;
+import mage.Mana;
+import mage.PackedMana;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the payment checks of {@link Mana} and {@link PackedMana}.
+ *
+ * @author magefree
+ */
+public class PackedManaTest {
+
+    private static final int MANAS = 2000;
+
+    @Test
+    public void testArithmetic() {
+        long packed = PackedMana.pack(new Mana(2, 1, 0, 0, 3, 4, 1));
+        long other = PackedMana.pack(new Mana(1, 2, 0, 1, 3, 0, 0));
+
+        Assert.assertEquals("{4}{R}{R}{R}{G}{G}{G}{W}{B}{B}{B}{B}{B}{B}{Any}", PackedMana.unpack(PackedMana.add(packed, other)).toString());
+        Assert.assertEquals("{4}{R}{Any}", PackedMana.unpack(PackedMana.subtract(packed, other)).toString());
+        Assert.assertEquals(PackedMana.MAX_AMOUNT, PackedMana.get(PackedMana.add(PackedMana.pack(Mana.RedMana(200)), PackedMana.pack(Mana.RedMana(100))), PackedMana.RED));
+        Assert.assertEquals(0, PackedMana.subtract(other, PackedMana.pack(new Mana(5, 5, 5, 5, 5, 5, 5))));
+    }
+
+    @Test
+    public void testEnoughWithAnyInCost() {
+        long anyCost = PackedMana.pack(new Mana(0, 0, 0, 0, 0, 0, 1));
+        long redCost = PackedMana.pack(new Mana(1, 0, 0, 0, 0, 0, 1));
+        long red = PackedMana.pack(Mana.RedMana(1));
+
+        // mana of any color in the cost is not checked if no colored mana is missing, like in Mana.enough
+        Assert.assertTrue(new Mana(0, 0, 0, 0, 0, 0, 1).enough(Mana.RedMana(1)));
+        Assert.assertTrue(PackedMana.enough(anyCost, red));
+        Assert.assertFalse(PackedMana.dominates(red, anyCost));
+        // the red mana of the cost is missing, so the mana of any color has to pay for it
+        Assert.assertFalse(PackedMana.enough(redCost, PackedMana.pack(new Mana(0, 0, 0, 0, 0, 0, 1))));
+        Assert.assertTrue(PackedMana.enough(redCost, PackedMana.pack(new Mana(0, 0, 0, 0, 0, 0, 2))));
+    }
+
+    @Test
+    public void testEnoughSameAsMana() {
+        Random random = new Random(42);
+        Mana[] costs = new Mana[MANAS];
+        Mana[] available = new Mana[MANAS];
+        long[] packedCosts = new long[MANAS];
+        long[] packedAvailable = new long[MANAS];
+        for (int i = 0; i < MANAS; i++) {
+            costs[i] = new Mana(random.nextInt(3), random.nextInt(3), random.nextInt(3), random.nextInt(3), random.nextInt(3), random.nextInt(5), random.nextInt(2));
+            available[i] = new Mana(random.nextInt(4), random.nextInt(4), random.nextInt(4), random.nextInt(4), random.nextInt(4), random.nextInt(4), random.nextInt(3));
+            packedCosts[i] = PackedMana.pack(costs[i]);
+            packedAvailable[i] = PackedMana.pack(available[i]);
+        }
+
+        for (int i = 0; i < MANAS; i++) {
+            for (int j = 0; j < MANAS; j++) {
+                boolean enough = costs[i].enough(available[j]);
+                if (enough != PackedMana.enough(packedCosts[i], packedAvailable[j])) {
+                    Assert.fail(costs[i] + " paid by " + available[j] + " expected to be " + enough);
+                }
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@
 
 package mage;
 
+import java.io.Serializable;
 import java.util.UUID;
 import mage.cards.Card;
 import mage.game.Game;
@@ -39,7 +40,7 @@ import mage.game.permanent.Permanent;
  * @author LevelX2
  */
 
-public class MageObjectReference implements Comparable<MageObjectReference> {
+public class MageObjectReference implements Comparable<MageObjectReference>, Serializable {
 
     private final UUID sourceId;
     private final int zoneChangeCounter;
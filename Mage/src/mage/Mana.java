@@ -288,49 +288,26 @@ public class Mana implements Comparable<Mana>, Serializable, Copyable<Mana> {
         return new Mana(this);
     }
 
+    /**
+     * Checks if the available mana can pay this mana, mana of any color pays
+     * missing colored mana. See {@link PackedMana#enough(long, long)} for
+     * comparing large numbers of manas.
+     *
+     * @param avail
+     * @return
+     */
     public boolean enough(Mana avail) {
-        Mana compare = avail.copy();
-        compare.subtract(this);
-        if (compare.getRed() < 0) {
-            compare.setAny(compare.getAny() + compare.getRed());
-            if (compare.getAny() < 0) {
-                return false;
-            }
-            compare.setRed(0);
-        }
-        if (compare.getGreen() < 0) {
-            compare.setAny(compare.getAny() + compare.getGreen());
-            if (compare.getAny() < 0) {
-                return false;
-            }
-            compare.setGreen(0);
-        }
-        if (compare.getBlue() < 0) {
-            compare.setAny(compare.getAny() + compare.getBlue());
-            if (compare.getAny() < 0) {
-                return false;
-            }
-            compare.setBlue(0);
-        }
-        if (compare.getBlack() < 0) {
-            compare.setAny(compare.getAny() + compare.getBlack());
-            if (compare.getAny() < 0) {
-                return false;
-            }
-            compare.setBlack(0);
-        }
-        if (compare.getWhite() < 0) {
-            compare.setAny(compare.getAny() + compare.getWhite());
-            if (compare.getAny() < 0) {
-                return false;
-            }
-            compare.setWhite(0);
-        }
-        if (compare.getColorless() < 0) {
-            int remaining = compare.getRed() + compare.getGreen() + compare.getBlack() + compare.getBlue() + compare.getWhite() + compare.getAny();
-            if (compare.getColorless() + remaining < 0) {
-                return false;
-            }
+        // colored mana that has to be paid with mana of any color
+        int missing = Math.max(0, red - avail.red) + Math.max(0, green - avail.green) + Math.max(0, blue - avail.blue)
+                + Math.max(0, white - avail.white) + Math.max(0, black - avail.black);
+        int remainingAny = avail.any - any - missing;
+        if (missing > 0 && remainingAny < 0) {
+            return false;
+        }
+        if (avail.colorless < colorless) {
+            int remaining = Math.max(0, avail.red - red) + Math.max(0, avail.green - green) + Math.max(0, avail.blue - blue)
+                    + Math.max(0, avail.white - white) + Math.max(0, avail.black - black) + remainingAny;
+            return avail.colorless - colorless + remaining >= 0;
         }
         return true;
     }
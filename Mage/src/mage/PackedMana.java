@@ -0,0 +1,163 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage;
+
+/**
+ * Mana amounts packed into a long, for the places that combine large numbers
+ * of mana amounts like {@link mage.abilities.mana.ManaOptions}.
+ *
+ * Every type of mana has a 9 bit lane holding an amount of 0 to 255, the 9th
+ * bit of the lane takes the carry of an addition. Larger amounts are kept as
+ * 255, which is more mana than any cost needs.
+ *
+ * @author magefree
+ */
+public final class PackedMana {
+
+    public static final int WHITE = 0;
+    public static final int BLUE = 1;
+    public static final int BLACK = 2;
+    public static final int RED = 3;
+    public static final int GREEN = 4;
+    public static final int COLORLESS = 5;
+    public static final int ANY = 6;
+
+    public static final int MAX_AMOUNT = 255;
+
+    private static final int LANES = 7;
+    private static final int LANE_BITS = 9;
+    // the 9th bit of every lane
+    private static final long CARRY_BITS = 0x4020100804020100L;
+    // the lanes from WHITE to GREEN
+    private static final long COLORED_LANES = (1L << (GREEN + 1) * LANE_BITS) - 1;
+
+    private PackedMana() {}
+
+    public static long pack(Mana mana) {
+        long packed = 0;
+        packed = with(packed, WHITE, mana.getWhite());
+        packed = with(packed, BLUE, mana.getBlue());
+        packed = with(packed, BLACK, mana.getBlack());
+        packed = with(packed, RED, mana.getRed());
+        packed = with(packed, GREEN, mana.getGreen());
+        packed = with(packed, COLORLESS, mana.getColorless());
+        packed = with(packed, ANY, mana.getAny());
+        return packed;
+    }
+
+    public static Mana unpack(long packed) {
+        return new Mana(get(packed, RED), get(packed, GREEN), get(packed, BLUE), get(packed, WHITE),
+                get(packed, BLACK), get(packed, COLORLESS), get(packed, ANY));
+    }
+
+    public static int get(long packed, int lane) {
+        return (int) (packed >>> (lane * LANE_BITS)) & MAX_AMOUNT;
+    }
+
+    /**
+     * @return the packed mana with the amount of the lane set, negative amounts count as 0
+     */
+    public static long with(long packed, int lane, int amount) {
+        int shift = lane * LANE_BITS;
+        long value = Math.max(0, Math.min(MAX_AMOUNT, amount));
+        return (packed & ~((long) MAX_AMOUNT << shift)) | (value << shift);
+    }
+
+    public static long add(long packed, long other) {
+        long sum = packed + other;
+        long carry = sum & CARRY_BITS;
+        if (carry != 0) {
+            // every lane that overflowed gets the max amount
+            sum = (sum & ~CARRY_BITS) | (carry - (carry >>> 8));
+        }
+        return sum;
+    }
+
+    /**
+     * @return the packed mana with the amounts of the other mana subtracted,
+     * lanes that would get negative are set to 0
+     */
+    public static long subtract(long packed, long other) {
+        long difference = (packed | CARRY_BITS) - other;
+        // the 9th bit of a lane is still set if the lane didn't borrow
+        long kept = difference & CARRY_BITS;
+        return difference & (kept - (kept >>> 8));
+    }
+
+    public static int count(long packed) {
+        int count = 0;
+        for (int lane = 0; lane < LANES; lane++) {
+            count += get(packed, lane);
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the first mana can pay everything the second mana can pay.
+     * Every colored mana of the second one needs a mana of the same color or
+     * a mana of any color, mana of any color needs mana of any color and
+     * colorless mana needs any mana that is left.
+     *
+     * @param packed
+     * @param other
+     * @return
+     */
+    public static boolean dominates(long packed, long other) {
+        // the colored mana of other that packed has no mana of the same color for
+        long missing = subtract(other, packed) & COLORED_LANES;
+        return get(packed, ANY) >= count(missing) + get(other, ANY) && count(packed) >= count(other);
+    }
+
+    /**
+     * Same check as {@link Mana#enough(Mana)} for amounts up to
+     * {@link #MAX_AMOUNT}. Like there, mana of any color in the cost is only
+     * checked against the available mana of any color if colored mana of the
+     * cost has to be paid with mana of any color or the colorless mana of the
+     * cost needs the rest of the mana, so it's not the same as
+     * {@link #dominates(long, long)}.
+     *
+     * @param cost
+     * @param available
+     * @return true if the available mana can pay the cost
+     */
+    public static boolean enough(long cost, long available) {
+        // colored mana that has to be paid with mana of any color
+        int missing = count(subtract(cost, available) & COLORED_LANES);
+        int remainingAny = get(available, ANY) - get(cost, ANY) - missing;
+        if (missing > 0 && remainingAny < 0) {
+            return false;
+        }
+        int colorless = get(available, COLORLESS) - get(cost, COLORLESS);
+        if (colorless < 0) {
+            int remaining = count(subtract(available, cost) & COLORED_LANES) + remainingAny;
+            return colorless + remaining >= 0;
+        }
+        return true;
+    }
+
+}
@@ -29,11 +29,14 @@
 package mage.abilities;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import mage.MageObject;
@@ -50,22 +53,55 @@ import mage.game.permanent.Permanent;
  */
 public class TriggeredAbilities extends ConcurrentHashMap<String, TriggeredAbility> {
 
+    private static final ProbeEvent[] PROBE_EVENTS = new ProbeEvent[EventType.values().length];
+
+    static {
+        for (EventType eventType : EventType.values()) {
+            PROBE_EVENTS[eventType.ordinal()] = new ProbeEvent(eventType);
+        }
+    }
+
+    private static final Set<EventType> ALL_EVENT_TYPES = EnumSet.allOf(EventType.class);
+
     private final Map<String, List<UUID>> sources = new HashMap<>();
+    // event types the abilities can trigger on (null = all types), the sets are shared between copies
+    private final Map<String, Set<EventType>> eventTypes = new HashMap<>();
+    // probed event types by the original id of the abilities, shared between copies, so
+    // gained abilities that are added again after each application of the effects are probed once
+    private transient ConcurrentHashMap<UUID, Set<EventType>> probedEventTypes;
+    // abilities by the event types they can trigger on, the lists are replaced instead of changed
+    private transient Map<EventType, List<TriggeredAbility>> abilitiesByType;
+    private transient List<TriggeredAbility> allEventAbilities;
 
     public TriggeredAbilities() {
     }
 
     public TriggeredAbilities(final TriggeredAbilities abilities) {
         for (Map.Entry<String, TriggeredAbility> entry : abilities.entrySet()) {
-            this.put(entry.getKey(), entry.getValue().copy());
+            super.put(entry.getKey(), entry.getValue().copy());
         }
+        eventTypes.putAll(abilities.eventTypes);
+        probedEventTypes = abilities.getProbedEventTypes();
         for (Map.Entry<String, List<UUID>> entry : abilities.sources.entrySet()) {
             sources.put(entry.getKey(), entry.getValue());
         }
     }
 
     public void checkTriggers(GameEvent event, Game game) {
-        for (Iterator<TriggeredAbility> it = this.values().iterator(); it.hasNext();) {
+        if (abilitiesByType == null) {
+            buildIndex();
+        }
+        // the lists are never changed, so abilities added while checking do not disturb the loops
+        List<TriggeredAbility> typeAbilities = abilitiesByType.get(event.getType());
+        List<TriggeredAbility> allAbilities = allEventAbilities;
+        if (typeAbilities != null) {
+            checkTriggers(typeAbilities, event, game);
+        }
+        checkTriggers(allAbilities, event, game);
+    }
+
+    private void checkTriggers(List<TriggeredAbility> abilities, GameEvent event, Game game) {
+        for (Iterator<TriggeredAbility> it = abilities.iterator(); it.hasNext();) {
             TriggeredAbility ability = it.next();
             if (!ability.checkEventType(event, game)) {
                 continue;
@@ -130,6 +166,158 @@ public class TriggeredAbilities extends ConcurrentHashMap<String, TriggeredAbili
         this.put(getKey(ability, attachedTo), ability);
     }
 
+    @Override
+    public TriggeredAbility put(String key, TriggeredAbility ability) {
+        Set<EventType> types = getEventTypes(ability);
+        TriggeredAbility old = super.put(key, ability);
+        if (abilitiesByType != null) {
+            if (old != null) {
+                removeFromIndex(old, eventTypes.get(key));
+            }
+            addToIndex(ability, types);
+        }
+        eventTypes.put(key, types);
+        return old;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends TriggeredAbility> abilities) {
+        for (Map.Entry<? extends String, ? extends TriggeredAbility> entry : abilities.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public TriggeredAbility remove(Object key) {
+        Set<EventType> types = eventTypes.remove(key);
+        TriggeredAbility old = super.remove(key);
+        if (old != null && abilitiesByType != null) {
+            removeFromIndex(old, types);
+        }
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        eventTypes.clear();
+        abilitiesByType = null;
+        super.clear();
+    }
+
+    private void buildIndex() {
+        Map<EventType, List<TriggeredAbility>> byType = new EnumMap<>(EventType.class);
+        List<TriggeredAbility> all = new ArrayList<>();
+        for (Map.Entry<String, TriggeredAbility> entry : this.entrySet()) {
+            Set<EventType> types = eventTypes.get(entry.getKey());
+            if (types == null) {
+                all.add(entry.getValue());
+                continue;
+            }
+            for (EventType eventType : types) {
+                List<TriggeredAbility> list = byType.get(eventType);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    byType.put(eventType, list);
+                }
+                list.add(entry.getValue());
+            }
+        }
+        allEventAbilities = all;
+        abilitiesByType = byType;
+    }
+
+    private void addToIndex(TriggeredAbility ability, Set<EventType> types) {
+        if (types == null) {
+            allEventAbilities = added(allEventAbilities, ability);
+            return;
+        }
+        for (EventType eventType : types) {
+            abilitiesByType.put(eventType, added(abilitiesByType.get(eventType), ability));
+        }
+    }
+
+    private void removeFromIndex(TriggeredAbility ability, Set<EventType> types) {
+        if (types == null) {
+            allEventAbilities = removed(allEventAbilities, ability);
+            return;
+        }
+        for (EventType eventType : types) {
+            List<TriggeredAbility> list = removed(abilitiesByType.get(eventType), ability);
+            if (list.isEmpty()) {
+                abilitiesByType.remove(eventType);
+            } else {
+                abilitiesByType.put(eventType, list);
+            }
+        }
+    }
+
+    private static List<TriggeredAbility> added(List<TriggeredAbility> list, TriggeredAbility ability) {
+        List<TriggeredAbility> result = list == null ? new ArrayList<TriggeredAbility>() : new ArrayList<>(list);
+        result.add(ability);
+        return result;
+    }
+
+    private static List<TriggeredAbility> removed(List<TriggeredAbility> list, TriggeredAbility ability) {
+        List<TriggeredAbility> result = new ArrayList<>();
+        if (list != null) {
+            // abilities are equal by id, but the same ability can be added for different objects
+            for (TriggeredAbility other : list) {
+                if (other != ability) {
+                    result.add(other);
+                }
+            }
+        }
+        return result;
+    }
+
+    private ConcurrentHashMap<UUID, Set<EventType>> getProbedEventTypes() {
+        if (probedEventTypes == null) {
+            probedEventTypes = new ConcurrentHashMap<>();
+        }
+        return probedEventTypes;
+    }
+
+    private Set<EventType> getEventTypes(TriggeredAbility ability) {
+        if (ability.getOriginalId() == null) {
+            return probeEventTypes(ability);
+        }
+        ConcurrentHashMap<UUID, Set<EventType>> probed = getProbedEventTypes();
+        Set<EventType> types = probed.get(ability.getOriginalId());
+        if (types == null) {
+            types = probeEventTypes(ability);
+            probed.put(ability.getOriginalId(), types == null ? ALL_EVENT_TYPES : types);
+        } else if (types == ALL_EVENT_TYPES) {
+            return null;
+        }
+        return types;
+    }
+
+    /**
+     * Finds the event types the ability can trigger on by asking checkEventType
+     * with an event of each type. If checkEventType needs more than the type
+     * of the event (the probe event and the game are not usable) the ability
+     * is handled as possibly triggering on that type.
+     *
+     * @param ability
+     * @return the event types or null if the ability has to check all events
+     */
+    private static Set<EventType> probeEventTypes(TriggeredAbility ability) {
+        Set<EventType> types = EnumSet.noneOf(EventType.class);
+        for (ProbeEvent probe : PROBE_EVENTS) {
+            try {
+                if (ability.checkEventType(probe, null)) {
+                    types.add(probe.getType());
+                }
+            } catch (RuntimeException e) {
+                types.add(probe.getType());
+            }
+        }
+        if (types.size() == PROBE_EVENTS.length) {
+            return null;
+        }
+        return types;
+    }
+
     private String getKey(TriggeredAbility ability, MageObject target) {
         String key = ability.getId() + "_";
         if (target != null) {
@@ -161,4 +349,94 @@ public class TriggeredAbilities extends ConcurrentHashMap<String, TriggeredAbili
         return new TriggeredAbilities(this);
     }
 
+    /**
+     * Event that only knows its type. Everything else fails with a
+     * ProbeFailedException.
+     */
+    private static class ProbeEvent extends GameEvent {
+
+        private static final ProbeFailedException FAILED = new ProbeFailedException();
+
+        public ProbeEvent(EventType type) {
+            super(type, null, null, null);
+        }
+
+        @Override
+        public UUID getTargetId() {
+            throw FAILED;
+        }
+
+        @Override
+        public UUID getSourceId() {
+            throw FAILED;
+        }
+
+        @Override
+        public UUID getPlayerId() {
+            throw FAILED;
+        }
+
+        @Override
+        public void setPlayerId(UUID playerId) {
+            throw FAILED;
+        }
+
+        @Override
+        public int getAmount() {
+            throw FAILED;
+        }
+
+        @Override
+        public void setAmount(int amount) {
+            throw FAILED;
+        }
+
+        @Override
+        public boolean getFlag() {
+            throw FAILED;
+        }
+
+        @Override
+        public void setFlag(boolean flag) {
+            throw FAILED;
+        }
+
+        @Override
+        public String getData() {
+            throw FAILED;
+        }
+
+        @Override
+        public void setData(String data) {
+            throw FAILED;
+        }
+
+        @Override
+        public Zone getZone() {
+            throw FAILED;
+        }
+
+        @Override
+        public void setZone(Zone zone) {
+            throw FAILED;
+        }
+
+        @Override
+        public ArrayList<UUID> getAppliedEffects() {
+            throw FAILED;
+        }
+
+        @Override
+        public void setAppliedEffects(ArrayList<UUID> appliedEffects) {
+            throw FAILED;
+        }
+    }
+
+    private static class ProbeFailedException extends RuntimeException {
+
+        public ProbeFailedException() {
+            super(null, null, false, false);
+        }
+    }
+
 }
@@ -63,7 +63,14 @@ public class DealsCombatDamageTriggeredAbility extends TriggeredAbilityImpl {
 
     @Override
     public boolean checkEventType(GameEvent event, Game game) {
-        return event instanceof DamagedEvent || event.getType() == GameEvent.EventType.COMBAT_DAMAGE_STEP_PRE;
+        switch (event.getType()) {
+            case DAMAGED_CREATURE:
+            case DAMAGED_PLANESWALKER:
+            case DAMAGED_PLAYER:
+            case COMBAT_DAMAGE_STEP_PRE:
+                return true;
+        }
+        return false;
     }
 
     @Override
@@ -55,7 +55,7 @@ public class DealsDamageToAPlayerAttachedTriggeredAbility extends TriggeredAbili
 
     @Override
     public boolean checkEventType(GameEvent event, Game game) {
-        return event instanceof DamagedPlayerEvent;
+        return event.getType() == GameEvent.EventType.DAMAGED_PLAYER;
     }
 
     @Override
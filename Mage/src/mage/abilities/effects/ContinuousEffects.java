@@ -72,6 +72,7 @@ import mage.game.permanent.PermanentCard;
 import mage.game.stack.Spell;
 import mage.players.Player;
 import mage.target.common.TargetCardInHand;
+import mage.util.StateHash;
 import org.apache.log4j.Logger;
 
 /**
@@ -204,6 +205,34 @@ public class ContinuousEffects implements Serializable {
         spliceCardEffects.removeInactiveEffects(game);
     }
 
+    /**
+     * Hash of the effects that are in play, used by the hash of the game state.
+     * The effects are combined with xor, so the order they were added in
+     * doesn't change the hash.
+     *
+     * @return
+     */
+    public long getHash() {
+        long hash = 0;
+        for (ContinuousEffectsList<?> effectsList: allEffectsLists) {
+            for (ContinuousEffect effect: effectsList) {
+                if (effect.isDiscarded()) {
+                    continue;
+                }
+                long effectHash = StateHash.combine(StateHash.hash(effect.getId()), effect.getDuration().ordinal());
+                effectHash = StateHash.combine(effectHash, effect.isUsed() ? 1 : 0);
+                HashSet<Ability> abilities = effectsList.getAbility(effect.getId());
+                if (abilities != null) {
+                    for (Ability ability: abilities) {
+                        effectHash ^= StateHash.combine(StateHash.hash(ability.getOriginalId()), ability.getSourceId());
+                    }
+                }
+                hash ^= effectHash;
+            }
+        }
+        return hash;
+    }
+
     public List<ContinuousEffect> getLayeredEffects(Game game) {
         List<ContinuousEffect> layerEffects = new ArrayList<>();
         for (ContinuousEffect effect: layeredEffects) {
@@ -1101,7 +1130,7 @@ public class ContinuousEffects implements Serializable {
     }
 }
 
-class ContinuousEffectSorter implements Comparator<ContinuousEffect> {
+class ContinuousEffectSorter implements Comparator<ContinuousEffect>, Serializable {
     @Override
     public int compare(ContinuousEffect one, ContinuousEffect two) {
         return Long.compare(one.getOrder(), two.getOrder());
@@ -29,8 +29,10 @@
 package mage.abilities.mana;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import mage.Mana;
+import mage.PackedMana;
 import mage.game.Game;
 
 /**
@@ -57,51 +59,25 @@ public class ManaOptions extends ArrayList<Mana> {
             this.add(new Mana());
         }
         if (!abilities.isEmpty()) {
-            if (abilities.size() == 1) {
-                //if there is only one mana option available add it to all the existing options
-                List<Mana> netManas =  abilities.get(0).getNetMana(game);
-                if (netManas.size() == 1) {
-                    addMana(netManas.get(0));
-                } else {
-                    List<Mana> copy = copy();
-                    this.clear();
-                    for (Mana netMana: netManas) {
-                        for (Mana mana: copy) {
-                            Mana newMana = new Mana();
-                            newMana.add(mana);
-                            newMana.add(netMana);
-                            this.add(newMana);
-                        }                        
-                    }                    
-                }
-                
+            List<Mana> netManas = new ArrayList<>();
+            for (ManaAbility ability: abilities) {
+                netManas.addAll(ability.getNetMana(game));
             }
-            else if (abilities.size() > 1) {
+            netManas = removeDominatedManas(combineSingleManas(netManas));
+            if (netManas.size() == 1) {
+                //if there is only one mana option available add it to all the existing options
+                addMana(netManas.get(0));
+            } else if (netManas.size() > 1) {
                 //perform a union of all existing options and the new options
-                List<Mana> copy = copy();
-                this.clear();
-                for (ManaAbility ability: abilities) {
-                    for (Mana netMana: ability.getNetMana(game)) {
-                        SkipAddMana:
-                        for (Mana mana: copy) {
-                            Mana newMana = new Mana();
-                            newMana.add(mana);
-                            newMana.add(netMana);
-                            for(Mana existingMana: this) {
-                                if (existingMana.equalManaValue(newMana)) {
-                                   continue SkipAddMana;
-                                }
-                                Mana moreValuable = Mana.getMoreValuableMana(newMana, existingMana);
-                                if (moreValuable != null) {
-                                    // only keep the more valuable mana
-                                    existingMana.setToMana(newMana);
-                                    continue SkipAddMana;
-                                }
-                            }
-                            this.add(newMana);
-                        }
+                long[] existing = pack();
+                PackedOptions options = new PackedOptions();
+                for (Mana netMana: netManas) {
+                    long packedNetMana = PackedMana.pack(netMana);
+                    for (long mana: existing) {
+                        options.add(PackedMana.add(mana, packedNetMana));
                     }
                 }
+                unpack(options);
             }
         }
     }
@@ -111,86 +87,165 @@ public class ManaOptions extends ArrayList<Mana> {
             this.add(new Mana());
         }
         if (!abilities.isEmpty()) {
-            if (abilities.size() == 1) {
+            if (abilities.size() == 1 && abilities.get(0).getNetMana(game).size() == 1) {
                 //if there is only one mana option available add it to all the existing options
                 ManaAbility ability = abilities.get(0);
-                List<Mana> netManas =  abilities.get(0).getNetMana(game);                
-                // no mana costs
+                Mana netMana = ability.getNetMana(game).get(0);
                 if (ability.getManaCosts().isEmpty()) {
-                    if (netManas.size() == 1) {
-                        addMana(netManas.get(0));
-                    } else {
-                        List<Mana> copy = copy();
-                        this.clear();
-                        for (Mana netMana: netManas) {
-                            for (Mana mana: copy) {
-                                Mana newMana = new Mana();
-                                newMana.add(mana);
-                                newMana.add(netMana);
-                                this.add(newMana);
-                            }                        
-                        }                    
-                    }                    
+                    addMana(netMana);
                 } else {
-                    // the ability has mana costs
-                    if (netManas.size() == 1) {
-                        subtractCostAddMana(ability.getManaCosts().getMana(), netManas.get(0), ability.getCosts().isEmpty());
-                    } else {
-                        List<Mana> copy = copy();
-                        this.clear();
-                        for (Mana netMana: netManas) {
-                            for (Mana mana: copy) {
-                                Mana newMana = new Mana();
-                                newMana.add(mana);
-                                newMana.add(netMana);
-                                subtractCostAddMana(ability.getManaCosts().getMana(), netMana, ability.getCosts().isEmpty());
-                            }                        
-                        }                    
-                    }                                        
+                    subtractCostAddMana(ability.getManaCosts().getMana(), netMana, ability.getCosts().isEmpty());
                 }
-            } else if (abilities.size() > 1) {
+            } else {
                 //perform a union of all existing options and the new options
-                List<Mana> copy = copy();
-                this.clear();
+                List<Mana> existing = copy();
+                PackedOptions options = new PackedOptions();
                 for (ManaAbility ability: abilities) {
-                    
-                    List<Mana> netManas =  ability.getNetMana(game);
-                    
-                    if (ability.getManaCosts().isEmpty()) {
-                        for (Mana netMana: netManas) {
-                            for (Mana mana: copy) {
-                                Mana newMana = new Mana();
-                                newMana.add(mana);
-                                newMana.add(netMana);
-                                this.add(newMana);
-                            }
-                        }
-                    } else {
-                        for (Mana netMana: netManas) {
-                            CombineWithExisting:
-                            for (Mana previousMana: copy) {
-                                Mana newMana = new Mana(previousMana);
-                                if (previousMana.includesMana(ability.getManaCosts().getMana())) { // costs can be paid
-                                    newMana.subtractCost(ability.getManaCosts().getMana());
-                                    newMana.add(netMana);
-                                    // if the new mana is in all colors more than another already existing than replace
-                                    for (Mana existingMana: this) {
-                                        Mana moreValuable = Mana.getMoreValuableMana(newMana, existingMana);
-                                        if (moreValuable != null) {
-                                            existingMana.setToMana(moreValuable);
-                                            continue CombineWithExisting;
-                                        } 
-                                    }
-                                    // no existing Mana includes this new mana so add
-                                    this.add(newMana);
-                                }                                
+                    Mana cost = ability.getManaCosts().isEmpty() ? null : ability.getManaCosts().getMana();
+                    for (Mana netMana: ability.getNetMana(game)) {
+                        long packedNetMana = PackedMana.pack(netMana);
+                        for (Mana previousMana: existing) {
+                            if (cost == null) {
+                                options.add(PackedMana.add(PackedMana.pack(previousMana), packedNetMana));
+                            } else {
+                                Mana newMana = payCost(previousMana, cost);
+                                if (newMana != null) { // costs can be paid
+                                    options.add(PackedMana.add(PackedMana.pack(newMana), packedNetMana));
+                                }
                             }
                         }
                     }
+                }
+                unpack(options);
+            }
+        }
+    }
+
+    /**
+     * A source that can produce one mana of each color produces one mana of
+     * any color. Replacing its single manas with that needs only one option
+     * instead of one for each color. The costs of the abilities added later
+     * are paid with {@link #payCost(Mana, Mana)}, so they can still use the
+     * mana of any color as the color they need.
+     */
+    private static List<Mana> combineSingleManas(List<Mana> netManas) {
+        if (netManas.size() < 5) {
+            return netManas;
+        }
+        boolean white = false, blue = false, black = false, red = false, green = false;
+        for (Mana mana: netManas) {
+            if (mana.count() == 1) {
+                white |= mana.getWhite() == 1;
+                blue |= mana.getBlue() == 1;
+                black |= mana.getBlack() == 1;
+                red |= mana.getRed() == 1;
+                green |= mana.getGreen() == 1;
+            }
+        }
+        if (!(white && blue && black && red && green)) {
+            return netManas;
+        }
+        List<Mana> combined = new ArrayList<>();
+        combined.add(new Mana(0, 0, 0, 0, 0, 0, 1));
+        for (Mana mana: netManas) {
+            if (mana.count() > 1) {
+                combined.add(mana);
+            }
+        }
+        return combined;
+    }
 
+    /**
+     * Pays the cost from the mana. Colored mana of the cost that the mana
+     * doesn't have is paid with its mana of any color.
+     *
+     * @param mana
+     * @param cost
+     * @return the mana left after paying or null if the cost can't be paid
+     */
+    private static Mana payCost(Mana mana, Mana cost) {
+        Mana paid = new Mana(mana);
+        int white = Math.max(0, cost.getWhite() - paid.getWhite());
+        int blue = Math.max(0, cost.getBlue() - paid.getBlue());
+        int black = Math.max(0, cost.getBlack() - paid.getBlack());
+        int red = Math.max(0, cost.getRed() - paid.getRed());
+        int green = Math.max(0, cost.getGreen() - paid.getGreen());
+        int missing = white + blue + black + red + green;
+        if (missing > paid.getAny()) {
+            return null;
+        }
+        if (missing > 0) {
+            paid.setWhite(paid.getWhite() + white);
+            paid.setBlue(paid.getBlue() + blue);
+            paid.setBlack(paid.getBlack() + black);
+            paid.setRed(paid.getRed() + red);
+            paid.setGreen(paid.getGreen() + green);
+            paid.setAny(paid.getAny() - missing);
+        }
+        if (!paid.includesMana(cost)) {
+            return null;
+        }
+        paid.subtractCost(cost);
+        return paid;
+    }
+
+    /**
+     * Any option built with a mana that another mana dominates is dominated
+     * by the option built with the other mana, so such manas are dropped
+     * before the options are built.
+     */
+    private static List<Mana> removeDominatedManas(List<Mana> netManas) {
+        long[] packed = new long[netManas.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = PackedMana.pack(netManas.get(i));
+        }
+        List<Mana> kept = new ArrayList<>();
+        for (int i = 0; i < packed.length; i++) {
+            boolean dominated = false;
+            for (int j = 0; j < packed.length && !dominated; j++) {
+                // of equal manas only the first is kept
+                dominated = j != i && PackedMana.dominates(packed[j], packed[i]) && (packed[j] != packed[i] || j < i);
+            }
+            if (!dominated) {
+                kept.add(netManas.get(i));
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Checks if any of the options can pay any of the costs. The options are
+     * packed once, so checking many costs doesn't allocate a Mana per check.
+     *
+     * @param costs the options to pay a cost, see {@link mage.abilities.costs.mana.ManaCosts#getOptions()}
+     * @return
+     */
+    public boolean enough(ManaOptions costs) {
+        long[] available = pack();
+        for (Mana cost: costs) {
+            long packedCost = PackedMana.pack(cost);
+            for (long avail: available) {
+                if (PackedMana.enough(packedCost, avail)) {
+                    return true;
                 }
             }
         }
+        return false;
+    }
+
+    private long[] pack() {
+        long[] packed = new long[size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = PackedMana.pack(get(i));
+        }
+        return packed;
+    }
+
+    private void unpack(PackedOptions options) {
+        this.clear();
+        for (int i = 0; i < options.size; i++) {
+            this.add(PackedMana.unpack(options.options[i]));
+        }
     }
 
     public void addMana(Mana addMana) {
@@ -227,6 +282,88 @@ public class ManaOptions extends ArrayList<Mana> {
         }
     }
 
+    /**
+     * Builds the options in packed form, see {@link PackedMana}.
+     *
+     * An option that is dominated by another option is dropped, as everything
+     * it pays can be paid with the other option. An option that dominates
+     * existing ones takes the place of the first of them. Checking for
+     * dominated options compares each new option with all others, so above
+     * MAX_PRUNED_OPTIONS options only equal options are dropped and above
+     * MAX_OPTIONS no more options are added.
+     */
+    private static class PackedOptions {
+
+        private static final int MAX_PRUNED_OPTIONS = 256;
+        private static final int MAX_OPTIONS = 16384;
+
+        private long[] options = new long[16];
+        private int size;
+        // all options that were added, shifted by one as 0 marks a free slot
+        private long[] seen = new long[64];
+        private int seenCount;
+
+        public void add(long option) {
+            if (!markSeen(option)) {
+                // the same option or one that dominated it was already added
+                return;
+            }
+            if (size <= MAX_PRUNED_OPTIONS) {
+                int replaced = -1;
+                int kept = 0;
+                for (int i = 0; i < size; i++) {
+                    long existing = options[i];
+                    if (replaced < 0 && PackedMana.dominates(existing, option)) {
+                        return;
+                    }
+                    if (PackedMana.dominates(option, existing)) {
+                        if (replaced >= 0) {
+                            continue;
+                        }
+                        replaced = kept;
+                        existing = option;
+                    }
+                    options[kept++] = existing;
+                }
+                size = kept;
+                if (replaced >= 0) {
+                    return;
+                }
+            }
+            if (size < MAX_OPTIONS) {
+                if (size == options.length) {
+                    options = Arrays.copyOf(options, size * 2);
+                }
+                options[size++] = option;
+            }
+        }
+
+        private boolean markSeen(long option) {
+            if (seenCount * 2 >= seen.length) {
+                long[] old = seen;
+                seen = new long[old.length * 2];
+                seenCount = 0;
+                for (long value: old) {
+                    if (value != 0) {
+                        markSeen(value - 1);
+                    }
+                }
+            }
+            long value = option + 1;
+            int mask = seen.length - 1;
+            int i = (int) (value ^ (value >>> 29) ^ (value >>> 47)) * 0x9E3779B9 & mask;
+            while (seen[i] != 0) {
+                if (seen[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            seen[i] = value;
+            seenCount++;
+            return true;
+        }
+    }
+
     public ManaOptions copy() {
         return new ManaOptions(this);
     }
@@ -240,7 +377,18 @@ public class ManaOptions extends ArrayList<Mana> {
             // deactivated because it does cause loops TODO: Find reason
             repeatable = true; // only replace to any with mana costs only will be repeated if able
         }
+        List<Mana> paidWithAny = new ArrayList<>();
         for (Mana mana: this) {
+            if (!mana.includesMana(cost)) {
+                // the mana of any color can still be used for another color,
+                // so the option is kept and the paid one is added
+                Mana paid = payCost(mana, cost);
+                if (paid != null) {
+                    paid.add(addMana);
+                    paidWithAny.add(paid);
+                }
+                continue;
+            }
             while (mana.includesMana(cost)) {
                 mana.subtractCost(cost);
                 mana.add(addMana);
@@ -249,6 +397,7 @@ public class ManaOptions extends ArrayList<Mana> {
                 }
             }
         }
+        addAll(paidWithAny);
     }
 
 }
\ No newline at end of file
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import mage.MageObject;
 import mage.MageObjectImpl;
 import mage.Mana;
@@ -74,6 +75,9 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
     private static final long serialVersionUID = 1L;
 
     private static final Logger logger = Logger.getLogger(CardImpl.class);
+    // constructors of the card classes by class name, looking them up for
+    // each new card is much slower than creating the card
+    private static final ConcurrentHashMap<String, Constructor<?>> constructors = new ConcurrentHashMap<>();
 
     protected UUID ownerId;
     protected int cardNumber;
@@ -163,22 +167,39 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
     }
 
     public static Card createCard(String name) {
-        try {
-            return createCard(Class.forName(name));
-        } catch (ClassNotFoundException ex) {
-            logger.fatal("Error loading card: " + name, ex);
-            return null;
+        Constructor<?> con = constructors.get(name);
+        if (con == null) {
+            try {
+                return createCard(Class.forName(name));
+            } catch (ClassNotFoundException ex) {
+                logger.fatal("Error loading card: " + name, ex);
+                return null;
+            }
         }
+        return createCard(con);
     }
 
     public static Card createCard(Class<?> clazz) {
+        Constructor<?> con = constructors.get(clazz.getName());
+        if (con == null || con.getDeclaringClass() != clazz) {
+            try {
+                con = clazz.getConstructor(new Class[]{UUID.class});
+            } catch (Exception e) {
+                logger.fatal("Error loading card: " + clazz.getCanonicalName(), e);
+                return null;
+            }
+            constructors.put(clazz.getName(), con);
+        }
+        return createCard(con);
+    }
+
+    private static Card createCard(Constructor<?> con) {
         try {
-            Constructor<?> con = clazz.getConstructor(new Class[]{UUID.class});
             Card card = (Card) con.newInstance(new Object[]{null});
             card.build();
             return card;
         } catch (Exception e) {
-            logger.fatal("Error loading card: " + clazz.getCanonicalName(), e);
+            logger.fatal("Error loading card: " + con.getDeclaringClass().getCanonicalName(), e);
             return null;
         }
     }
@@ -220,7 +241,7 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
         try {
             List<String> rules = getRules();
             if (game != null) {
-                CardState cardState = game.getState().getCardState(objectId);
+                CardState cardState = game.getState().getReadOnlyCardState(objectId);
                 if (cardState != null) {
                     for (String data : cardState.getInfo().values()) {
                         rules.add(data);
@@ -605,7 +626,8 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
 
     @Override
     public boolean isFaceDown(Game game) {
-        return game.getState().getCardState(objectId).isFaceDown();
+        CardState cardState = game.getState().getReadOnlyCardState(objectId);
+        return cardState != null && cardState.isFaceDown();
     }
 
     @Override
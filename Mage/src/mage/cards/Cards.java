@@ -52,5 +52,10 @@ public interface Cards extends Set<UUID>, Serializable {
     int count(FilterCard filter, UUID playerId, Game game);
     int count(FilterCard filter, UUID sourceId, UUID playerId, Game game);
 
+    /**
+     * @return order independent hash of the contained cards
+     */
+    long getHash();
+
     Cards copy();
 }
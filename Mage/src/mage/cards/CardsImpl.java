@@ -31,6 +31,7 @@ package mage.cards;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +42,7 @@ import mage.constants.Zone;
 import mage.filter.FilterCard;
 import mage.game.Game;
 import mage.players.Player;
+import mage.util.StateHash;
 import org.apache.log4j.Logger;
 
 
@@ -56,6 +58,8 @@ public class CardsImpl extends LinkedHashSet<UUID> implements Cards, Serializabl
     private UUID ownerId;
     private Zone zone;
     private boolean errorLogged = false;
+    // xor of the hashes of the contained cards, kept up to date by add and remove
+    private long hash;
 
     public CardsImpl() { }
 
@@ -90,6 +94,60 @@ public class CardsImpl extends LinkedHashSet<UUID> implements Cards, Serializabl
         this.add(card.getId());
     }
 
+    @Override
+    public boolean add(UUID cardId) {
+        if (super.add(cardId)) {
+            hash ^= StateHash.hash(cardId);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object cardId) {
+        if (super.remove(cardId)) {
+            hash ^= StateHash.hash((UUID) cardId);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        hash = 0;
+    }
+
+    @Override
+    public Iterator<UUID> iterator() {
+        final Iterator<UUID> iterator = super.iterator();
+        return new Iterator<UUID>() {
+            private UUID current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public UUID next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                hash ^= StateHash.hash(current);
+            }
+        };
+    }
+
+    @Override
+    public long getHash() {
+        return hash;
+    }
+
     @Override
     public Card get(UUID cardId, Game game) {
         if (this.contains(cardId)) {
@@ -0,0 +1,228 @@
+/*
+ *  Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage.cards.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import mage.constants.CardType;
+
+/**
+ * Immutable in-memory copy of the card database with indexes for the lookups
+ * done for deck validation, booster generation and the deck editor.
+ *
+ * The catalog is loaded with one query when it is used first and dropped
+ * when cards are added to the database, the database stays the source of
+ * the cards. The cards of the catalog are shared, so the lists returned
+ * for lookups are new lists but the cards in them must not be changed.
+ *
+ * @author magefree
+ */
+final class CardCatalog {
+
+    private final List<CardInfo> cards;
+    private final Map<String, List<CardInfo>> cardsByName = new HashMap<>();
+    private final Map<String, List<CardInfo>> cardsBySetCode = new HashMap<>();
+    // day side of the cards by set code and card number
+    private final Map<String, Map<Integer, CardInfo>> cardsByNumber = new HashMap<>();
+
+    private final SortedSet<String> names = new TreeSet<>();
+    private final SortedSet<String> nonLandNames = new TreeSet<>();
+    private final SortedSet<String> creatureNames = new TreeSet<>();
+    private final SortedSet<String> nonLandAndNonCreatureNames = new TreeSet<>();
+    private final SortedSet<String> creatureTypes = new TreeSet<>();
+
+    CardCatalog(List<CardInfo> cards) {
+        this.cards = cards;
+        for (CardInfo card : cards) {
+            add(cardsByName, card.getName(), card);
+            add(cardsBySetCode, card.getSetCode(), card);
+            if (!card.isNightCard()) {
+                Map<Integer, CardInfo> setCards = cardsByNumber.get(card.getSetCode());
+                if (setCards == null) {
+                    setCards = new HashMap<>();
+                    cardsByNumber.put(card.getSetCode(), setCards);
+                }
+                if (!setCards.containsKey(card.getCardNumber())) {
+                    setCards.put(card.getCardNumber(), card);
+                }
+            }
+
+            boolean land = isType(card, CardType.LAND);
+            boolean creature = isType(card, CardType.CREATURE);
+            addName(names, card);
+            if (!land) {
+                addName(nonLandNames, card);
+            }
+            if (creature) {
+                addName(creatureNames, card);
+                creatureTypes.addAll(card.getSubTypes());
+            }
+            if (!land && !creature) {
+                addName(nonLandAndNonCreatureNames, card);
+            }
+        }
+    }
+
+    private static void add(Map<String, List<CardInfo>> index, String key, CardInfo card) {
+        List<CardInfo> indexed = index.get(key);
+        if (indexed == null) {
+            indexed = new ArrayList<>();
+            index.put(key, indexed);
+        }
+        indexed.add(card);
+    }
+
+    private static boolean isType(CardInfo card, CardType type) {
+        return card.types != null && card.types.contains(type.name());
+    }
+
+    private static void addName(SortedSet<String> names, CardInfo card) {
+        if (card.getName() == null) {
+            return;
+        }
+        int result = card.getName().indexOf(" // ");
+        if (result > 0) {
+            names.add(card.getName().substring(0, result));
+            names.add(card.getName().substring(result + 4));
+        } else {
+            names.add(card.getName());
+        }
+    }
+
+    List<CardInfo> findCards(String name) {
+        return copy(cardsByName.get(name));
+    }
+
+    CardInfo findCard(String setCode, int cardNumber) {
+        Map<Integer, CardInfo> setCards = cardsByNumber.get(setCode);
+        if (setCards != null) {
+            return setCards.get(cardNumber);
+        }
+        return null;
+    }
+
+    /**
+     * @param criteria
+     * @return the matching cards or null if the criteria need the database (unknown sort column)
+     */
+    List<CardInfo> findCards(CardCriteria criteria) {
+        Comparator<CardInfo> comparator = null;
+        if (criteria.getSortBy() != null) {
+            comparator = getComparator(criteria.getSortBy());
+            if (comparator == null) {
+                return null;
+            }
+        }
+        List<CardInfo> candidates = cards;
+        if (criteria.getSetCodes().size() == 1) {
+            candidates = cardsBySetCode.get(criteria.getSetCodes().get(0));
+            if (candidates == null) {
+                return new ArrayList<>();
+            }
+        }
+        List<CardInfo> result = new ArrayList<>();
+        for (CardInfo card : candidates) {
+            if (criteria.matches(card)) {
+                result.add(card);
+            }
+        }
+        if (comparator != null) {
+            Collections.sort(result, comparator);
+        }
+        int start = criteria.getStart() == null ? 0 : (int) Math.min(criteria.getStart(), result.size());
+        int end = result.size();
+        if (criteria.getCount() != null) {
+            end = (int) Math.min(end, start + criteria.getCount());
+        }
+        if (start > 0 || end < result.size()) {
+            result = new ArrayList<>(result.subList(start, end));
+        }
+        return result;
+    }
+
+    private static Comparator<CardInfo> getComparator(String column) {
+        switch (column) {
+            case "cardNumber":
+                return new Comparator<CardInfo>() {
+                    @Override
+                    public int compare(CardInfo card1, CardInfo card2) {
+                        return Integer.compare(card1.getCardNumber(), card2.getCardNumber());
+                    }
+                };
+            case "name":
+                return new Comparator<CardInfo>() {
+                    @Override
+                    public int compare(CardInfo card1, CardInfo card2) {
+                        return card1.getName().compareTo(card2.getName());
+                    }
+                };
+        }
+        return null;
+    }
+
+    List<String> getClassNames() {
+        List<String> classNames = new ArrayList<>(cards.size());
+        for (CardInfo card : cards) {
+            classNames.add(card.getClassName());
+        }
+        return classNames;
+    }
+
+    SortedSet<String> getNames() {
+        return new TreeSet<>(names);
+    }
+
+    SortedSet<String> getNonLandNames() {
+        return new TreeSet<>(nonLandNames);
+    }
+
+    SortedSet<String> getCreatureNames() {
+        return new TreeSet<>(creatureNames);
+    }
+
+    SortedSet<String> getNonLandAndNonCreatureNames() {
+        return new TreeSet<>(nonLandAndNonCreatureNames);
+    }
+
+    SortedSet<String> getCreatureTypes() {
+        return new TreeSet<>(creatureTypes);
+    }
+
+    private static List<CardInfo> copy(List<CardInfo> cards) {
+        if (cards == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(cards);
+    }
+}
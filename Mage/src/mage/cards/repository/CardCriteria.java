@@ -183,6 +183,95 @@ public class CardCriteria {
         return this;
     }
 
+    /**
+     * Checks a card like the query built by {@link #buildQuery} does.
+     *
+     * @param card
+     * @return true if the card meets the criteria
+     */
+    public boolean matches(CardInfo card) {
+        if (card.nightCard || card.splitCardHalf) {
+            return false;
+        }
+        if (name != null && !contains(card.name, name)) {
+            return false;
+        }
+        if (rules != null && !contains(card.rules, rules)) {
+            return false;
+        }
+        if (doubleFaced != null && card.doubleFaced != doubleFaced) {
+            return false;
+        }
+        if (!rarities.isEmpty() && !rarities.contains(card.rarity)) {
+            return false;
+        }
+        if (!setCodes.isEmpty() && !setCodes.contains(card.setCode)) {
+            return false;
+        }
+        if (types.size() != 7 && !types.isEmpty()) {
+            boolean found = false;
+            for (CardType type : types) {
+                if (contains(card.types, type.name())) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        for (CardType type : notTypes) {
+            if (card.types == null || contains(card.types, type.name())) {
+                return false;
+            }
+        }
+        for (String superType : supertypes) {
+            if (!contains(card.supertypes, superType)) {
+                return false;
+            }
+        }
+        for (String superType : notSupertypes) {
+            if (card.supertypes == null || contains(card.supertypes, superType)) {
+                return false;
+            }
+        }
+        for (String subType : subtypes) {
+            if (!contains(card.subtypes, subType)) {
+                return false;
+            }
+        }
+        // like the query, no color selected at all doesn't filter by color
+        if ((!black || !blue || !green || !red || !white || !colorless)
+                && (black || blue || green || red || white || this.colorless)) {
+            boolean colorless = !card.black && !card.blue && !card.green && !card.red && !card.white;
+            if (!(black && card.black || blue && card.blue || green && card.green || red && card.red || white && card.white
+                    || this.colorless && colorless)) {
+                return false;
+            }
+        }
+        return card.cardNumber <= maxCardNumber;
+    }
+
+    private static boolean contains(String value, String part) {
+        return value != null && value.contains(part);
+    }
+
+    List<String> getSetCodes() {
+        return setCodes;
+    }
+
+    String getSortBy() {
+        return sortBy;
+    }
+
+    Long getStart() {
+        return start;
+    }
+
+    Long getCount() {
+        return count;
+    }
+
     public void buildQuery(QueryBuilder qb) throws SQLException {
         Where where = qb.where();
         where.eq("nightCard", false);
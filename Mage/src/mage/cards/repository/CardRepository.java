@@ -31,8 +31,6 @@ import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.stmt.QueryBuilder;
-import com.j256.ormlite.stmt.SelectArg;
-import com.j256.ormlite.stmt.Where;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableUtils;
@@ -44,7 +42,6 @@ import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
-import mage.constants.CardType;
 import org.apache.log4j.Logger;
 
 /**
@@ -65,6 +62,7 @@ public enum CardRepository {
     private final Random random = new Random();
     private Dao<CardInfo, Object> cardDao;
     private Set<String> classNames;
+    private volatile CardCatalog catalog;
 
     private CardRepository() {
         File file = new File("db");
@@ -104,6 +102,8 @@ public enum CardRepository {
                     return null;
                 }
             });
+            // the catalog is loaded again with the new cards
+            catalog = null;
         } catch (Exception ex) {
         }
     }
@@ -126,152 +126,56 @@ public enum CardRepository {
     }
 
     public Set<String> getNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result+4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getCatalog().getNames();
     }
 
     public Set<String> getNonLandNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().not().like("types", new SelectArg('%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result+4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getCatalog().getNonLandNames();
     }
     
     public Set<String> getCreatureNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            qb.where().like("types", new SelectArg('%' + CardType.CREATURE.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result+4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getCatalog().getCreatureNames();
     }
 
     public Set<String> getNonLandAndNonCreatureNames() {
-        Set<String> names = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("name");
-            Where where = qb.where();
-            where.and(where.not().like("types", '%' + CardType.CREATURE.name() +'%'),where.not().like("types", '%' + CardType.LAND.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                int result = card.getName().indexOf(" // ");
-                if (result > 0) {
-                    names.add(card.getName().substring(0, result));
-                    names.add(card.getName().substring(result + 4));
-                } else {
-                    names.add(card.getName());
-                }
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getCatalog().getNonLandAndNonCreatureNames();
     }
 
     public Set<String> getCreatureTypes() {
-        TreeSet<String> subtypes = new TreeSet<>();
-        try {
-            QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
-            qb.distinct().selectColumns("subtypes");
-            qb.where().like("types", new SelectArg('%' + CardType.CREATURE.name() + '%'));
-            List<CardInfo> results = cardDao.query(qb.prepare());
-            for (CardInfo card : results) {
-                subtypes.addAll(card.getSubTypes());
-            }
-            // Removing Forest because of Dryad Arbor
-            subtypes.remove("Forest");
-            // Some creature types are not directly included in card types and are added here manually
-            subtypes.add("Blinkmoth");
-            subtypes.add("Camarid");
-            subtypes.add("Caribou");
-            subtypes.add("Citizen");
-            subtypes.add("Coward");
-            subtypes.add("Deserter");
-            subtypes.add("Germ");
-            subtypes.add("Graveborn");
-            subtypes.add("Orb");
-            subtypes.add("Pentavite");
-            subtypes.add("Pincher");
-            subtypes.add("Prism");
-            subtypes.add("Reflection");
-            subtypes.add("Sand");
-            subtypes.add("Saproling");
-            subtypes.add("Serf");
-            subtypes.add("Splinter");
-            subtypes.add("Survivor");
-            subtypes.add("Tetravite");
-            subtypes.add("Triskelavite");
-
-        } catch (SQLException ex) {
-        }
+        Set<String> subtypes = getCatalog().getCreatureTypes();
+        // Removing Forest because of Dryad Arbor
+        subtypes.remove("Forest");
+        // Some creature types are not directly included in card types and are added here manually
+        subtypes.add("Blinkmoth");
+        subtypes.add("Camarid");
+        subtypes.add("Caribou");
+        subtypes.add("Citizen");
+        subtypes.add("Coward");
+        subtypes.add("Deserter");
+        subtypes.add("Germ");
+        subtypes.add("Graveborn");
+        subtypes.add("Orb");
+        subtypes.add("Pentavite");
+        subtypes.add("Pincher");
+        subtypes.add("Prism");
+        subtypes.add("Reflection");
+        subtypes.add("Sand");
+        subtypes.add("Saproling");
+        subtypes.add("Serf");
+        subtypes.add("Splinter");
+        subtypes.add("Survivor");
+        subtypes.add("Tetravite");
+        subtypes.add("Triskelavite");
         return subtypes;
     }
 
     public CardInfo findCard(String setCode, int cardNumber) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().eq("setCode", new SelectArg(setCode)).and().eq("cardNumber", cardNumber).and().eq("nightCard", false);
-            List<CardInfo> result = cardDao.query(queryBuilder.prepare());
-            if (!result.isEmpty()) {
-                return result.get(0);
-            }
-        } catch (SQLException ex) {
-        }
-        return null;
+        return getCatalog().findCard(setCode, cardNumber);
     }
 
 
     public List<String> getClassNames() {
-        List<String> names = new ArrayList<>();
-        try {
-            List<CardInfo> results = cardDao.queryForAll();
-            for (CardInfo card : results) {
-                names.add(card.getClassName());
-            }
-        } catch (SQLException ex) {
-        }
-        return names;
+        return getCatalog().getClassNames();
     }
 
     public List<CardInfo> getMissingCards(List<String> classNames) {
@@ -299,17 +203,24 @@ public enum CardRepository {
     }
 
     public List<CardInfo> findCards(String name) {
-        try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            queryBuilder.where().eq("name", new SelectArg(name));
+        return getCatalog().findCards(name);
+    }
 
-            return cardDao.query(queryBuilder.prepare());
-        } catch (SQLException ex) {
+    public List<CardInfo> findCards(CardCriteria criteria) {
+        List<CardInfo> cards = getCatalog().findCards(criteria);
+        if (cards != null) {
+            return cards;
         }
-        return new ArrayList<>();
+        return queryCards(criteria);
     }
 
-    public List<CardInfo> findCards(CardCriteria criteria) {
+    /**
+     * Finds the cards with a database query instead of the in-memory catalog.
+     *
+     * @param criteria
+     * @return
+     */
+    public List<CardInfo> queryCards(CardCriteria criteria) {
         try {
             QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
             criteria.buildQuery(queryBuilder);
@@ -320,6 +231,29 @@ public enum CardRepository {
         return new ArrayList<>();
     }
 
+    /**
+     * @return the in-memory copy of the cards, loaded from the database if
+     * it was not loaded yet or cards were added since
+     */
+    private CardCatalog getCatalog() {
+        CardCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    try {
+                        current = new CardCatalog(cardDao.queryForAll());
+                    } catch (SQLException ex) {
+                        Logger.getLogger(CardRepository.class).error("Error loading cards from DB", ex);
+                        return new CardCatalog(new ArrayList<CardInfo>());
+                    }
+                    catalog = current;
+                }
+            }
+        }
+        return current;
+    }
+
     public long getContentVersionFromDB() {
         try {
             ConnectionSource connectionSource = new JdbcConnectionSource(JDBC_URL);
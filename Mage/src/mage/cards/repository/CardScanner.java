@@ -28,6 +28,8 @@
 
 package mage.cards.repository;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import mage.cards.Card;
@@ -44,6 +46,12 @@ import org.apache.log4j.Logger;
  */
 public class CardScanner {
 
+    /**
+     * Index of the card classes of a jar or classes directory, written at
+     * build time by {@link #main(String[])}
+     */
+    public static final String CARD_INDEX = "META-INF/mage-cards.idx";
+
     public static boolean scanned = false;
 
     private static final Logger logger = Logger.getLogger(CardScanner.class);
@@ -63,8 +71,15 @@ public class CardScanner {
         }
         ExpansionRepository.instance.setContentVersion(ExpansionRepository.instance.getContentVersionConstant());
 
-        for (Class c : ClassScanner.findClasses(packages, CardImpl.class)) {
-            if (!CardRepository.instance.cardExists(c.getCanonicalName())) {
+        // only the classes of cards that are not in the DB yet are loaded here,
+        // the others are loaded when a card is created the first time
+        for (String className : ClassScanner.findClassNames(packages, CARD_INDEX)) {
+            // the DB keeps the canonical names, nested classes are written with '.'
+            if (!CardRepository.instance.cardExists(className.replace('$', '.'))) {
+                Class<?> c = ClassScanner.loadClass(className, CardImpl.class);
+                if (c == null) {
+                    continue;
+                }
                 Card card = CardImpl.createCard(c);
                 if (card != null) {
                     cardsToAdd.add(new CardInfo(card));
@@ -83,4 +98,16 @@ public class CardScanner {
         CardRepository.instance.setContentVersion(CardRepository.instance.getContentVersionConstant());
 
     }
+
+    /**
+     * Writes the card index into a directory of compiled card classes.
+     *
+     * @param args the directory
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args[0]);
+        int count = ClassScanner.writeIndex(directory, CardImpl.class, CARD_INDEX);
+        logger.info("Card index written: " + count + " classes in " + directory);
+    }
 }
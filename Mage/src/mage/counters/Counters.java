@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import mage.util.StateHash;
 
 /**
  *
@@ -113,6 +114,19 @@ public class Counters extends HashMap<String, Counter> implements Serializable {
         return 0;
     }
 
+    /**
+     * @return order independent hash of the counters and their numbers
+     */
+    public long getHash() {
+        long hash = 0;
+        for (Counter counter: this.values()) {
+            if (counter.getCount() > 0) {
+                hash ^= StateHash.combine(counter.getName().hashCode(), counter.getCount());
+            }
+        }
+        return hash;
+    }
+
     public List<BoostCounter> getBoostCounters() {
         List<BoostCounter> boosters = new ArrayList<>();
         for (Counter counter: this.values()) {
@@ -29,6 +29,7 @@
 package mage.filter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import mage.filter.predicate.Predicate;
 import mage.filter.predicate.Predicates;
@@ -44,6 +45,8 @@ public abstract class FilterImpl<E> implements Filter<E> {
 
     protected List<Predicate<Object>> predicates = new ArrayList<>();
     protected String message;
+    // predicates compiled for match, built again after a predicate was added
+    private transient Predicate<Object> compiledPredicates;
 
     @Override
     public abstract FilterImpl<E> copy();
@@ -55,16 +58,33 @@ public abstract class FilterImpl<E> implements Filter<E> {
     public FilterImpl(FilterImpl filter) {
         this.message = filter.message;
         this.predicates = new ArrayList<>(filter.predicates);
+        this.compiledPredicates = filter.compiledPredicates;
     }
 
     @Override
     public boolean match(E e, Game game) {
-        return Predicates.and(predicates).apply(e, game);
+        Predicate<Object> compiled = compiledPredicates;
+        if (compiled == null) {
+            compiled = Predicates.compile(predicates);
+            compiledPredicates = compiled;
+        }
+        return compiled.apply(e, game);
     }
 
     @Override
     public final void add(Predicate predicate) {
         predicates.add(predicate);
+        compiledPredicates = null;
+    }
+
+    /**
+     * Returns the predicates an object has to match. The predicates an object
+     * has to match together with a player or source are not included.
+     *
+     * @return an unmodifiable list of the predicates
+     */
+    public List<Predicate<Object>> getPredicates() {
+        return Collections.unmodifiableList(predicates);
     }
 
     @Override
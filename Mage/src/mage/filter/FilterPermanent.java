@@ -69,7 +69,7 @@ public class FilterPermanent extends FilterObject<Permanent> implements FilterIn
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(permanent, sourceId, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(permanent, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
@@ -69,7 +69,7 @@ public class FilterPlayer extends FilterImpl<Player> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(player, sourceId, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(player, sourceId, playerId), game);
     }
 
     @Override
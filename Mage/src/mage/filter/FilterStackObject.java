@@ -64,7 +64,7 @@ public class FilterStackObject extends FilterObject<StackObject> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectPlayer(stackObject, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.and(extraPredicates).apply(new ObjectPlayer(stackObject, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
@@ -27,6 +27,17 @@
  */
 package mage.filter.predicate;
 
+import mage.filter.predicate.mageobject.CardIdPredicate;
+import mage.filter.predicate.mageobject.CardTypePredicate;
+import mage.filter.predicate.mageobject.ColorPredicate;
+import mage.filter.predicate.mageobject.ColorlessPredicate;
+import mage.filter.predicate.mageobject.MonocoloredPredicate;
+import mage.filter.predicate.mageobject.MulticoloredPredicate;
+import mage.filter.predicate.mageobject.SubtypePredicate;
+import mage.filter.predicate.mageobject.SupertypePredicate;
+import mage.filter.predicate.permanent.PermanentIdPredicate;
+import mage.filter.predicate.permanent.TappedPredicate;
+import mage.filter.predicate.permanent.TokenPredicate;
 import mage.game.Game;
 
 import java.util.ArrayList;
@@ -132,6 +143,50 @@ public final class Predicates {
         return new OrPredicate<>(Predicates.<T>asList(first, second));
     }
 
+    /**
+     * Returns a predicate that evaluates to {@code true} if each of its components evaluates to {@code true}, like
+     * {@link #and(Iterable)}. The components that only check cheap characteristics of an object (like card type or
+     * color) are evaluated first, so evaluation is "short-circuited" before the more expensive components are
+     * evaluated. The returned predicate can be kept and reused, as long as the components are not changed.
+     * @param <T>
+     * @param components
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Predicate<T> compile(Iterable<? extends Predicate<? super T>> components) {
+        List<Predicate<? super T>> cheap = new ArrayList<>();
+        List<Predicate<? super T>> expensive = new ArrayList<>();
+        for (Predicate<? super T> component : components) {
+            if (isCheap(checkNotNull(component))) {
+                cheap.add(component);
+            } else {
+                expensive.add(component);
+            }
+        }
+        cheap.addAll(expensive);
+        if (cheap.size() == 1) {
+            return (Predicate<T>) cheap.get(0);
+        }
+        return new AndPredicate<>(cheap);
+    }
+
+    private static boolean isCheap(Predicate predicate) {
+        if (predicate instanceof NotPredicate) {
+            return isCheap(((NotPredicate) predicate).predicate);
+        }
+        return predicate instanceof CardTypePredicate
+                || predicate instanceof ColorPredicate
+                || predicate instanceof ColorlessPredicate
+                || predicate instanceof MonocoloredPredicate
+                || predicate instanceof MulticoloredPredicate
+                || predicate instanceof SubtypePredicate
+                || predicate instanceof SupertypePredicate
+                || predicate instanceof CardIdPredicate
+                || predicate instanceof PermanentIdPredicate
+                || predicate instanceof TappedPredicate
+                || predicate instanceof TokenPredicate;
+    }
+
     /**
      * @see Predicates#not(Predicate)
      */
@@ -43,6 +43,10 @@ public class SubtypePredicate implements Predicate<MageObject> {
         this.subtype = subtype;
     }
 
+    public String getSubtype() {
+        return subtype;
+    }
+
     @Override
     public boolean apply(MageObject input, Game game) {
         return input.hasSubtype(subtype);
@@ -64,13 +64,14 @@ import mage.game.turn.Turn;
 import mage.players.Player;
 import mage.players.PlayerList;
 import mage.players.Players;
+import mage.util.Copyable;
 import mage.util.functions.ApplyToPermanent;
 
 import java.io.Serializable;
 import java.util.*;
 import mage.constants.PlayerAction;
 
-public interface Game extends MageItem, Serializable {
+public interface Game extends MageItem, Serializable, Copyable<Game> {
 
     MatchType getGameType();
     int getNumPlayers();
@@ -137,6 +138,8 @@ public interface Game extends MageItem, Serializable {
     GameStates getGameStates();
     void loadGameStates(GameStates states);
     Game copy();
+    // reset a simulation game to the state of the given game instead of creating a new copy
+    void restoreSimulation(Game game);
     boolean isSimulation();
     void setSimulation(boolean simulation);
     MageObject getLastKnownInformation(UUID objectId, Zone zone);
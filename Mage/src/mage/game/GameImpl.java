@@ -33,7 +33,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -160,10 +159,8 @@ public abstract class GameImpl implements Game, Serializable {
 
     protected Map<UUID, Card> gameCards = new HashMap<>();
     
-    protected Map<Zone,HashMap<UUID, MageObject>> lki = new EnumMap<>(Zone.class);
-    protected Map<UUID, Map<Integer, MageObject>> lkiExtended = new HashMap<>();
-    // Used to check if an object was moved by the current effect in resolution (so Wrath like effect can be handled correctly)
-    protected Map<Zone, Set<UUID>> shortLivingLKI = new EnumMap<>(Zone.class);
+    // also used to check if an object was moved by the current effect in resolution (so Wrath like effect can be handled correctly)
+    protected LastKnownInformation lki = new LastKnownInformation();
 
     protected GameState state;
     private transient Stack<Integer> savedStates = new Stack<>();
@@ -223,9 +220,7 @@ public abstract class GameImpl implements Game, Serializable {
         this.gameCards = game.gameCards;
         this.simulation = game.simulation;
         this.gameOptions = game.gameOptions;
-        this.lki.putAll(game.lki);
-        this.lkiExtended.putAll(game.lkiExtended);
-        this.shortLivingLKI.putAll(game.shortLivingLKI);
+        this.lki.setTo(game.lki);
         if (logger.isDebugEnabled()) {
             copyCount++;
             copyTime += (System.currentTimeMillis() - t1);
@@ -249,6 +244,32 @@ public abstract class GameImpl implements Game, Serializable {
         this.simulation = simulation;
     }
 
+    @Override
+    public void restoreSimulation(Game game) {
+        GameImpl source = (GameImpl) game;
+        // id and startLife are final, they are the same for all copies of a game
+        this.ready = source.ready;
+        this.startingPlayerId = source.startingPlayerId;
+        this.winnerId = source.winnerId;
+        this.range = source.range;
+        this.freeMulligans = source.freeMulligans;
+        this.attackOption = source.attackOption;
+        this.state = source.state.copy();
+        this.endTime = null;
+        this.gameCards = source.gameCards;
+        this.simulation = source.simulation;
+        this.gameOptions = source.gameOptions;
+        this.lki.setTo(source.lki);
+        this.stateCheckRequired = source.stateCheckRequired;
+        this.scorePlayer = source.scorePlayer;
+        this.losingPlayer = null;
+        this.scopeRelevant = source.scopeRelevant;
+        this.priorityTime = source.priorityTime;
+        this.saveGame = source.saveGame;
+        this.savedStates.clear();
+        this.gameStates = new GameStates();
+    }
+
     @Override
     public UUID getId() {
         return id;
@@ -331,29 +352,24 @@ public abstract class GameImpl implements Game, Serializable {
             state.setZone(objectId, Zone.BATTLEFIELD);
             return object;
         }
-        for (StackObject item: state.getStack()) {
+        StackObject item = state.getStack().getStackObjectOrSpell(objectId);
+        if (item != null) {
             if (item.getId().equals(objectId)) {
                 state.setZone(objectId, Zone.STACK);
-                return item;
-            }
-            if (item.getSourceId().equals(objectId) && item instanceof Spell) {
-                return item;
             }
+            return item;
         }
 
-        for (CommandObject commandObject : state.getCommand()) {
-            if (commandObject instanceof Commander && commandObject.getId().equals(objectId)) {
-                return commandObject;
-            }
+        CommandObject commandObject = state.getCommand().getCommandObject(objectId);
+        if (commandObject instanceof Commander) {
+            return commandObject;
         }
 
         object = getCard(objectId);
 
         if (object == null) {
-            for (CommandObject commandObject : state.getCommand()) {
-                if (commandObject.getId().equals(objectId)) {
-                    return commandObject;
-                }
+            if (commandObject != null) {
+                return commandObject;
             }
             // can be an ability of a sacrificed Token trying to get it's source object
             object = getLastKnownInformation(objectId, Zone.BATTLEFIELD);
@@ -367,12 +383,7 @@ public abstract class GameImpl implements Game, Serializable {
         if (objectId == null) {
             return null;
         }
-        for (CommandObject commandObject : state.getCommand()) {
-            if (commandObject.getId().equals(objectId)) {
-                return commandObject;
-            }
-        }
-        return null;
+        return state.getCommand().getCommandObject(objectId);
     }
 
     @Override
@@ -2166,7 +2177,7 @@ public abstract class GameImpl implements Game, Serializable {
         /*if (!lki.containsKey(objectId)) {
             return getCard(objectId);
         }*/
-        Map<UUID, MageObject> lkiMap = lki.get(zone);
+        Map<UUID, MageObject> lkiMap = lki.getObjects(zone);
         if (lkiMap != null) {
             MageObject object = lkiMap.get(objectId);
             if (object != null) {
@@ -2187,13 +2198,9 @@ public abstract class GameImpl implements Game, Serializable {
     @Override
     public MageObject getLastKnownInformation(UUID objectId, Zone zone, int zoneChangeCounter) {
         if (zone.equals(Zone.BATTLEFIELD)) {
-            Map<Integer, MageObject> lkiMapExtended = lkiExtended.get(objectId);
-
-            if (lkiMapExtended != null) {
-                MageObject object = lkiMapExtended.get(zoneChangeCounter);
-                if (object != null) {
-                    return object.copy();
-                }
+            MageObject object = lki.get(objectId, zoneChangeCounter);
+            if (object != null) {
+                return object.copy();
             }
         }
 
@@ -2202,11 +2209,7 @@ public abstract class GameImpl implements Game, Serializable {
 
     @Override
     public boolean getShortLivingLKI(UUID objectId, Zone zone) {
-        Set<UUID> idSet = shortLivingLKI.get(zone);
-        if (idSet != null) {
-            return idSet.contains(objectId);
-        }
-        return false;
+        return lki.isShortLiving(objectId, zone);
     }
 
     /**
@@ -2219,35 +2222,11 @@ public abstract class GameImpl implements Game, Serializable {
     @Override
     public void rememberLKI(UUID objectId, Zone zone, MageObject object) {
         if (object instanceof Permanent || object instanceof StackObject) {
-            MageObject copy = object.copy();
-
-            Map<UUID, MageObject> lkiMap = lki.get(zone);
-            if (lkiMap != null) {
-                lkiMap.put(objectId, copy);
-            } else {
-                HashMap<UUID, MageObject> newMap = new HashMap<>();
-                newMap.put(objectId, copy);
-                lki.put(zone, newMap);
-            }
             // remembers if a object was in a zone during the resolution of an effect
             // e.g. Wrath destroys all and you the question is is the replacement effect to apply because the source was also moved by the same effect
             // because it ahppens all at the same time the replcaement effect has still to be applied
-            Set<UUID> idSet = shortLivingLKI.get(zone);
-            if (idSet == null) {
-                idSet = new HashSet<>();
-                shortLivingLKI.put(zone, idSet);
-            }
-            idSet.add(objectId);            
-            if (object instanceof Permanent) {
-                Map<Integer, MageObject> lkiExtendedMap = lkiExtended.get(objectId);
-                if (lkiExtendedMap != null) {
-                    lkiExtendedMap.put(((Permanent) object).getZoneChangeCounter(this), copy);
-                } else {
-                    lkiExtendedMap = new HashMap<>();
-                    lkiExtendedMap.put(((Permanent) object).getZoneChangeCounter(this), copy);
-                    lkiExtended.put(objectId, lkiExtendedMap);
-                }
-            }
+            Integer zoneChangeCounter = object instanceof Permanent ? ((Permanent) object).getZoneChangeCounter(this) : null;
+            lki.put(objectId, zone, object.copy(), zoneChangeCounter);
         }
     }
 
@@ -2256,13 +2235,12 @@ public abstract class GameImpl implements Game, Serializable {
      */
     @Override
     public void resetLKI() {
-        lki.clear();
-        lkiExtended.clear();
+        lki.reset();
     }
 
     @Override
     public void resetShortLivingLKI() {
-        shortLivingLKI.clear();
+        lki.resetShortLiving();
     }
 
     @Override
@@ -2306,7 +2284,7 @@ public abstract class GameImpl implements Game, Serializable {
 
     @Override
     public Map<Zone,HashMap<UUID, MageObject>> getLKI() {
-        return lki;
+        return lki.getObjects();
     }
 
     @Override
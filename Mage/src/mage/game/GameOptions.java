@@ -37,4 +37,11 @@ public class GameOptions implements Serializable {
      * If true, library won't be shuffled at the beginning of the game
      */
     public boolean skipInitShuffling = false;
+
+    /**
+     * If true, the original values of all permanents are restored before the
+     * continuous effects are applied, even if no effect changed them (used to
+     * verify the incremental application of the effects)
+     */
+    public boolean fullEffectsRecompute = false;
 }
@@ -0,0 +1,164 @@
+/*
+ *  Copyright 2011 BetaSteward_at_googlemail.com. All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ * 
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ * 
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * 
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import mage.util.Copier;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes a game recording while the game is played, see {@link GameRecording}
+ * for the format. The recorder gets the states saved by {@link GameStates}
+ * and appends them to the file as they are saved, so the recording is
+ * complete when the game ends.
+ *
+ * If the file can't be written the recording is stopped, the game itself
+ * goes on.
+ *
+ * @author magefree
+ */
+public class GameRecorder {
+
+    private static final Logger logger = Logger.getLogger(GameRecorder.class);
+
+    private final File file;
+    private final Game game;
+    private DataOutputStream out;
+    private boolean failed;
+
+    /**
+     * @param file the recording to create
+     * @param game the game to record, its snapshot is written before its first state
+     */
+    public GameRecorder(File file, Game game) {
+        this.file = file;
+        this.game = game;
+    }
+
+    /**
+     * Appends a state saved by {@link GameStates}.
+     *
+     * @param index the index of the state
+     * @param keyframe the index of the keyframe the state is encoded against
+     * @param turn the turn of the state
+     * @param data the compressed state if it is a keyframe, the delta to the keyframe otherwise
+     */
+    public synchronized void writeState(int index, int keyframe, int turn, byte[] data) {
+        if (open()) {
+            try {
+                out.writeByte(GameRecording.CHUNK_STATE);
+                out.writeInt(index);
+                out.writeInt(keyframe);
+                out.writeInt(turn);
+                out.writeInt(data.length);
+                out.write(data);
+                out.flush();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+    }
+
+    /**
+     * Marks that the saved states were rolled back to the given number of states.
+     *
+     * @param size
+     */
+    public synchronized void writeTruncate(int size) {
+        if (out != null && !failed) {
+            try {
+                out.writeByte(GameRecording.CHUNK_TRUNCATE);
+                out.writeInt(size);
+                out.flush();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+    }
+
+    public synchronized void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * @return true if a recording was written without errors
+     */
+    public synchronized boolean isRecorded() {
+        return !failed && file.exists();
+    }
+
+    private boolean open() {
+        if (failed) {
+            return false;
+        }
+        if (out == null) {
+            try {
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+                out.writeInt(GameRecording.MAGIC);
+                out.writeInt(GameRecording.VERSION);
+                byte[] snapshot = new Copier<Game>().copyCompressed(game);
+                if (snapshot == null) {
+                    throw new IOException("Game could not be serialized");
+                }
+                out.writeByte(GameRecording.CHUNK_GAME);
+                out.writeInt(snapshot.length);
+                out.write(snapshot);
+            } catch (IOException ex) {
+                fail(ex);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void fail(IOException ex) {
+        logger.error("Cannot record game " + game.getId() + " to " + file, ex);
+        failed = true;
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // already failed
+            }
+            out = null;
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright 2011 BetaSteward_at_googlemail.com. All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ * 
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ * 
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * 
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.game;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import mage.util.BinaryDelta;
+import mage.util.Copier;
+import mage.util.CopierObjectInputStream;
+import mage.util.FastByteArrayInputStream;
+
+/**
+ * Reads a game recording written by {@link GameRecorder}.
+ *
+ * The recording is a header followed by chunks that are only ever appended:
+ * <pre>
+ * header:   int MAGIC, int VERSION
+ * game:     byte CHUNK_GAME, int length, compressed serialized game
+ * state:    byte CHUNK_STATE, int index, int keyframe, int turn, int length,
+ *           compressed state if index == keyframe, delta to the keyframe otherwise
+ * truncate: byte CHUNK_TRUNCATE, int number of states left
+ * </pre>
+ * The states are encoded like in {@link GameStates}, so a keyframe is written
+ * at least every few states. Opening a recording only reads the chunk
+ * headers, a state is read from the file when it is requested together with
+ * its keyframe. A chunk that was not completely written (e.g. the server
+ * stopped during the game) is ignored.
+ *
+ * @author magefree
+ */
+public class GameRecording {
+
+    static final int MAGIC = 0x4D475243;
+    static final int VERSION = 1;
+    static final byte CHUNK_GAME = 1;
+    static final byte CHUNK_STATE = 2;
+    static final byte CHUNK_TRUNCATE = 3;
+
+    private final RandomAccessFile file;
+    private final ClassLoader loader;
+    private long gameOffset = -1;
+    private int gameLength;
+    private final List<StateEntry> states = new ArrayList<>();
+
+    // uncompressed bytes of the keyframe used last
+    private BinaryDelta cachedKeyframe;
+    private int cachedKeyframeIndex;
+
+    /**
+     * @param file
+     * @param loader the class loader of the game classes
+     * @throws IOException if the file is no game recording
+     */
+    public GameRecording(File file, ClassLoader loader) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+        this.loader = loader;
+        try {
+            readIndex();
+        } catch (IOException ex) {
+            this.file.close();
+            throw ex;
+        }
+    }
+
+    private void readIndex() throws IOException {
+        if (file.readInt() != MAGIC || file.readInt() != VERSION) {
+            throw new IOException("Not a game recording");
+        }
+        long length = file.length();
+        try {
+            while (file.getFilePointer() < length) {
+                byte type = file.readByte();
+                switch (type) {
+                    case CHUNK_GAME:
+                        gameLength = file.readInt();
+                        gameOffset = skip(gameLength, length);
+                        break;
+                    case CHUNK_STATE:
+                        int index = file.readInt();
+                        int keyframe = file.readInt();
+                        int turn = file.readInt();
+                        int dataLength = file.readInt();
+                        StateEntry entry = new StateEntry(keyframe, turn, skip(dataLength, length), dataLength);
+                        truncate(index);
+                        states.add(entry);
+                        break;
+                    case CHUNK_TRUNCATE:
+                        truncate(file.readInt());
+                        break;
+                    default:
+                        throw new IOException("Unknown chunk type " + type);
+                }
+            }
+        } catch (EOFException ex) {
+            // the last chunk was not completely written
+        }
+        if (gameOffset < 0) {
+            throw new IOException("Game recording has no game");
+        }
+    }
+
+    private long skip(int dataLength, long length) throws IOException {
+        long offset = file.getFilePointer();
+        if (offset + dataLength > length) {
+            throw new EOFException();
+        }
+        file.seek(offset + dataLength);
+        return offset;
+    }
+
+    private void truncate(int size) {
+        while (states.size() > size) {
+            states.remove(states.size() - 1);
+        }
+        if (cachedKeyframe != null && cachedKeyframeIndex >= size) {
+            cachedKeyframe = null;
+        }
+    }
+
+    /**
+     * @return the game as it was when the first state was recorded
+     * @throws IOException
+     */
+    public synchronized Game getGame() throws IOException {
+        byte[] bytes = read(gameOffset, gameLength);
+        try (ObjectInputStream in = new CopierObjectInputStream(loader, new GZIPInputStream(new FastByteArrayInputStream(bytes, bytes.length)))) {
+            return (Game) in.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Cannot read game", ex);
+        }
+    }
+
+    public int getSize() {
+        return states.size();
+    }
+
+    /**
+     * @param index
+     * @return the state or null if it couldn't be recorded
+     * @throws IOException
+     */
+    public synchronized GameState getState(int index) throws IOException {
+        StateEntry entry = states.get(index);
+        if (entry.keyframe < 0) {
+            return null;
+        }
+        BinaryDelta keyframe = getKeyframe(entry.keyframe);
+        byte[] bytes = entry.keyframe == index ? keyframe.getSource() : keyframe.decode(read(entry.offset, entry.length));
+        try (ObjectInputStream in = new CopierObjectInputStream(loader, new FastByteArrayInputStream(bytes, bytes.length))) {
+            return (GameState) in.readObject();
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Cannot read game state " + index, ex);
+        }
+    }
+
+    /**
+     * Finds the first state of a turn without reading any state.
+     *
+     * @param turn
+     * @return the index of the first state of the turn or of the last state if the game ended before
+     */
+    public int getFirstStateOfTurn(int turn) {
+        for (int i = 0; i < states.size(); i++) {
+            if (states.get(i).turn >= turn) {
+                return i;
+            }
+        }
+        return states.size() - 1;
+    }
+
+    public synchronized void close() throws IOException {
+        file.close();
+    }
+
+    private BinaryDelta getKeyframe(int index) throws IOException {
+        if (cachedKeyframe == null || cachedKeyframeIndex != index) {
+            StateEntry entry = states.get(index);
+            cachedKeyframe = new BinaryDelta(Copier.uncompress(read(entry.offset, entry.length)));
+            cachedKeyframeIndex = index;
+        }
+        return cachedKeyframe;
+    }
+
+    private byte[] read(long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        file.seek(offset);
+        file.readFully(bytes);
+        return bytes;
+    }
+
+    private static class StateEntry {
+
+        // index of the keyframe the state is encoded against, -1 if the state was not recorded
+        private final int keyframe;
+        private final int turn;
+        private final long offset;
+        private final int length;
+
+        StateEntry(int keyframe, int turn, long offset, int length) {
+            this.keyframe = keyframe;
+            this.turn = turn;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+}
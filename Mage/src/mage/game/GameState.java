@@ -29,6 +29,7 @@
 package mage.game;
 
 import mage.MageObject;
+import mage.ObjectColor;
 import mage.abilities.*;
 import mage.abilities.effects.ContinuousEffect;
 import mage.abilities.effects.ContinuousEffects;
@@ -36,6 +37,7 @@ import mage.abilities.effects.Effect;
 import mage.cards.Card;
 import mage.cards.SplitCard;
 import mage.choices.Choice;
+import mage.constants.CardType;
 import mage.constants.Zone;
 import mage.game.combat.Combat;
 import mage.game.combat.CombatGroup;
@@ -52,7 +54,9 @@ import mage.players.Player;
 import mage.players.PlayerList;
 import mage.players.Players;
 import mage.target.Target;
+import mage.util.CopyOnWriteHashMap;
 import mage.util.Copyable;
+import mage.util.StateHash;
 import mage.watchers.Watcher;
 import mage.watchers.Watchers;
 
@@ -100,12 +104,17 @@ public class GameState implements Serializable, Copyable<GameState> {
     private TriggeredAbilities triggers;
     private List<TriggeredAbility> triggered = new ArrayList<>();
     private Combat combat;
-    private Map<String, Object> values = new HashMap<>();
-    private Map<UUID, Zone> zones = new HashMap<>();
+    // the following maps are shared with copies of the state until one of them is changed
+    private CopyOnWriteHashMap<String, Object> values = new CopyOnWriteHashMap<>();
+    private CopyOnWriteHashMap<UUID, Zone> zones = new CopyOnWriteHashMap<>();
     private List<GameEvent> simultaneousEvents = new ArrayList<>();
-    private Map<UUID, CardState> cardState = new HashMap<>();
-    private Map<UUID, Integer> zoneChangeCounter = new HashMap<>();
-    private Map<UUID, Card> copiedCards = new HashMap<>();
+    private CopyOnWriteHashMap<UUID, CardState> cardState = new CopyOnWriteHashMap<>();
+    // ids of the card states that were created or copied by this state, all other
+    // card states can also be referenced by copies of the state
+    private Set<UUID> ownCardStates = new HashSet<>();
+    private CopyOnWriteHashMap<UUID, Integer> zoneChangeCounter = new CopyOnWriteHashMap<>();
+    private CopyOnWriteHashMap<UUID, Card> copiedCards = new CopyOnWriteHashMap<>();
+    private long changeCount;
     
     public GameState() {
         players = new Players();
@@ -126,6 +135,7 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public GameState(final GameState state) {
+        this.changeCount = state.changeCount;
         this.players = state.players.copy();
         this.playerList = state.playerList.copy();
         this.activePlayerId = state.activePlayerId;
@@ -135,7 +145,11 @@ public class GameState implements Serializable, Copyable<GameState> {
         this.command = state.command.copy();
         this.exile = state.exile.copy();
         this.revealed = state.revealed.copy();
-        this.lookedAt.putAll(state.lookedAt);
+        // saved copies of the state are serialized by the encoder thread of GameStates,
+        // so they must not share anything the game changes
+        for (Map.Entry<UUID, LookedAt> entry: state.lookedAt.entrySet()) {
+            this.lookedAt.put(entry.getKey(), entry.getValue().copy());
+        }
         this.battlefield = state.battlefield.copy();
         this.turnNum = state.turnNum;
         this.stepNum = state.stepNum;
@@ -152,17 +166,15 @@ public class GameState implements Serializable, Copyable<GameState> {
         this.combat = state.combat.copy();
         this.turnMods = state.turnMods.copy();
         this.watchers = state.watchers.copy();
-        for (Map.Entry<String, Object> entry: state.values.entrySet()) {
-                this.values.put(entry.getKey(), entry.getValue());
-        }
-        this.zones.putAll(state.zones);
+        this.values = state.values.copy();
+        this.zones = state.zones.copy();
         this.paused = state.paused;
         this.simultaneousEvents.addAll(state.simultaneousEvents);
-        for (Map.Entry<UUID, CardState> entry: state.cardState.entrySet()) {
-            cardState.put(entry.getKey(), entry.getValue().copy());
-        }
-        this.zoneChangeCounter.putAll(state.zoneChangeCounter);
-        this.copiedCards.putAll(state.copiedCards);
+        // a card state is copied the first time one of the two states needs to change it
+        this.cardState = state.cardState.copy();
+        state.ownCardStates.clear();
+        this.zoneChangeCounter = state.zoneChangeCounter.copy();
+        this.copiedCards = state.copiedCards.copy();
     }
 
     @Override
@@ -273,6 +285,127 @@ public class GameState implements Serializable, Copyable<GameState> {
         return sb.toString();
     }
 
+    /**
+     * Returns a 64 bit hash of the position, the cheap counterpart of
+     * {@link #getValue(boolean, Game)} to compare and cache game states.
+     *
+     * The hashes of the cards in hands, libraries, graveyards and exile are
+     * updated incrementally when cards move between zones. Life, counters,
+     * mana pools and played lands of the players, the state and the layered
+     * characteristics (power, toughness, types, colors and abilities) of the
+     * permanents and the continuous effects in play are read from their
+     * fields when the hash is requested, without building strings or copies.
+     * They are not kept up to date incrementally: they are set through many
+     * setters of players, permanents and counters that don't know the state
+     * they belong to, and the layered characteristics are recalculated on
+     * every application of the continuous effects anyway.
+     *
+     * @return
+     */
+    public long getHash() {
+        return getHash(true);
+    }
+
+    /**
+     * @param useHidden if false only the number of cards in hands and
+     * libraries is part of the hash
+     * @return
+     * @see #getHash()
+     */
+    public long getHash(boolean useHidden) {
+        long hash = StateHash.combine(turnNum, turn.getPhaseType() == null ? -1 : turn.getPhaseType().ordinal());
+        hash = StateHash.combine(hash, turn.getStepType() == null ? -1 : turn.getStepType().ordinal());
+        hash = StateHash.combine(hash, activePlayerId);
+        hash = StateHash.combine(hash, priorityPlayerId);
+
+        for (Player player: players.values()) {
+            long playerHash = StateHash.combine(StateHash.hash(player.getId()), player.getLife());
+            playerHash = StateHash.combine(playerHash, player.isPassed() ? 1 : 0);
+            playerHash = StateHash.combine(playerHash, player.getCounters().getHash());
+            playerHash = StateHash.combine(playerHash, player.getLandsPlayed());
+            playerHash = StateHash.combine(playerHash, player.getManaPool().getHash());
+            if (useHidden) {
+                playerHash = StateHash.combine(playerHash, player.getHand().getHash());
+                playerHash = StateHash.combine(playerHash, player.getLibrary().getHash());
+            } else {
+                playerHash = StateHash.combine(playerHash, player.getHand().size());
+                playerHash = StateHash.combine(playerHash, player.getLibrary().size());
+            }
+            playerHash = StateHash.combine(playerHash, player.getGraveyard().getHash());
+            hash ^= playerHash;
+        }
+
+        for (Permanent permanent: battlefield.getAllPermanents()) {
+            long permanentHash = StateHash.combine(StateHash.hash(permanent.getId()), permanent.getControllerId());
+            permanentHash = StateHash.combine(permanentHash, (permanent.isTapped() ? 1 : 0) | (permanent.isPhasedIn() ? 2 : 0)
+                    | (permanent.isFlipped() ? 4 : 0) | (permanent.isTransformed() ? 8 : 0));
+            permanentHash = StateHash.combine(permanentHash, permanent.getDamage());
+            permanentHash = StateHash.combine(permanentHash, permanent.getCounters().getHash());
+            permanentHash = StateHash.combine(permanentHash, permanent.getAttachedTo());
+            permanentHash = StateHash.combine(permanentHash, permanent.getPower().getValue());
+            permanentHash = StateHash.combine(permanentHash, permanent.getToughness().getValue());
+            ObjectColor color = permanent.getColor();
+            permanentHash = StateHash.combine(permanentHash, (color.isWhite() ? 1 : 0) | (color.isBlue() ? 2 : 0)
+                    | (color.isBlack() ? 4 : 0) | (color.isRed() ? 8 : 0) | (color.isGreen() ? 16 : 0));
+            for (CardType cardType: permanent.getCardType()) {
+                permanentHash = StateHash.combine(permanentHash, cardType.ordinal());
+            }
+            for (String subtype: permanent.getSubtype()) {
+                permanentHash = StateHash.combine(permanentHash, subtype.hashCode());
+            }
+            for (Ability ability: permanent.getAbilities()) {
+                permanentHash = StateHash.combine(permanentHash, ability.getOriginalId());
+            }
+            hash ^= permanentHash;
+        }
+
+        for (StackObject stackObject: stack) {
+            hash = StateHash.combine(hash, stackObject.getControllerId());
+            hash = StateHash.combine(hash, stackObject.getSourceId());
+            Ability ability = stackObject.getStackAbility();
+            hash = StateHash.combine(hash, ability.getOriginalId());
+            for (Mode mode: ability.getModes().values()) {
+                for (Target target: mode.getTargets()) {
+                    for (UUID targetId: target.getTargets()) {
+                        hash = StateHash.combine(hash, targetId);
+                    }
+                }
+            }
+        }
+
+        for (ExileZone zone: exile.getExileZones()) {
+            hash ^= StateHash.combine(StateHash.hash(zone.getId()), zone.getHash());
+        }
+
+        for (CommandObject commandObject: command) {
+            hash ^= StateHash.hash(commandObject.getId());
+        }
+
+        for (CombatGroup group: combat.getGroups()) {
+            hash = StateHash.combine(hash, group.getDefenderId());
+            for (UUID attackerId: group.getAttackers()) {
+                hash = StateHash.combine(hash, attackerId);
+            }
+            for (UUID blockerId: group.getBlockers()) {
+                hash = StateHash.combine(hash, blockerId);
+            }
+        }
+
+        return StateHash.combine(hash, effects.getHash());
+    }
+
+    /**
+     * Counts the handled events, the added continuous effects and the
+     * applications of the continuous effects. Anything that changes the game
+     * does at least one of them, so values computed from the state stay valid
+     * while the count is the same.
+     *
+     * @return
+     */
+    public long getChangeCount() {
+        return changeCount;
+    }
+
     public Players getPlayers() {
         return players;
     }
@@ -396,6 +529,7 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public void applyEffects(Game game) {
+        changeCount++;
         game.resetShortLivingLKI();
         for (Player player: players.values()) {
             player.reset();
@@ -404,6 +538,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         combat.reset();
         this.reset();
         effects.apply(game);
+        battlefield.enableIndexes();
     }
 
     // Remove End of Combat effects
@@ -420,10 +555,12 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public void addEffect(ContinuousEffect effect, Ability source) {
+        changeCount++;
         effects.addEffect(effect, source);
     }
 
     public void addEffect(ContinuousEffect effect, UUID sourceId, Ability source) {
+        changeCount++;
         if (sourceId == null) {
             effects.addEffect(effect, source);
         } else {
@@ -480,10 +617,14 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public void setZone(UUID id, Zone zone) {
-        zones.put(id, zone);
+        if (zones.get(id) != zone || !zones.containsKey(id)) {
+            zones.put(id, zone);
+        }
     }
 
     public void restore(GameState state) {
+        // values found for the state before the rollback are not valid anymore
+        changeCount++;
         this.stack = state.stack;
         this.command = state.command;
         this.effects = state.effects;
@@ -492,16 +633,18 @@ public class GameState implements Serializable, Copyable<GameState> {
         this.combat = state.combat;
         this.exile = state.exile;
         this.battlefield = state.battlefield;
-        this.zones = state.zones;
-        this.values = state.values;
+        this.zones = state.zones.copy();
+        this.values = state.values.copy();
         for (Player copyPlayer: state.players.values()) {
             Player origPlayer = players.get(copyPlayer.getId());
             origPlayer.restore(copyPlayer);
         }
         this.simultaneousEvents = state.simultaneousEvents;
-        this.cardState = state.cardState;
-        this.zoneChangeCounter = state.zoneChangeCounter;
-        this.copiedCards = state.copiedCards;
+        this.cardState = state.cardState.copy();
+        this.ownCardStates.clear();
+        state.ownCardStates.clear();
+        this.zoneChangeCounter = state.zoneChangeCounter.copy();
+        this.copiedCards = state.copiedCards.copy();
     }
 
     public void addSimultaneousEvent(GameEvent event, Game game) {
@@ -524,6 +667,8 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public void handleEvent(GameEvent event, Game game) {
+        changeCount++;
+        battlefield.invalidateIndexes(event);
         watchers.watch(event, game);
         delayed.checkTriggers(event, game);
         triggers.checkTriggers(event, game);
@@ -547,6 +692,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         if (copiedCards.containsKey(card.getId())) {
             copiedCards.remove(card.getId());
             cardState.remove(card.getId());
+            ownCardStates.remove(card.getId());
             zones.remove(card.getId());
             zoneChangeCounter.remove(card.getId());
         }
@@ -688,15 +834,24 @@ public class GameState implements Serializable, Copyable<GameState> {
      * @return
      */
     public Abilities<ActivatedAbility> getActivatedOtherAbilities(UUID objectId, Zone zone) {
-        if (cardState.containsKey(objectId)) {
-            return cardState.get(objectId).getAbilities().getActivatedAbilities(zone);
+        CardState state = cardState.get(objectId);
+        if (state != null) {
+            return state.getAbilities().getActivatedAbilities(zone);
         }
         return null;
     }
     
+    /**
+     * Returns the other abilities of the object to read them, they must only be
+     * changed through {@link #getCardState(UUID)}.
+     *
+     * @param objectId
+     * @return
+     */
     public Abilities<Ability> getAllOtherAbilities(UUID objectId) {
-        if (cardState.containsKey(objectId)) {
-            return cardState.get(objectId).getAbilities();
+        CardState state = cardState.get(objectId);
+        if (state != null) {
+            return state.getAbilities();
         }
         return null;
     }
@@ -709,10 +864,7 @@ public class GameState implements Serializable, Copyable<GameState> {
     public void addOtherAbility(Card attachedTo, Ability ability) {
         ability.setSourceId(attachedTo.getId());
         ability.setControllerId(attachedTo.getOwnerId());        
-        if (!cardState.containsKey(attachedTo.getId())) {
-            cardState.put(attachedTo.getId(), new CardState());
-        }
-        cardState.get(attachedTo.getId()).addAbility(ability);
+        getCardState(attachedTo.getId()).addAbility(ability);
         addAbility(ability, attachedTo.getId(), attachedTo);
     }
 
@@ -735,8 +887,19 @@ public class GameState implements Serializable, Copyable<GameState> {
         triggers.removeAllGainedAbilities();
         getContinuousEffects().removeAllTemporaryEffects();
         this.setLegendaryRuleActive(true);
-        for (CardState state: cardState.values()) {
-            state.clearAbilities();
+        List<UUID> withAbilities = null;
+        for (Map.Entry<UUID, CardState> entry: cardState.entrySet()) {
+            if (entry.getValue().hasAbilities()) {
+                if (withAbilities == null) {
+                    withAbilities = new ArrayList<>();
+                }
+                withAbilities.add(entry.getKey());
+            }
+        }
+        if (withAbilities != null) {
+            for (UUID cardId: withAbilities) {
+                getCardState(cardId).clearAbilities();
+            }
         }
     }
 
@@ -758,6 +921,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         gameOver = false;
         specialActions.clear();
         cardState.clear();
+        ownCardStates.clear();
         combat.clear();
         turnMods.clear();
         watchers.clear();
@@ -794,11 +958,36 @@ public class GameState implements Serializable, Copyable<GameState> {
         return triggers;
     }
     
+    /**
+     * Returns the state of the card to change it. If the state of the card is
+     * still shared with a copy of this state, it's copied first.
+     *
+     * @param cardId
+     * @return
+     */
     public CardState getCardState(UUID cardId) {
-        if (!cardState.containsKey(cardId)) {
-            cardState.put(cardId, new CardState());
-            // cardState.putIfAbsent(cardId, new CardState());
+        CardState state = cardState.get(cardId);
+        if (state == null) {
+            state = new CardState();
+        } else if (ownCardStates.contains(cardId)) {
+            return state;
+        } else {
+            state = state.copy();
         }
+        cardState.put(cardId, state);
+        ownCardStates.add(cardId);
+        return state;
+    }
+
+    /**
+     * Returns the state of the card to read it. Other than
+     * {@link #getCardState(UUID)} it doesn't copy card states that are shared
+     * with a copy of this state, so the returned state must not be changed.
+     *
+     * @param cardId
+     * @return the state of the card or null if the card has no state
+     */
+    public CardState getReadOnlyCardState(UUID cardId) {
         return cardState.get(cardId);
     }
 
@@ -819,7 +1008,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         this.zoneChangeCounter.put(objectId, value);
         // card is changing zone so clear state
         if (cardState.containsKey(objectId)) {
-            this.cardState.get(objectId).clear();
+            getCardState(objectId).clear();
         }
     }
 
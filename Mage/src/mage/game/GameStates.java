@@ -28,13 +28,35 @@
 
 package mage.game;
 
-import org.apache.log4j.Logger;
-
 import java.io.Serializable;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import mage.util.BinaryDelta;
+import mage.util.Copier;
+import org.apache.log4j.Logger;
 
 /**
+ * Journal of saved game states used for undo (bookmarks) and replays.
+ *
+ * The last saved states are kept as copies, so undoing a bookmark that was
+ * just set doesn't need to decode anything and bookmarks that are removed
+ * again soon are never serialized. Older states are kept serialized. Every
+ * few states a compressed keyframe is stored, the states in between are
+ * stored as binary deltas against their keyframe. So the memory used grows
+ * with the changes between the states and not with the size of the board.
+ *
+ * The states are encoded by a background thread, so saving a state only
+ * costs the game thread the copy of the state. Getting or removing one of
+ * the older states waits until the running encoding is done.
+ *
+ * A {@link GameRecorder} set for the journal gets every saved state when it
+ * is encoded, so a game recording can be written while the game is played.
+ * {@link #flush()} has to be called before the recording is finished.
  *
  * @author BetaSteward_at_googlemail.com
  */
@@ -42,46 +64,258 @@ public class GameStates implements Serializable {
 
     private static final transient Logger logger = Logger.getLogger(GameStates.class);
 
-//    private List<byte[]> states = new LinkedList<byte[]>();
-    private final List<GameState> states = new LinkedList<>();
+    // max number of deltas that are encoded against the same keyframe
+    private static final int MAX_DELTAS_PER_KEYFRAME = 32;
+    // number of the last saved states that are kept as copies
+    private static final int MAX_UNENCODED_STATES = 4;
+
+    private static final ExecutorService encoder = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "GAME STATES ENCODER");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // changes of the list and its entries are synchronized on the list
+    private final List<SavedState> states = new ArrayList<>();
+    // index of the first state that is not encoded yet
+    private int encodedStates;
+    // the task encoding the older states, null if none is running
+    private transient Future<?> encoding;
+
+    // uncompressed bytes of the keyframe used last
+    private transient BinaryDelta cachedKeyframe;
+    private transient int cachedKeyframeIndex;
+
+    private transient GameRecorder recorder;
 
     public void save(GameState gameState) {
-//        states.add(new Copier<GameState>().copyCompressed(gameState));
-        states.add(gameState.copy());
+        GameState copy = gameState.copy();
+        synchronized (states) {
+            states.add(new SavedState(-1, null, copy));
+            if (encoding == null && states.size() - encodedStates > MAX_UNENCODED_STATES) {
+                encoding = encoder.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        encodeOldStates();
+                    }
+                });
+            }
+        }
         logger.trace("Saved game state: " + states.size());
     }
 
+    /**
+     * Encodes the states that are still kept as copies
+     */
+    public void flush() {
+        waitForEncoding();
+        while (encodedStates < states.size()) {
+            encode(encodedStates);
+        }
+    }
+
     public int getSize() {
         return states.size();
     }
 
     public GameState rollback(int index) {
         if (states.size() > 0 && index < states.size()) {
-            while (states.size() > index + 1) {
-                states.remove(states.size() - 1);
-            }
-//            return new Copier<GameState>().uncompressCopy(states.get(index));
+            truncate(index + 1);
             logger.trace("Rolling back state: " + index);
-            return states.get(index);
+            return get(index);
         }
         return null;
     }
 
     public int remove(int index) {
         if (states.size() > 0 && index < states.size()) {
-            while (states.size() > index && states.size() > 0) {
-                states.remove(states.size() - 1);
-            }
+            truncate(index);
         }
         return states.size();
     }
 
     public GameState get(int index) {
         if (index < states.size()) {
-            // return new Copier<GameState>().uncompressCopy(states.get(index));
-            return states.get(index);
+            if (index < states.size() - MAX_UNENCODED_STATES) {
+                // the state may be encoded right now
+                waitForEncoding();
+            }
+            SavedState savedState;
+            synchronized (states) {
+                savedState = states.get(index);
+            }
+            if (savedState.state != null) {
+                // the returned state is changed by the game, the saved one must not
+                return savedState.state.copy();
+            }
+            BinaryDelta keyframe = getKeyframe(savedState.keyframe);
+            if (savedState.keyframe == index) {
+                return new Copier<GameState>().copyFromBytes(keyframe.getSource());
+            }
+            return new Copier<GameState>().copyFromBytes(keyframe.decode(savedState.data));
         }
         return null;
     }
 
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    private void truncate(int size) {
+        if (size < states.size() - MAX_UNENCODED_STATES) {
+            // some of the removed states may be encoded right now
+            waitForEncoding();
+        }
+        synchronized (states) {
+            while (states.size() > size) {
+                states.remove(states.size() - 1);
+            }
+            // states up to the new size can only be encoded if no encoding is running
+            if (encodedStates > size) {
+                // the recorder only got the states that were encoded
+                if (recorder != null) {
+                    recorder.writeTruncate(size);
+                }
+                if (cachedKeyframe != null && cachedKeyframeIndex >= size) {
+                    cachedKeyframe = null;
+                }
+                encodedStates = size;
+            }
+        }
+    }
+
+    private void encodeOldStates() {
+        while (true) {
+            int index;
+            synchronized (states) {
+                if (states.size() - encodedStates <= MAX_UNENCODED_STATES) {
+                    encoding = null;
+                    return;
+                }
+                index = encodedStates;
+            }
+            encode(index);
+        }
+    }
+
+    private void waitForEncoding() {
+        Future<?> pending;
+        synchronized (states) {
+            pending = encoding;
+        }
+        if (pending == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                pending.get();
+                break;
+            } catch (InterruptedException ex) {
+                // the states must not be changed while they are encoded
+                interrupted = true;
+            } catch (ExecutionException ex) {
+                logger.error("Encoding the game states failed", ex);
+                synchronized (states) {
+                    encoding = null;
+                }
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void encode(int index) {
+        GameState gameState;
+        int keyframeIndex;
+        synchronized (states) {
+            gameState = states.get(index).state;
+            keyframeIndex = getLastKeyframeIndex(index);
+        }
+        byte[] bytes;
+        try {
+            bytes = new Copier<GameState>().copyToBytes(gameState);
+        } catch (RuntimeException ex) {
+            logger.error("Could not serialize game state", ex);
+            bytes = null;
+        }
+        if (bytes == null) {
+            logger.warn("Game state could not be serialized, keeping the copy instead");
+            if (recorder != null) {
+                recorder.writeState(index, -1, gameState.getTurnNum(), new byte[0]);
+            }
+        } else {
+            SavedState savedState = null;
+            if (keyframeIndex >= 0 && index - keyframeIndex <= MAX_DELTAS_PER_KEYFRAME) {
+                byte[] delta = getKeyframe(keyframeIndex).encode(bytes);
+                if (delta.length < bytes.length / 4) {
+                    savedState = new SavedState(keyframeIndex, delta, null);
+                }
+            }
+            if (savedState == null) {
+                savedState = new SavedState(index, Copier.compress(bytes), null);
+                cachedKeyframe = new BinaryDelta(bytes);
+                cachedKeyframeIndex = index;
+            }
+            synchronized (states) {
+                states.set(index, savedState);
+            }
+            if (recorder != null) {
+                recorder.writeState(index, savedState.keyframe, gameState.getTurnNum(), savedState.data);
+            }
+        }
+        synchronized (states) {
+            encodedStates = index + 1;
+        }
+    }
+
+    /**
+     * @param index
+     * @return the keyframe of the state saved before the state with the
+     * given index, -1 if there is none
+     */
+    private int getLastKeyframeIndex(int index) {
+        if (index == 0) {
+            return -1;
+        }
+        return states.get(index - 1).keyframe;
+    }
+
+    private BinaryDelta getKeyframe(int index) {
+        if (cachedKeyframe == null || cachedKeyframeIndex != index) {
+            byte[] data;
+            synchronized (states) {
+                data = states.get(index).data;
+            }
+            cachedKeyframe = new BinaryDelta(Copier.uncompress(data));
+            cachedKeyframeIndex = index;
+        }
+        return cachedKeyframe;
+    }
+
+    private static class SavedState implements Serializable {
+
+        // index of the keyframe the state is encoded against, -1 if the state is not serialized
+        private final int keyframe;
+        // compressed state for keyframes, delta to the keyframe otherwise
+        private final byte[] data;
+        // copy of the state if it is not encoded yet or could not be serialized
+        private final GameState state;
+
+        SavedState(int keyframe, byte[] data, GameState state) {
+            this.keyframe = keyframe;
+            this.data = data;
+            this.state = state;
+        }
+    }
+
 }
@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2011 BetaSteward_at_googlemail.com. All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ * 
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ * 
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ * 
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+
+package mage.game;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import mage.MageObject;
+import mage.constants.Zone;
+import mage.util.Copyable;
+
+/**
+ * Last known information of the objects that left a zone, see {@link Game#rememberLKI}.
+ *
+ * The stored objects are snapshots that are never changed, so a copy of the
+ * store shares them and the maps holding them with the original. A map is
+ * only copied by the store that changes it first after the copy, so game
+ * copies made by the AI don't copy the last known information they never
+ * change.
+ *
+ * The snapshots are freed a generation at a time: resetting the store (done
+ * when a stack object resolved) drops all its maps without clearing the ones
+ * copies still use.
+ *
+ * @author magefree
+ */
+public class LastKnownInformation implements Serializable, Copyable<LastKnownInformation> {
+
+    private Map<Zone, HashMap<UUID, MageObject>> objects = new EnumMap<>(Zone.class);
+    // snapshots of permanents by object id and zone change counter
+    private Map<UUID, Map<Integer, MageObject>> permanents = new HashMap<>();
+    // objects moved by the current effect in resolution
+    private Map<Zone, Set<UUID>> shortLiving = new EnumMap<>(Zone.class);
+
+    // the maps this store may change, all others can be shared with copies
+    private boolean objectsOwned = true;
+    private final Set<Zone> objectZonesOwned = EnumSet.noneOf(Zone.class);
+    private boolean permanentsOwned = true;
+    private boolean shortLivingOwned = true;
+    private final Set<Zone> shortLivingZonesOwned = EnumSet.noneOf(Zone.class);
+
+    public LastKnownInformation() {
+    }
+
+    public LastKnownInformation(final LastKnownInformation lki) {
+        setTo(lki);
+    }
+
+    @Override
+    public LastKnownInformation copy() {
+        return new LastKnownInformation(this);
+    }
+
+    /**
+     * Makes this store share all snapshots of the other store.
+     *
+     * @param lki
+     */
+    public void setTo(LastKnownInformation lki) {
+        lki.disown();
+        this.disown();
+        this.objects = lki.objects;
+        this.permanents = lki.permanents;
+        this.shortLiving = lki.shortLiving;
+    }
+
+    private void disown() {
+        objectsOwned = false;
+        objectZonesOwned.clear();
+        permanentsOwned = false;
+        shortLivingOwned = false;
+        shortLivingZonesOwned.clear();
+    }
+
+    public MageObject get(UUID objectId, int zoneChangeCounter) {
+        Map<Integer, MageObject> snapshots = permanents.get(objectId);
+        if (snapshots != null) {
+            return snapshots.get(zoneChangeCounter);
+        }
+        return null;
+    }
+
+    /**
+     * @param zone
+     * @return the snapshots of the objects that left the zone, must not be changed
+     */
+    public HashMap<UUID, MageObject> getObjects(Zone zone) {
+        return objects.get(zone);
+    }
+
+    /**
+     * @return the snapshots of all zones, must not be changed
+     */
+    public Map<Zone, HashMap<UUID, MageObject>> getObjects() {
+        return objects;
+    }
+
+    public boolean isShortLiving(UUID objectId, Zone zone) {
+        Set<UUID> ids = shortLiving.get(zone);
+        return ids != null && ids.contains(objectId);
+    }
+
+    /**
+     * Stores the snapshot of an object that left the zone.
+     *
+     * @param objectId
+     * @param zone
+     * @param snapshot a copy of the object that is not changed afterwards
+     * @param zoneChangeCounter the zone change counter of a permanent, null for other objects
+     */
+    public void put(UUID objectId, Zone zone, MageObject snapshot, Integer zoneChangeCounter) {
+        if (!objectsOwned) {
+            objects = new EnumMap<>(objects);
+            objectsOwned = true;
+        }
+        HashMap<UUID, MageObject> zoneObjects = objects.get(zone);
+        if (zoneObjects == null) {
+            zoneObjects = new HashMap<>();
+            objects.put(zone, zoneObjects);
+            objectZonesOwned.add(zone);
+        } else if (objectZonesOwned.add(zone)) {
+            zoneObjects = new HashMap<>(zoneObjects);
+            objects.put(zone, zoneObjects);
+        }
+        zoneObjects.put(objectId, snapshot);
+
+        if (!shortLivingOwned) {
+            shortLiving = new EnumMap<>(shortLiving);
+            shortLivingOwned = true;
+        }
+        Set<UUID> ids = shortLiving.get(zone);
+        if (ids == null) {
+            ids = new HashSet<>();
+            shortLiving.put(zone, ids);
+            shortLivingZonesOwned.add(zone);
+        } else if (shortLivingZonesOwned.add(zone)) {
+            ids = new HashSet<>(ids);
+            shortLiving.put(zone, ids);
+        }
+        ids.add(objectId);
+
+        if (zoneChangeCounter != null) {
+            if (!permanentsOwned) {
+                permanents = new HashMap<>(permanents);
+                permanentsOwned = true;
+            }
+            // the maps per object only hold a few snapshots, they are replaced instead of tracking their owners
+            Map<Integer, MageObject> snapshots = permanents.get(objectId);
+            snapshots = snapshots == null ? new HashMap<Integer, MageObject>() : new HashMap<>(snapshots);
+            snapshots.put(zoneChangeCounter, snapshot);
+            permanents.put(objectId, snapshots);
+        }
+    }
+
+    /**
+     * Frees all snapshots of the current generation.
+     */
+    public void reset() {
+        objects = new EnumMap<>(Zone.class);
+        objectsOwned = true;
+        objectZonesOwned.clear();
+        permanents = new HashMap<>();
+        permanentsOwned = true;
+    }
+
+    public void resetShortLiving() {
+        shortLiving = new EnumMap<>(Zone.class);
+        shortLivingOwned = true;
+        shortLivingZonesOwned.clear();
+    }
+
+}
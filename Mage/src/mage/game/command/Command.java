@@ -29,6 +29,9 @@
 package mage.game.command;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  *
@@ -36,6 +39,10 @@ import java.util.ArrayList;
  */
 public class Command extends ArrayList<CommandObject> {
 
+    // index of the command objects by id, rebuilt if the list was changed since
+    private transient Map<UUID, CommandObject> index;
+    private transient int indexModCount;
+
     public Command () {}
 
     public Command(final Command command) {
@@ -48,6 +55,34 @@ public class Command extends ArrayList<CommandObject> {
         }
     }*/
 
+    public CommandObject getCommandObject(UUID objectId) {
+        if (objectId == null || isEmpty()) {
+            return null;
+        }
+        if (index == null || indexModCount != modCount) {
+            index = new HashMap<>();
+            for (CommandObject commandObject: this) {
+                if (!index.containsKey(commandObject.getId())) {
+                    index.put(commandObject.getId(), commandObject);
+                }
+            }
+            indexModCount = modCount;
+        }
+        CommandObject commandObject = index.get(objectId);
+        if (commandObject != null && !objectId.equals(commandObject.getId())) {
+            index = null;
+            return getCommandObject(objectId);
+        }
+        return commandObject;
+    }
+
+    @Override
+    public CommandObject set(int index, CommandObject element) {
+        // set doesn't change the modCount of the list
+        this.index = null;
+        return super.set(index, element);
+    }
+
     public Command copy() {
         return new Command(this);
     }
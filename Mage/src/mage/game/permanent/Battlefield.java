@@ -31,17 +31,27 @@ package mage.game.permanent;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import mage.abilities.keyword.ChangelingAbility;
 import mage.abilities.keyword.PhasingAbility;
 import mage.constants.CardType;
 import mage.constants.RangeOfInfluence;
 import mage.filter.FilterPermanent;
+import mage.filter.predicate.Predicate;
+import mage.filter.predicate.mageobject.CardTypePredicate;
+import mage.filter.predicate.mageobject.SubtypePredicate;
 import mage.game.Game;
+import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 
 /**
  *
@@ -49,7 +59,17 @@ import mage.game.Game;
  */
 public class Battlefield implements Serializable {
 
+    // permanents put onto or removed from the battlefield drop the indexes themselves
+    private static final Set<EventType> INDEX_CHANGING_EVENTS = EnumSet.of(
+            EventType.GAINED_CONTROL, EventType.LOST_CONTROL,
+            EventType.TRANSFORMED, EventType.FLIPPED, EventType.UNFLIPPED,
+            EventType.TURNEDFACEUP, EventType.TURNEDFACEDOWN);
+
     private final Map<UUID, Permanent> field = new LinkedHashMap<>();
+    // built when first needed and dropped if the permanents may have changed
+    private transient Indexes indexes;
+    // while continuous effects are applied, the types and controllers of the permanents change
+    private transient boolean indexesEnabled;
 
     public Battlefield () {}
 
@@ -57,6 +77,7 @@ public class Battlefield implements Serializable {
         for (Entry<UUID, Permanent> entry: battlefield.field.entrySet()) {
             field.put(entry.getKey(), entry.getValue().copy());
         }
+        this.indexesEnabled = battlefield.indexesEnabled;
     }
 
     public Battlefield copy() {
@@ -64,6 +85,7 @@ public class Battlefield implements Serializable {
     }
 
     public void reset(Game game) {
+        disableIndexes();
         for (Permanent perm: field.values()) {
             perm.reset(game);
         }
@@ -71,6 +93,42 @@ public class Battlefield implements Serializable {
 
     public void clear() {
         field.clear();
+        indexes = null;
+    }
+
+    /**
+     * Drops the indexes of the permanents by controller, card type and subtype.
+     * Has to be called if the types or the controller of a permanent may have
+     * changed.
+     */
+    public void invalidateIndexes() {
+        indexes = null;
+    }
+
+    /**
+     * Drops the indexes if the event tells that the controller or the types
+     * of a permanent changed outside of the application of the continuous
+     * effects.
+     *
+     * @param event
+     */
+    public void invalidateIndexes(GameEvent event) {
+        if (INDEX_CHANGING_EVENTS.contains(event.getType())) {
+            indexes = null;
+        }
+    }
+
+    /**
+     * Drops the indexes and doesn't use them until {@link #enableIndexes()} is
+     * called, e.g. while continuous effects are applied.
+     */
+    public void disableIndexes() {
+        indexes = null;
+        indexesEnabled = false;
+    }
+
+    public void enableIndexes() {
+        indexesEnabled = true;
     }
 
     /**
@@ -86,7 +144,7 @@ public class Battlefield implements Serializable {
      */
     public int countAll(FilterPermanent filter, UUID controllerId, Game game) {
         int count = 0;
-        for (Permanent permanent: field.values()) {
+        for (Permanent permanent: getCandidates(filter, controllerId)) {
             if (permanent.getControllerId().equals(controllerId) && filter.match(permanent, game) && permanent.isPhasedIn()) {
                 count++;
             }
@@ -108,7 +166,7 @@ public class Battlefield implements Serializable {
     public int count(FilterPermanent filter, UUID sourceId, UUID sourcePlayerId, Game game) {
         int count = 0;
         if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
-            for (Permanent permanent: field.values()) {
+            for (Permanent permanent: getCandidates(filter, null)) {
                 if (filter.match(permanent, sourceId, sourcePlayerId, game)  && permanent.isPhasedIn()) {
                     count++;
                 }
@@ -116,7 +174,7 @@ public class Battlefield implements Serializable {
         }
         else {
             Set<UUID> range = game.getPlayer(sourcePlayerId).getInRange();
-            for (Permanent permanent: field.values()) {
+            for (Permanent permanent: getCandidates(filter, null)) {
                 if (range.contains(permanent.getControllerId()) && filter.match(permanent, sourceId, sourcePlayerId, game)  && permanent.isPhasedIn()) {
                     count++;
                 }
@@ -137,7 +195,7 @@ public class Battlefield implements Serializable {
      */
     public boolean contains(FilterPermanent filter, int num, Game game) {
         int count = 0;
-        for (Permanent permanent: field.values()) {
+        for (Permanent permanent: getCandidates(filter, null)) {
             if (filter.match(permanent, game) && permanent.isPhasedIn()) {
                 count++;
                 if (num == count) {
@@ -161,7 +219,7 @@ public class Battlefield implements Serializable {
      */
     public boolean contains(FilterPermanent filter, UUID controllerId, int num, Game game) {
         int count = 0;
-        for (Permanent permanent: field.values()) {
+        for (Permanent permanent: getCandidates(filter, controllerId)) {
             if (permanent.getControllerId().equals(controllerId) && filter.match(permanent, game) && permanent.isPhasedIn()) {
                 count++;
                 if (num == count) {
@@ -186,7 +244,7 @@ public class Battlefield implements Serializable {
     public boolean contains(FilterPermanent filter, UUID sourcePlayerId, Game game, int num) {
         int count = 0;
         if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
-            for (Permanent permanent: field.values()) {
+            for (Permanent permanent: getCandidates(filter, null)) {
                 if (filter.match(permanent, null, sourcePlayerId, game) && permanent.isPhasedIn()) {
                     count++;
                     if (num == count) {
@@ -197,7 +255,7 @@ public class Battlefield implements Serializable {
         }
         else {
             Set<UUID> range = game.getPlayer(sourcePlayerId).getInRange();
-            for (Permanent permanent: field.values()) {
+            for (Permanent permanent: getCandidates(filter, null)) {
                 if (range.contains(permanent.getControllerId()) && filter.match(permanent, null, sourcePlayerId, game) && permanent.isPhasedIn()) {
                     count++;
                     if (num == count) {
@@ -211,6 +269,7 @@ public class Battlefield implements Serializable {
 
     public void addPermanent(Permanent permanent) {
         field.put(permanent.getId(), permanent);
+        indexes = null;
     }
 
     public Permanent getPermanent(UUID key) {
@@ -218,7 +277,9 @@ public class Battlefield implements Serializable {
     }
 
     public void removePermanent(UUID key) {
-        field.remove(key);
+        if (field.remove(key) != null) {
+            indexes = null;
+        }
     }
 
     public boolean containsPermanent(UUID key) {
@@ -265,7 +326,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(UUID controllerId) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm: field.values()) {
+        for (Permanent perm: getCandidates(controllerId)) {
             if (perm.isPhasedIn() && perm.getControllerId().equals(controllerId)) {
                 active.add(perm);
             }
@@ -283,7 +344,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(CardType type) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm: field.values()) {
+        for (Permanent perm: getCandidates(type)) {
             if (perm.isPhasedIn() && perm.getCardType().contains(type)) {
                 active.add(perm);
             }
@@ -303,7 +364,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(FilterPermanent filter, Game game) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm: field.values()) {
+        for (Permanent perm: getCandidates(filter, null)) {
             if (perm.isPhasedIn() && filter.match(perm, game)) {
                 active.add(perm);
             }
@@ -323,7 +384,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(FilterPermanent filter, UUID controllerId, Game game) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm: field.values()) {
+        for (Permanent perm: getCandidates(filter, controllerId)) {
             if (perm.isPhasedIn() && perm.getControllerId().equals(controllerId) && filter.match(perm, game)) {
                 active.add(perm);
             }
@@ -359,7 +420,7 @@ public class Battlefield implements Serializable {
     public List<Permanent> getActivePermanents(FilterPermanent filter, UUID sourcePlayerId, UUID sourceId, Game game) {
         List<Permanent> active = new ArrayList<>();
         if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
-            for (Permanent perm: field.values()) {
+            for (Permanent perm: getCandidates(filter, null)) {
                 if (perm.isPhasedIn() && filter.match(perm, sourceId, sourcePlayerId, game)) {
                     active.add(perm);
                 }
@@ -367,7 +428,7 @@ public class Battlefield implements Serializable {
         }
         else {
             Set<UUID> range = game.getPlayer(sourcePlayerId).getInRange();
-            for (Permanent perm: field.values()) {
+            for (Permanent perm: getCandidates(filter, null)) {
                 if (perm.isPhasedIn() && range.contains(perm.getControllerId()) && filter.match(perm, sourceId, sourcePlayerId, game)) {
                     active.add(perm);
                 }
@@ -421,6 +482,7 @@ public class Battlefield implements Serializable {
     }
 
     public void resetPermanentsControl() {
+        indexes = null;
         for (Permanent perm: field.values()) {
             if (perm.isPhasedIn()) {
                 perm.resetControl();
@@ -436,6 +498,7 @@ public class Battlefield implements Serializable {
      * @return
      */
     public boolean fireControlChangeEvents(Game game) {
+        indexes = null;
         boolean controlChanged = false;
         for (Permanent perm: field.values()) {
             if (perm.isPhasedIn()) {
@@ -445,4 +508,111 @@ public class Battlefield implements Serializable {
         return controlChanged;
     }
 
+    private Indexes getIndexes() {
+        if (!indexesEnabled) {
+            return null;
+        }
+        if (indexes == null) {
+            indexes = new Indexes(field.values());
+        }
+        return indexes;
+    }
+
+    private Collection<Permanent> getCandidates(UUID controllerId) {
+        Indexes current = getIndexes();
+        if (current == null) {
+            return field.values();
+        }
+        return current.get(current.byController, controllerId);
+    }
+
+    private Collection<Permanent> getCandidates(CardType type) {
+        Indexes current = getIndexes();
+        if (current == null) {
+            return field.values();
+        }
+        return current.get(current.byType, type);
+    }
+
+    /**
+     * Returns the permanents that could match the filter and be controlled by
+     * controllerId, if it's not null. These are the permanents of the smallest
+     * index that matches the controller or a card type or subtype the filter
+     * requires, in the order they were put onto the battlefield.
+     *
+     * @param filter
+     * @param controllerId
+     * @return the permanents to check
+     */
+    private Collection<Permanent> getCandidates(FilterPermanent filter, UUID controllerId) {
+        Indexes current = getIndexes();
+        if (current == null) {
+            return field.values();
+        }
+        Collection<Permanent> candidates = field.values();
+        if (controllerId != null) {
+            candidates = current.get(current.byController, controllerId);
+        }
+        for (Predicate predicate: filter.getPredicates()) {
+            Collection<Permanent> indexed = null;
+            if (predicate instanceof CardTypePredicate) {
+                indexed = current.get(current.byType, ((CardTypePredicate) predicate).getCardType());
+            } else if (predicate instanceof SubtypePredicate && !current.allCreatureTypes) {
+                indexed = current.get(current.bySubtype, ((SubtypePredicate) predicate).getSubtype());
+            }
+            if (indexed != null && indexed.size() < candidates.size()) {
+                candidates = indexed;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Permanents by controller, card type and subtype.
+     */
+    private static class Indexes {
+
+        private final Map<UUID, List<Permanent>> byController = new HashMap<>();
+        private final Map<CardType, List<Permanent>> byType = new EnumMap<>(CardType.class);
+        private final Map<String, List<Permanent>> bySubtype = new HashMap<>();
+        // a permanent has all creature types, so the subtypes can't be used
+        private boolean allCreatureTypes;
+
+        Indexes(Collection<Permanent> permanents) {
+            for (Permanent permanent: permanents) {
+                add(byController, permanent.getControllerId(), permanent);
+                for (CardType type: permanent.getCardType()) {
+                    add(byType, type, permanent);
+                }
+                for (String subtype: permanent.getSubtype()) {
+                    add(bySubtype, subtype, permanent);
+                }
+                if (permanent.getAbilities().contains(ChangelingAbility.getInstance())
+                        || permanent.getSubtype().contains(ChangelingAbility.ALL_CREATURE_TYPE)) {
+                    allCreatureTypes = true;
+                }
+            }
+        }
+
+        private static <K> void add(Map<K, List<Permanent>> index, K key, Permanent permanent) {
+            List<Permanent> permanents = index.get(key);
+            if (permanents == null) {
+                permanents = new ArrayList<>();
+                index.put(key, permanents);
+            } else if (permanents.get(permanents.size() - 1) == permanent) {
+                // a type or subtype added twice
+                return;
+            }
+            permanents.add(permanent);
+        }
+
+        <K> List<Permanent> get(Map<K, List<Permanent>> index, K key) {
+            List<Permanent> permanents = index.get(key);
+            if (permanents == null) {
+                return Collections.emptyList();
+            }
+            return permanents;
+        }
+    }
+
 }
@@ -30,6 +30,7 @@ package mage.game.permanent;
 
 import java.util.ArrayList;
 import java.util.UUID;
+import mage.abilities.Abilities;
 import mage.abilities.Ability;
 import mage.abilities.costs.mana.ManaCost;
 import mage.abilities.costs.mana.ManaCosts;
@@ -37,6 +38,7 @@ import mage.cards.Card;
 import mage.cards.LevelerCard;
 import mage.constants.Zone;
 import mage.game.Game;
+import mage.game.GameOptions;
 import mage.game.command.Commander;
 import mage.game.events.ZoneChangeEvent;
 import mage.players.Player;
@@ -48,7 +50,11 @@ public class PermanentCard extends PermanentImpl {
 
     protected int maxLevelCounters;
     protected Card card;
+    // the card keeps the original values of the permanent and is shared between copies of the permanent
+    protected boolean cardShared;
     protected int zoneChangeCounter;
+    // the abilities of the card the abilities of the permanent were copied from (null if face down)
+    private Abilities<Ability> copiedAbilities;
 
     public PermanentCard(Card card, UUID controllerId, Game game) {
         super(card.getId(), card.getOwnerId(), controllerId, card.getName());
@@ -69,31 +75,49 @@ public class PermanentCard extends PermanentImpl {
 
     public PermanentCard(final PermanentCard permanent) {
         super(permanent);
-        this.card = permanent.card.copy();
+        this.card = permanent.card;
+        this.cardShared = true;
+        permanent.cardShared = true;
         this.maxLevelCounters = permanent.maxLevelCounters;
         this.zoneChangeCounter = permanent.zoneChangeCounter;
+        this.copiedAbilities = permanent.copiedAbilities;
     }
 
     @Override
     public void reset(Game game) {
         // when the permanent is reset, copy all original values from the card
         // must copy card each reset so that the original values don't get modified
-        copyFromCard(card);
+        GameOptions options = game.getOptions();
+        copyFromCard(card, options == null || !options.fullEffectsRecompute);
         super.reset(game);
     }
 
     protected void copyFromCard(Card card) {
+        copyFromCard(card, false);
+    }
+
+    /**
+     * Copies the original values from the card
+     *
+     * @param card
+     * @param keepAbilities - keep the copied abilities of the card if no effect
+     * changed them since the last copy
+     */
+    protected void copyFromCard(Card card, boolean keepAbilities) {
         this.name = card.getName();
-        this.abilities.clear();
         if (this.faceDown) {
+            this.abilities.clear();
             for (Ability ability: card.getAbilities()) {
                 if (ability.getWorksFaceDown()) {
                     this.abilities.add(ability.copy());
                 }
             }
+            this.copiedAbilities = null;
         }
-        else {
+        else if (!keepAbilities || !removeGainedAbilities(card.getAbilities())) {
+            this.abilities.clear();
             this.abilities = card.getAbilities().copy();
+            this.copiedAbilities = card.getAbilities();
         }
         this.abilities.setControllerId(this.controllerId);
         this.abilities.setSourceId(objectId);
@@ -124,9 +148,48 @@ public class PermanentCard extends PermanentImpl {
         this.flipCardName = card.getFlipCardName();
     }
 
+    /**
+     * Restores the abilities of the card without copying them again. This is
+     * only possible if the abilities still start with the unchanged copies of
+     * the card abilities, so only abilities were added to the end (gained
+     * abilities of layer 6).
+     *
+     * @param cardAbilities
+     * @return true if the abilities were restored
+     */
+    private boolean removeGainedAbilities(Abilities<Ability> cardAbilities) {
+        if (copiedAbilities != cardAbilities || abilities.size() < cardAbilities.size()) {
+            return false;
+        }
+        for (int i = 0; i < cardAbilities.size(); i++) {
+            if (!abilities.get(i).getId().equals(cardAbilities.get(i).getId())) {
+                return false;
+            }
+        }
+        if (abilities.size() > cardAbilities.size()) {
+            abilities.subList(cardAbilities.size(), abilities.size()).clear();
+        }
+        return true;
+    }
+
     public Card getCard() {
         return card;
     }
+
+    /**
+     * Returns the card with the original values of the permanent so that
+     * the original values can be changed. If the card is still shared with
+     * another copy of this permanent it's copied first.
+     *
+     * @return
+     */
+    public Card getCardForUpdate() {
+        if (cardShared) {
+            card = card.copy();
+            cardShared = false;
+        }
+        return card;
+    }
     @Override
     public boolean moveToZone(Zone toZone, UUID sourceId, Game game, boolean flag) {
         return moveToZone(toZone, sourceId, game, flag, null);
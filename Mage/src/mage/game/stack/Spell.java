@@ -234,8 +234,8 @@ public class Spell implements StackObject, Card {
                         Permanent permanent = game.getPermanent(card.getId());
                         if (permanent != null && permanent instanceof PermanentCard) {
                             permanent.setSpellAbility(ability); // otherwise spell ability without bestow will be set
-                            ((PermanentCard) permanent).getCard().getCardType().add(CardType.CREATURE);
-                            ((PermanentCard) permanent).getCard().getSubtype().remove("Aura");
+                            ((PermanentCard) permanent).getCardForUpdate().getCardType().add(CardType.CREATURE);
+                            ((PermanentCard) permanent).getCardForUpdate().getSubtype().remove("Aura");
                         }
                         card.getCardType().add(CardType.CREATURE);
                         card.getSubtype().remove("Aura");
@@ -29,7 +29,12 @@
 package mage.game.stack;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
 import mage.MageObject;
 import mage.constants.Zone;
@@ -44,6 +49,12 @@ public class SpellStack extends ArrayDeque<StackObject> {
 
     protected Date dateLastAdded;
 
+    // indexes of the stack objects, rebuilt on the first lookup after the stack has changed
+    private transient Map<UUID, StackObject> objectsById;
+    private transient Map<UUID, StackObject> objectsBySourceId;
+    private transient Map<UUID, Spell> spellsBySourceId;
+    private transient Map<StackObject, Integer> positions;
+
     public SpellStack () {}
 
     public SpellStack(final SpellStack stack) {
@@ -113,28 +124,96 @@ public class SpellStack extends ArrayDeque<StackObject> {
     }
 
     public StackObject getStackObject(UUID id) {
-        for (StackObject stackObject: this) {
-            UUID objectId = stackObject.getId();
-            if (objectId.equals(id)) {
-                return stackObject;
-            }
-            UUID sourceId = stackObject.getSourceId();
-            if (sourceId.equals(id)) {
-                return stackObject;
-            }
+        if (id == null || !checkIndex(id)) {
+            return null;
         }
-        return null;
+        return first(objectsById.get(id), objectsBySourceId.get(id));
     }
 
     public Spell getSpell(UUID id) {
-        for (StackObject stackObject: this) {
-            if (stackObject instanceof Spell) {
-                if (stackObject.getId().equals(id) || stackObject.getSourceId().equals(id)) {
-                    return (Spell)stackObject;
+        if (id == null || !checkIndex(id)) {
+            return null;
+        }
+        StackObject stackObject = objectsById.get(id);
+        if (!(stackObject instanceof Spell)) {
+            stackObject = null;
+        }
+        return (Spell) first(stackObject, spellsBySourceId.get(id));
+    }
+
+    /**
+     * Returns the stack object with the given id or the spell with the given
+     * source id (the id of the spell's card), whichever is higher on the stack.
+     *
+     * @param id
+     * @return
+     */
+    public StackObject getStackObjectOrSpell(UUID id) {
+        if (id == null || !checkIndex(id)) {
+            return null;
+        }
+        return first(objectsById.get(id), spellsBySourceId.get(id));
+    }
+
+    private StackObject first(StackObject object1, StackObject object2) {
+        if (object1 == null) {
+            return object2;
+        }
+        if (object2 == null) {
+            return object1;
+        }
+        return positions.get(object1) <= positions.get(object2) ? object1 : object2;
+    }
+
+    /**
+     * Builds the indexes if the stack has changed since they were built.
+     *
+     * @param id the id that will be looked up
+     * @return false if the id can't be found on the stack
+     */
+    private boolean checkIndex(UUID id) {
+        if (isEmpty()) {
+            return false;
+        }
+        if (objectsById == null) {
+            buildIndex();
+        } else {
+            // ids of objects on the stack are not expected to change, but if they do the indexes are rebuilt
+            StackObject stackObject = objectsById.get(id);
+            if (stackObject != null && !id.equals(stackObject.getId())) {
+                buildIndex();
+            } else {
+                stackObject = objectsBySourceId.get(id);
+                if (stackObject != null && !id.equals(stackObject.getSourceId())) {
+                    buildIndex();
                 }
             }
         }
-        return null;
+        return true;
+    }
+
+    private void buildIndex() {
+        objectsById = new HashMap<>();
+        objectsBySourceId = new HashMap<>();
+        spellsBySourceId = new HashMap<>();
+        positions = new IdentityHashMap<>();
+        int position = 0;
+        for (StackObject stackObject: this) {
+            positions.put(stackObject, position++);
+            if (!objectsById.containsKey(stackObject.getId())) {
+                objectsById.put(stackObject.getId(), stackObject);
+            }
+            if (!objectsBySourceId.containsKey(stackObject.getSourceId())) {
+                objectsBySourceId.put(stackObject.getSourceId(), stackObject);
+            }
+            if (stackObject instanceof Spell && !spellsBySourceId.containsKey(stackObject.getSourceId())) {
+                spellsBySourceId.put(stackObject.getSourceId(), (Spell) stackObject);
+            }
+        }
+    }
+
+    private void invalidateIndex() {
+        objectsById = null;
     }
 
     public SpellStack copy() {
@@ -147,6 +226,97 @@ public class SpellStack extends ArrayDeque<StackObject> {
         this.dateLastAdded = new Date();
     }
 
+    // all changes of the deque go through the following methods
+
+    @Override
+    public void addFirst(StackObject e) {
+        invalidateIndex();
+        super.addFirst(e);
+    }
+
+    @Override
+    public void addLast(StackObject e) {
+        invalidateIndex();
+        super.addLast(e);
+    }
+
+    @Override
+    public StackObject pollFirst() {
+        invalidateIndex();
+        return super.pollFirst();
+    }
+
+    @Override
+    public StackObject pollLast() {
+        invalidateIndex();
+        return super.pollLast();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        invalidateIndex();
+        return super.removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        invalidateIndex();
+        return super.removeLastOccurrence(o);
+    }
+
+    @Override
+    public void clear() {
+        invalidateIndex();
+        super.clear();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        invalidateIndex();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        invalidateIndex();
+        return super.retainAll(c);
+    }
+
+    @Override
+    public Iterator<StackObject> iterator() {
+        return new IndexedIterator(super.iterator());
+    }
+
+    @Override
+    public Iterator<StackObject> descendingIterator() {
+        return new IndexedIterator(super.descendingIterator());
+    }
+
+    private class IndexedIterator implements Iterator<StackObject> {
+
+        private final Iterator<StackObject> it;
+
+        IndexedIterator(Iterator<StackObject> it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public StackObject next() {
+            return it.next();
+        }
+
+        @Override
+        public void remove() {
+            invalidateIndex();
+            it.remove();
+        }
+    }
+
     public Date getDateLastAdded() {
         return dateLastAdded;
     }
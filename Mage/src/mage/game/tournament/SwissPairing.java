@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2011 BetaSteward_at_googlemail.com. All rights reserved.
+ *
+ *  Redistribution and use in source and binary forms, with or without modification, are
+ *  permitted provided that the following conditions are met:
+ *
+ *     1. Redistributions of source code must retain the above copyright notice, this list of
+ *        conditions and the following disclaimer.
+ *
+ *     2. Redistributions in binary form must reproduce the above copyright notice, this list
+ *        of conditions and the following disclaimer in the documentation and/or other materials
+ *        provided with the distribution.
+ *
+ *  THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ *  WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ *  FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ *  CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ *  SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ *  ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ *  ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ *  The views and conclusions contained in the software and documentation are those of the
+ *  authors and should not be interpreted as representing official policies, either expressed
+ *  or implied, of BetaSteward_at_googlemail.com.
+ */
+package mage.game.tournament;
+
+import mage.util.MaxWeightMatching;
+
+/**
+ * Pairs the players of a swiss round with a maximum weight matching of all
+ * possible pairings. Each pairing is weighted down by the square of the
+ * point difference of its players, and much more for a rematch, so a
+ * rematch only happens if the players can't be paired otherwise. With an odd
+ * number of players one player gets a bye, like paired against a player
+ * with 0 points, and a second bye counts like a rematch.
+ *
+ * @author magefree
+ */
+public final class SwissPairing {
+
+    private SwissPairing() {
+    }
+
+    /**
+     * @param points tournament points of each player
+     * @param played played[i][j] is true if player i and player j were
+     * already paired
+     * @param hadBye hadBye[i] is true if player i already had a bye
+     * @return the index of the opponent of each player, -1 for the player with
+     * the bye
+     */
+    public static int[] pair(int[] points, boolean[][] played, boolean[] hadBye) {
+        int players = points.length;
+        // with an odd number of players the last vertex stands for the bye
+        int vertices = players + players % 2;
+        int maxPoints = 0;
+        int minPoints = players % 2 == 0 ? Integer.MAX_VALUE : 0;
+        for (int point : points) {
+            maxPoints = Math.max(maxPoints, point);
+            minPoints = Math.min(minPoints, point);
+        }
+        long maxPointsPenalty = players == 0 ? 1 : (long) (maxPoints - minPoints) * (maxPoints - minPoints) + 1;
+        // more than the points penalties of all pairings of a round together
+        long rematchPenalty = maxPointsPenalty * (vertices / 2 + 1);
+        long maxWeight = rematchPenalty + maxPointsPenalty;
+
+        int edges = vertices * (vertices - 1) / 2;
+        int[] edgeFrom = new int[edges];
+        int[] edgeTo = new int[edges];
+        long[] weights = new long[edges];
+        int k = 0;
+        for (int i = 0; i < players; i++) {
+            for (int j = i + 1; j < vertices; j++) {
+                long difference = j < players ? points[i] - points[j] : points[i];
+                long penalty = difference * difference;
+                if (j < players ? played[i][j] : hadBye[i]) {
+                    penalty += rematchPenalty;
+                }
+                edgeFrom[k] = i;
+                edgeTo[k] = j;
+                weights[k] = maxWeight - penalty;
+                k++;
+            }
+        }
+
+        int[] mate = MaxWeightMatching.match(vertices, edgeFrom, edgeTo, weights, true);
+        int[] opponents = new int[players];
+        for (int i = 0; i < players; i++) {
+            opponents[i] = mate[i] < players ? mate[i] : -1;
+        }
+        return opponents;
+    }
+
+}
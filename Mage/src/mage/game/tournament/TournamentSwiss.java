@@ -29,6 +29,7 @@ package mage.game.tournament;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -65,8 +66,6 @@ public abstract class TournamentSwiss extends TournamentImpl {
     }
 
     protected Round createRoundSwiss() {
-        Round round = new Round(rounds.size() + 1, this);
-        rounds.add(round);
         List<TournamentPlayer> roundPlayers = getActivePlayers();
         // sort players by tournament points
         Collections.sort(roundPlayers, new Comparator<TournamentPlayer>() {
@@ -75,65 +74,52 @@ public abstract class TournamentSwiss extends TournamentImpl {
             }
 
         });
-        // create pairings
-        while (roundPlayers.size() > 0) {
-            TournamentPlayer player1 = roundPlayers.get(0);
-            roundPlayers.remove(0);
-            TournamentPlayer playerForPossibleSecondPairing = null;
-            for (TournamentPlayer player2: roundPlayers) {
-                if (alreadyPaired(player1, player2)) {
-                    // if laready paired but equal ponts -> remember if second pairing is needed
-                    if (playerForPossibleSecondPairing == null) {
-                        playerForPossibleSecondPairing = player2;
-                    }
-                } else {
-                    if (player2.getPoints() < player1.getPoints() && playerForPossibleSecondPairing != null) {
-                        // pair again with a player
-                        round.addPairing(new TournamentPairing(player1, playerForPossibleSecondPairing));
-                        roundPlayers.remove(playerForPossibleSecondPairing);
-                        player1 = null;
-                        break;
-                    } else {
-                        // pair agains the next not paired before
-                        round.addPairing(new TournamentPairing(player1, player2));
-                        roundPlayers.remove(player2);
-                        player1 = null;
-                        break;
-                    }
+        // pairings and byes of the previous rounds, collected once for the whole round
+        Map<TournamentPlayer, Integer> indexes = new HashMap<>();
+        int[] points = new int[roundPlayers.size()];
+        for (int i = 0; i < roundPlayers.size(); i++) {
+            indexes.put(roundPlayers.get(i), i);
+            points[i] = roundPlayers.get(i).getPoints();
+        }
+        boolean[][] played = new boolean[points.length][points.length];
+        boolean[] hadBye = new boolean[points.length];
+        for (Round previousRound : rounds) {
+            for (TournamentPairing pairing: previousRound.getPairs()) {
+                Integer index1 = indexes.get(pairing.getPlayer1());
+                Integer index2 = indexes.get(pairing.getPlayer2());
+                if (index1 != null && index2 != null) {
+                    played[index1][index2] = true;
+                    played[index2][index1] = true;
                 }
             }
-            if (player1 != null) {
-                // no pairing done yet
-                if (playerForPossibleSecondPairing != null) {
-                    // pair again with a player
-                    round.addPairing(new TournamentPairing(player1, playerForPossibleSecondPairing));
-                    roundPlayers.remove(playerForPossibleSecondPairing);
-                } else {
-                    // player free round - add to bye players of this round
-                    round.getPlayerByes().add(player1);
-                    if (round.getRoundNumber() == getNumberRounds()) {
-                        player1.setState(TournamentPlayerState.FINISHED);
-                    } else {
-                        player1.setState(TournamentPlayerState.WAITING);
-                    }
-                    player1.setStateInfo("Round Bye");
-                    updateResults();
+            for (TournamentPlayer player: previousRound.getPlayerByes()) {
+                Integer index = indexes.get(player);
+                if (index != null) {
+                    hadBye[index] = true;
                 }
             }
         }
-        return round;
-    }
 
-    protected boolean alreadyPaired(TournamentPlayer player1, TournamentPlayer player2) {
-        for (Round round : rounds) {
-            for (TournamentPairing pairing: round.getPairs()) {
-                if (pairing.getPlayer1().equals(player1) || pairing.getPlayer2().equals(player1)) {
-                    if (pairing.getPlayer1().equals(player2) || pairing.getPlayer2().equals(player2)) {
-                        return true;
-                    }
+        Round round = new Round(rounds.size() + 1, this);
+        rounds.add(round);
+        // create pairings
+        int[] opponents = SwissPairing.pair(points, played, hadBye);
+        for (int i = 0; i < opponents.length; i++) {
+            if (opponents[i] > i) {
+                round.addPairing(new TournamentPairing(roundPlayers.get(i), roundPlayers.get(opponents[i])));
+            } else if (opponents[i] == -1) {
+                // player free round - add to bye players of this round
+                TournamentPlayer player1 = roundPlayers.get(i);
+                round.getPlayerByes().add(player1);
+                if (round.getRoundNumber() == getNumberRounds()) {
+                    player1.setState(TournamentPlayerState.FINISHED);
+                } else {
+                    player1.setState(TournamentPlayerState.WAITING);
                 }
+                player1.setStateInfo("Round Bye");
+                updateResults();
             }
         }
-        return false;
+        return round;
     }
 }
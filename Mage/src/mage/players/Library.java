@@ -45,6 +45,7 @@ import mage.cards.Card;
 import mage.constants.Zone;
 import mage.filter.FilterCard;
 import mage.game.Game;
+import mage.util.StateHash;
 
 /**
  *
@@ -56,6 +57,8 @@ public class Library implements Serializable {
 
     private boolean emptyDraw;
     private final Deque<UUID> library = new ArrayDeque<UUID>();
+    // xor of the hashes of the cards in the library, the order is not part of it
+    private long hash;
     private final UUID playerId;
 
     public Library(UUID playerId) {
@@ -68,6 +71,7 @@ public class Library implements Serializable {
         for (UUID id: lib.library) {
             this.library.addLast(id);
         }
+        this.hash = lib.hash;
     }
 
     /**
@@ -95,6 +99,7 @@ public class Library implements Serializable {
      */
     public Card removeFromTop(Game game) {
         UUID cardId = library.pollFirst();
+        hash ^= StateHash.hash(cardId);
         Card card = game.getCard(cardId);
         if (card == null) {
             emptyDraw = true;
@@ -111,6 +116,7 @@ public class Library implements Serializable {
      */
     public Card removeFromBottom(Game game) {
         UUID cardId = library.pollLast();
+        hash ^= StateHash.hash(cardId);
         Card card = game.getCard(cardId);
         if (card == null) {
             emptyDraw = true;
@@ -133,6 +139,7 @@ public class Library implements Serializable {
         if (card.getOwnerId().equals(playerId)) {
             card.setZone(Zone.LIBRARY, game);
             library.addFirst(card.getId());
+            hash ^= StateHash.hash(card.getId());
         }
         else {
             game.getPlayer(card.getOwnerId()).getLibrary().putOnTop(card, game);
@@ -142,10 +149,11 @@ public class Library implements Serializable {
     public void putOnBottom(Card card, Game game) {
         if (card.getOwnerId().equals(playerId)) {
             card.setZone(Zone.LIBRARY, game);
-            if (library.contains(card.getId())) {
-                library.remove(card.getId());
+            if (library.remove(card.getId())) {
+                hash ^= StateHash.hash(card.getId());
             }
             library.add(card.getId());
+            hash ^= StateHash.hash(card.getId());
         }
         else {
             game.getPlayer(card.getOwnerId()).getLibrary().putOnBottom(card, game);
@@ -158,6 +166,7 @@ public class Library implements Serializable {
 
     public void clear() {
         library.clear();
+        hash = 0;
     }
 
     public int size() {
@@ -169,6 +178,14 @@ public class Library implements Serializable {
         for (UUID card: newLibrary.getCardList()) {
             library.add(card);
         }
+        hash = newLibrary.hash;
+    }
+
+    /**
+     * @return order independent hash of the cards in the library
+     */
+    public long getHash() {
+        return hash;
     }
 
     public List<UUID> getCardList() {
@@ -228,6 +245,7 @@ public class Library implements Serializable {
         for (Card card: cards) {
             card.setZone(Zone.LIBRARY, game);
             library.add(card.getId());
+            hash ^= StateHash.hash(card.getId());
         }
     }
 
@@ -246,6 +264,7 @@ public class Library implements Serializable {
             UUID card = it.next();
             if (card.equals(cardId)) {
                 it.remove();
+                hash ^= StateHash.hash(card);
                 return game.getCard(card);
             }
         }
@@ -49,6 +49,7 @@ import mage.game.Game;
 import mage.game.events.GameEvent;
 import mage.game.events.GameEvent.EventType;
 import mage.game.events.ManaEvent;
+import mage.util.StateHash;
 
 /**
  *
@@ -384,6 +385,36 @@ public class ManaPool implements Serializable {
         return conditionalMana;
     }
 
+    /**
+     * @return hash of the mana in the pool, in the order it was added
+     */
+    public long getHash() {
+        long hash = 0;
+        for (ManaPoolItem item: manaItems) {
+            if (item.isConditional()) {
+                hash = hashMana(hash, item.getConditionalMana());
+            } else {
+                hash = StateHash.combine(hash, item.getWhite());
+                hash = StateHash.combine(hash, item.getBlue());
+                hash = StateHash.combine(hash, item.getBlack());
+                hash = StateHash.combine(hash, item.getRed());
+                hash = StateHash.combine(hash, item.getGreen());
+                hash = StateHash.combine(hash, item.getColorless());
+            }
+        }
+        return hash;
+    }
+
+    private static long hashMana(long hash, Mana mana) {
+        hash = StateHash.combine(hash, mana.getWhite());
+        hash = StateHash.combine(hash, mana.getBlue());
+        hash = StateHash.combine(hash, mana.getBlack());
+        hash = StateHash.combine(hash, mana.getRed());
+        hash = StateHash.combine(hash, mana.getGreen());
+        hash = StateHash.combine(hash, mana.getColorless());
+        return StateHash.combine(hash, mana.getAny());
+    }
+
     public int count() {
         int x = 0;
         for (ManaPoolItem item: manaItems) {
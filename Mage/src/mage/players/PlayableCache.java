@@ -0,0 +1,113 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+package mage.players;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import mage.Mana;
+import mage.abilities.Ability;
+import mage.game.Game;
+import mage.game.GameState;
+
+/**
+ * Keeps the playable abilities and hand cards of a player for the game state
+ * they were found for.
+ *
+ * They are used again as long as nothing happened in the game since, see
+ * {@link GameState#getChangeCount()}, and the mana pool of the player is the
+ * same. So the priority player's playable cards are found only once for all
+ * the game views sent while the player has priority.
+ *
+ * @author magefree
+ */
+public class PlayableCache {
+
+    private GameState state;
+    private long changeCount;
+    private Mana pool;
+
+    private List<Ability> playable;
+    private List<Ability> playableHidden;
+    private Set<UUID> playableInHand;
+
+    public List<Ability> getPlayable(Game game, boolean hidden, Mana pool) {
+        if (!isValid(game, pool)) {
+            return null;
+        }
+        List<Ability> abilities = hidden ? playableHidden : playable;
+        return abilities == null ? null : new ArrayList<>(abilities);
+    }
+
+    public void setPlayable(Game game, boolean hidden, Mana pool, List<Ability> abilities) {
+        validate(game, pool);
+        if (hidden) {
+            playableHidden = new ArrayList<>(abilities);
+        } else {
+            playable = new ArrayList<>(abilities);
+        }
+    }
+
+    public Set<UUID> getPlayableInHand(Game game, Mana pool) {
+        if (!isValid(game, pool) || playableInHand == null) {
+            return null;
+        }
+        return new HashSet<>(playableInHand);
+    }
+
+    public void setPlayableInHand(Game game, Mana pool, Set<UUID> cardIds) {
+        validate(game, pool);
+        playableInHand = new HashSet<>(cardIds);
+    }
+
+    public void clear() {
+        state = null;
+        pool = null;
+        playable = null;
+        playableHidden = null;
+        playableInHand = null;
+    }
+
+    private boolean isValid(Game game, Mana pool) {
+        return state != null && state == game.getState()
+                && changeCount == state.getChangeCount()
+                && this.pool.equalManaValue(pool);
+    }
+
+    private void validate(Game game, Mana pool) {
+        if (!isValid(game, pool)) {
+            clear();
+            this.state = game.getState();
+            this.changeCount = state.getChangeCount();
+            this.pool = pool.copy();
+        }
+    }
+
+}
@@ -231,6 +231,8 @@ public abstract class PlayerImpl implements Player, Serializable {
     protected UserData userData;
     protected MatchPlayer matchPlayer;
 
+    protected transient PlayableCache playableCache;
+
     /**
      * During some steps we can't play anything
      */
@@ -2207,12 +2209,8 @@ public abstract class PlayerImpl implements Player, Serializable {
             if (abilityOptions.size() == 0) {
                 return true;
             } else {
-                for (Mana mana : abilityOptions) {
-                    for (Mana avail : available) {
-                        if (mana.enough(avail)) {
-                            return true;
-                        }
-                    }
+                if (available.enough(abilityOptions)) {
+                    return true;
                 }
             }
             // old alternate costs
@@ -2254,12 +2252,8 @@ public abstract class PlayerImpl implements Player, Serializable {
                             if (manaCosts.size() == 0) {
                                 return true;
                             } else {
-                                for (Mana mana : manaCosts.getOptions()) {
-                                    for (Mana avail : available) {
-                                        if (mana.enough(avail)) {
-                                            return true;
-                                        }
-                                    }
+                                if (available.enough(manaCosts.getOptions())) {
+                                    return true;
                                 }
                             }
                         }
@@ -2291,12 +2285,8 @@ public abstract class PlayerImpl implements Player, Serializable {
                     if (manaCosts.size() == 0) {
                         return true;
                     } else {
-                        for (Mana mana : manaCosts.getOptions()) {
-                            for (Mana avail : available) {
-                                if (mana.enough(avail)) {
-                                    return true;
-                                }
-                            }
+                        if (available.enough(manaCosts.getOptions())) {
+                            return true;
                         }
                     }
                 }
@@ -2310,6 +2300,11 @@ public abstract class PlayerImpl implements Player, Serializable {
         List<Ability> playable = new ArrayList<>();
 
         if (!shouldSkipGettingPlayable(game)) {
+            Mana poolMana = manaPool.getMana();
+            List<Ability> cached = getPlayableCache().getPlayable(game, hidden, poolMana);
+            if (cached != null) {
+                return cached;
+            }
 
             ManaOptions availableMana = getManaAvailable(game);
             availableMana.addMana(manaPool.getMana());
@@ -2405,6 +2400,7 @@ public abstract class PlayerImpl implements Player, Serializable {
                 }
             }
             playable.addAll(playableActivated.values());
+            getPlayableCache().setPlayable(game, hidden, poolMana, playable);
         }
 
         return playable;
@@ -2424,6 +2420,11 @@ public abstract class PlayerImpl implements Player, Serializable {
     public Set<UUID> getPlayableInHand(Game game) {
         Set<UUID> playable = new HashSet<>();
         if (!shouldSkipGettingPlayable(game)) {
+            Mana poolMana = manaPool.getMana();
+            Set<UUID> cached = getPlayableCache().getPlayableInHand(game, poolMana);
+            if (cached != null) {
+                return cached;
+            }
             ManaOptions available = getManaAvailable(game);
             available.addMana(manaPool.getMana());
 
@@ -2459,11 +2460,19 @@ public abstract class PlayerImpl implements Player, Serializable {
                     }
                 }
             }
+            getPlayableCache().setPlayableInHand(game, poolMana, playable);
         }
 
         return playable;
     }
 
+    private PlayableCache getPlayableCache() {
+        if (playableCache == null) {
+            playableCache = new PlayableCache();
+        }
+        return playableCache;
+    }
+
     /**
      * Skip "silent" phase step when players are not allowed to cast anything.
      * E.g. players can't play or cast anything during declaring attackers.
@@ -0,0 +1,177 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+
+package mage.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes a byte array as the difference to another byte array.
+ *
+ * The delta is a list of operations that either copy a range of the source
+ * or insert literal bytes. Matching ranges are found by indexing the source in
+ * fixed size blocks and scanning the target with a rolling hash.
+ *
+ * @author magefree
+ */
+public class BinaryDelta {
+
+    private static final int BLOCK_SIZE = 32;
+    private static final int HASH_BASE = 31;
+    private static final byte OP_COPY = 0;
+    private static final byte OP_INSERT = 1;
+
+    private final byte[] source;
+    private final Map<Integer, Integer> blocks = new HashMap<>();
+    private final int removeFactor;
+
+    /**
+     * @param source the bytes the deltas are created against
+     */
+    public BinaryDelta(byte[] source) {
+        this.source = source;
+        for (int offset = 0; offset + BLOCK_SIZE <= source.length; offset += BLOCK_SIZE) {
+            Integer hash = hash(source, offset);
+            if (!blocks.containsKey(hash)) {
+                blocks.put(hash, offset);
+            }
+        }
+        int factor = 1;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            factor *= HASH_BASE;
+        }
+        this.removeFactor = factor;
+    }
+
+    public byte[] getSource() {
+        return source;
+    }
+
+    public byte[] encode(byte[] target) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(target.length);
+            int literalStart = 0;
+            int pos = 0;
+            int hash = target.length >= BLOCK_SIZE ? hash(target, 0) : 0;
+            while (pos + BLOCK_SIZE <= target.length) {
+                Integer match = blocks.get(hash);
+                if (match != null && equalRange(match, target, pos, BLOCK_SIZE)) {
+                    int sourceStart = match;
+                    int targetStart = pos;
+                    // extend the match into the pending literal bytes
+                    while (targetStart > literalStart && sourceStart > 0 && source[sourceStart - 1] == target[targetStart - 1]) {
+                        sourceStart--;
+                        targetStart--;
+                    }
+                    int end = pos + BLOCK_SIZE;
+                    int sourceEnd = match + BLOCK_SIZE;
+                    while (end < target.length && sourceEnd < source.length && source[sourceEnd] == target[end]) {
+                        end++;
+                        sourceEnd++;
+                    }
+                    writeInsert(out, target, literalStart, targetStart);
+                    out.writeByte(OP_COPY);
+                    out.writeInt(sourceStart);
+                    out.writeInt(end - targetStart);
+                    pos = end;
+                    literalStart = end;
+                    if (pos + BLOCK_SIZE <= target.length) {
+                        hash = hash(target, pos);
+                    }
+                } else {
+                    if (pos + BLOCK_SIZE < target.length) {
+                        hash = hash * HASH_BASE + target[pos + BLOCK_SIZE] - removeFactor * target[pos];
+                    }
+                    pos++;
+                }
+            }
+            writeInsert(out, target, literalStart, target.length);
+            out.close();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // can't happen writing to memory
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public byte[] decode(byte[] delta) {
+        try {
+            DataInputStream in = new DataInputStream(new FastByteArrayInputStream(delta, delta.length));
+            byte[] target = new byte[in.readInt()];
+            int pos = 0;
+            while (pos < target.length) {
+                byte op = in.readByte();
+                int length;
+                if (op == OP_COPY) {
+                    int offset = in.readInt();
+                    length = in.readInt();
+                    System.arraycopy(source, offset, target, pos, length);
+                } else {
+                    length = in.readInt();
+                    in.readFully(target, pos, length);
+                }
+                pos += length;
+            }
+            return target;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt delta", e);
+        }
+    }
+
+    private void writeInsert(DataOutputStream out, byte[] target, int start, int end) throws IOException {
+        if (end > start) {
+            out.writeByte(OP_INSERT);
+            out.writeInt(end - start);
+            out.write(target, start, end - start);
+        }
+    }
+
+    private boolean equalRange(int sourceOffset, byte[] target, int targetOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (source[sourceOffset + i] != target[targetOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            hash = hash * HASH_BASE + data[i];
+        }
+        return hash;
+    }
+}
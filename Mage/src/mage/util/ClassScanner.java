@@ -27,18 +27,25 @@
  */
 package mage.util;
 
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarFile;
 
 /**
  *
@@ -47,11 +54,48 @@ import java.util.jar.JarInputStream;
 public class ClassScanner {
 
     public static List<Class> findClasses(List<String> packages, Class<?> type) {
-        List<Class> cards = new ArrayList<Class>();
+        List<Class> classes = new ArrayList<Class>();
+        for (String className : findClassNames(packages, null)) {
+            Class<?> clazz = loadClass(className, type);
+            if (clazz != null) {
+                classes.add(clazz);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Finds the names of the classes in the given packages without loading
+     * them. Jars that contain the given index resource are not searched, the
+     * class names are read from the index instead (see
+     * {@link #writeIndex(File, Class, String)}). Directories are always
+     * searched, classes compiled into them after the index was written would
+     * be missing from it.
+     *
+     * @param packages
+     * @param index path of the index resource, or null to search all jars and
+     * directories
+     * @return
+     */
+    public static List<String> findClassNames(List<String> packages, String index) {
+        List<String> classNames = new ArrayList<String>();
         try {
             ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
             assert classLoader != null;
 
+            Set<String> indexedRoots = new HashSet<String>();
+            if (index != null) {
+                Enumeration<URL> resources = classLoader.getResources(index);
+                while (resources.hasMoreElements()) {
+                    URL resource = resources.nextElement();
+                    // a jar is built as a whole, so its index is up to date
+                    if ("jar".equals(resource.getProtocol())) {
+                        indexedRoots.add(getRoot(resource.getFile(), index));
+                        readIndex(resource, packages, classNames);
+                    }
+                }
+            }
+
             HashMap<String, String> dirs = new HashMap<String, String>();
             TreeSet<String> jars = new TreeSet<String>();
             for (String packageName : packages) {
@@ -61,9 +105,12 @@ public class ClassScanner {
                 while (resources.hasMoreElements()) {
                     URL resource = resources.nextElement();
                     String filePath = resource.getFile();
+                    String root = getRoot(filePath, path);
+                    if (indexedRoots.contains(root)) {
+                        continue;
+                    }
                     if (filePath.startsWith("file:")) {
-                        filePath = filePath.substring("file:".length(), filePath.lastIndexOf("!"));
-                        jars.add(filePath);
+                        jars.add(root);
                     } else {
                         dirs.put(filePath, packageName);
                     }
@@ -71,74 +118,144 @@ public class ClassScanner {
             }
 
             for (String filePath : dirs.keySet()) {
-                cards.addAll(findClasses(new File(filePath), dirs.get(filePath), type));
+                classNames.addAll(findClassNames(new File(filePath), dirs.get(filePath)));
             }
 
             for (String filePath : jars) {
                 File file = new File(URLDecoder.decode(filePath, "UTF-8"));
-                cards.addAll(findClassesInJar(file, packages, type));
+                classNames.addAll(findClassNamesInJar(file, packages));
             }
         } catch (IOException ex) {
         }
-        return cards;
+        return classNames;
+    }
+
+    /**
+     * @param className
+     * @param type
+     * @return the class, or null if it can't be loaded or is no subclass of
+     * type
+     */
+    public static Class<?> loadClass(String className, Class<?> type) {
+        try {
+            Class<?> clazz = Class.forName(className);
+            if (type.isAssignableFrom(clazz)) {
+                return clazz;
+            }
+        } catch (ClassNotFoundException ex) {
+        }
+        return null;
+    }
+
+    /**
+     * Writes the index of the classes of the given type in a directory of
+     * compiled classes (used at build time), so
+     * {@link #findClassNames(List, String)} doesn't have to search the jar
+     * the classes are packaged into.
+     *
+     * @param directory the root of the classes, it has to be on the class path
+     * @param type
+     * @param index path of the index resource
+     * @return number of indexed classes
+     * @throws IOException
+     */
+    public static int writeIndex(File directory, Class<?> type, String index) throws IOException {
+        List<String> classNames = new ArrayList<String>();
+        collectClassNames(directory, "", classNames);
+        Collections.sort(classNames);
+        File file = new File(directory, index);
+        file.getParentFile().mkdirs();
+        int count = 0;
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"))) {
+            for (String className : classNames) {
+                if (loadClass(className, type) != null) {
+                    writer.println(className);
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
-    private static List<Class> findClasses(File directory, String packageName, Class<?> type) {
-        List<Class> cards = new ArrayList<Class>();
+    private static void collectClassNames(File directory, String packageName, List<String> classNames) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectClassNames(file, packageName.isEmpty() ? file.getName() : packageName + '.' + file.getName(), classNames);
+            } else if (file.getName().endsWith(".class") && !packageName.isEmpty()) {
+                classNames.add(packageName + '.' + file.getName().substring(0, file.getName().length() - 6));
+            }
+        }
+    }
+
+    /**
+     * @param filePath file of a resource URL
+     * @param path path of the resource
+     * @return the jar or directory that contains the resource
+     */
+    private static String getRoot(String filePath, String path) {
+        if (filePath.startsWith("file:")) {
+            return filePath.substring("file:".length(), filePath.lastIndexOf("!"));
+        }
+        return filePath.substring(0, filePath.length() - path.length());
+    }
+
+    private static void readIndex(URL resource, List<String> packages, List<String> classNames) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), "UTF-8"))) {
+            String className;
+            while ((className = reader.readLine()) != null) {
+                className = className.trim();
+                if (!className.isEmpty() && packages.contains(getPackageName(className))) {
+                    classNames.add(className);
+                }
+            }
+        }
+    }
+
+    private static String getPackageName(String className) {
+        int packageNameEnd = className.lastIndexOf('.');
+        return packageNameEnd != -1 ? className.substring(0, packageNameEnd) : "";
+    }
+
+    private static List<String> findClassNames(File directory, String packageName) {
+        List<String> classNames = new ArrayList<String>();
         if (!directory.exists()) {
-            return cards;
+            return classNames;
         }
 
         for (File file : directory.listFiles()) {
             if (file.getName().endsWith(".class")) {
-                try {
-                    Class<?> clazz = Class.forName(packageName + '.' + file.getName().substring(0, file.getName().length() - 6));
-                    if (type.isAssignableFrom(clazz)) {
-                        cards.add(clazz);
-                    }
-                } catch (ClassNotFoundException ex) {
-                }
+                classNames.add(packageName + '.' + file.getName().substring(0, file.getName().length() - 6));
             }
         }
-        return cards;
+        return classNames;
     }
 
-    private static List<Class> findClassesInJar(File file, List<String> packages, Class<?> type) {
-        List<Class> cards = new ArrayList<Class>();
+    /**
+     * Reads only the central directory of the jar, the entries are not
+     * inflated.
+     */
+    private static List<String> findClassNamesInJar(File file, List<String> packages) {
+        List<String> classNames = new ArrayList<String>();
         if (!file.exists()) {
-            return cards;
+            return classNames;
         }
-        JarInputStream jarFile = null;
-        try {
-            jarFile = new JarInputStream(new FileInputStream(file));
-            while (true) {
-                JarEntry jarEntry = jarFile.getNextJarEntry();
-                if (jarEntry == null) {
-                    break;
-                }
+        try (JarFile jarFile = new JarFile(file)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry jarEntry = entries.nextElement();
                 if (jarEntry.getName().endsWith(".class")) {
                     String className = jarEntry.getName().replace('/', '.').replace(".class", "");
-                    int packageNameEnd = className.lastIndexOf('.');
-                    String packageName = packageNameEnd != -1 ? className.substring(0, packageNameEnd) : "";
-                    if (packages.contains(packageName)) {
-                        Class<?> clazz;
-                        try {
-                            clazz = Class.forName(className);
-                            if (type.isAssignableFrom(clazz)) {
-                                cards.add(clazz);
-                            }
-                        } catch (ClassNotFoundException ex) {
-                        }
+                    if (packages.contains(getPackageName(className))) {
+                        classNames.add(className);
                     }
                 }
             }
         } catch (IOException ex) {
-        } finally {
-            try {
-                jarFile.close();
-            } catch (IOException ex) {
-            }
         }
-        return cards;
+        return classNames;
     }
 }
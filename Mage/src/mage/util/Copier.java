@@ -34,6 +34,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import org.apache.log4j.Logger;
 
 /**
  *
@@ -41,13 +42,37 @@ import java.util.zip.GZIPOutputStream;
  */
 public class Copier<T> {
 
+    private static final Logger logger = Logger.getLogger(Copier.class);
+
     private static ClassLoader loader;
 
     public static void setLoader(ClassLoader loader) {
         Copier.loader = loader;
     }
 
+    /**
+     * Copies the object. Objects implementing {@link Copyable} are copied by
+     * their copy() method, which shares the parts that are never changed,
+     * all other objects are serialized and read back in.
+     *
+     * @param obj
+     * @return the copy or null if the object could not be copied
+     */
     public T copy(T obj) {
+        if (obj instanceof Copyable) {
+            return ((Copyable<T>) obj).copy();
+        }
+        return copySerialized(obj);
+    }
+
+    /**
+     * Copies the object by serializing it and reading it back in, so the copy
+     * shares nothing with the object.
+     *
+     * @param obj
+     * @return the copy or null if the object could not be serialized
+     */
+    public T copySerialized(T obj) {
         T copy = null;
         try {
             FastByteArrayOutputStream fbos = new FastByteArrayOutputStream();
@@ -93,6 +118,83 @@ public class Copier<T> {
         return null;
     }
 
+    /**
+     * Serializes the object into a byte array
+     *
+     * @param obj
+     * @return the bytes or null if the object could not be serialized
+     */
+    public byte[] copyToBytes(T obj) {
+        try {
+            FastByteArrayOutputStream fbos = new FastByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(fbos);
+            out.writeObject(obj);
+            out.flush();
+            out.close();
+
+            byte[] copy = new byte[fbos.getSize()];
+            System.arraycopy(fbos.getByteArray(), 0, copy, 0, fbos.getSize());
+            return copy;
+        }
+        catch(IOException e) {
+            logger.error("Could not serialize " + obj.getClass().getName(), e);
+        }
+        return null;
+    }
+
+    public T copyFromBytes(byte[] buffer) {
+        T copy = null;
+        try {
+            ObjectInputStream in = new CopierObjectInputStream(loader, new FastByteArrayInputStream(buffer, buffer.length));
+            copy = (T) in.readObject();
+        }
+        catch(IOException e) {
+            logger.error("Could not deserialize object", e);
+        }
+        catch(ClassNotFoundException cnfe) {
+            logger.error("Could not deserialize object", cnfe);
+        }
+        return copy;
+    }
+
+    public static byte[] compress(byte[] buffer) {
+        try {
+            FastByteArrayOutputStream fbos = new FastByteArrayOutputStream();
+            GZIPOutputStream out = new GZIPOutputStream(fbos);
+            out.write(buffer);
+            out.close();
+
+            byte[] compressed = new byte[fbos.getSize()];
+            System.arraycopy(fbos.getByteArray(), 0, compressed, 0, fbos.getSize());
+            return compressed;
+        }
+        catch(IOException e) {
+            logger.error("Could not compress bytes", e);
+        }
+        return null;
+    }
+
+    public static byte[] uncompress(byte[] buffer) {
+        try {
+            GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(buffer));
+            FastByteArrayOutputStream fbos = new FastByteArrayOutputStream(buffer.length * 4);
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                fbos.write(chunk, 0, read);
+            }
+            in.close();
+
+            byte[] uncompressed = new byte[fbos.getSize()];
+            System.arraycopy(fbos.getByteArray(), 0, uncompressed, 0, fbos.getSize());
+            return uncompressed;
+        }
+        catch(IOException e) {
+            logger.error("Could not uncompress bytes", e);
+        }
+        return null;
+    }
+
     public T uncompressCopy(byte[] buffer) {
         T copy = null;
         try {
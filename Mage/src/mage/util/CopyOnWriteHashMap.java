@@ -0,0 +1,267 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+
+package mage.util;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hash map that can be copied in constant time.
+ *
+ * A copy shares the backing map with the map it was copied from. The first
+ * write to either of them replaces its backing map with a private copy, so
+ * maps that are only read after copying (e.g. saved game states) never pay
+ * for the copy.
+ *
+ * The views returned by keySet, values and entrySet support removal only
+ * through their iterators. Setting the value of an entry of the entrySet
+ * view writes through put, so a shared backing map is never changed.
+ *
+ * @author magefree
+ * @param <K>
+ * @param <V>
+ */
+public class CopyOnWriteHashMap<K, V> implements Map<K, V>, Serializable, Copyable<CopyOnWriteHashMap<K, V>> {
+
+    private Map<K, V> map;
+    private boolean shared;
+
+    public CopyOnWriteHashMap() {
+        this.map = new HashMap<>();
+    }
+
+    public CopyOnWriteHashMap(final CopyOnWriteHashMap<K, V> source) {
+        this.map = source.map;
+        this.shared = true;
+        source.shared = true;
+    }
+
+    @Override
+    public CopyOnWriteHashMap<K, V> copy() {
+        return new CopyOnWriteHashMap<>(this);
+    }
+
+    private Map<K, V> writable() {
+        if (shared) {
+            map = new HashMap<>(map);
+            shared = false;
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        return writable().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        if (!m.isEmpty()) {
+            writable().putAll(m);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            map = new HashMap<>();
+            shared = false;
+        } else {
+            map.clear();
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new ViewIterator<K>() {
+                    @Override
+                    K get(Entry<K, V> entry) {
+                        return entry.getKey();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return map.containsKey(o);
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ViewIterator<V>() {
+                    @Override
+                    V get(Entry<K, V> entry) {
+                        return entry.getValue();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new ViewIterator<Entry<K, V>>() {
+                    @Override
+                    Entry<K, V> get(Entry<K, V> entry) {
+                        return new ViewEntry(entry.getKey(), entry.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates the backing map as it was when the iterator was created.
+     * Removing an element unshares the map first, so a shared backing map
+     * is never changed.
+     */
+    private abstract class ViewIterator<T> implements Iterator<T> {
+
+        private final Map<K, V> iterated = map;
+        private final Iterator<Entry<K, V>> it = iterated.entrySet().iterator();
+        private K lastKey;
+
+        abstract T get(Entry<K, V> entry);
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public T next() {
+            Entry<K, V> entry = it.next();
+            lastKey = entry.getKey();
+            return get(entry);
+        }
+
+        @Override
+        public void remove() {
+            if (!shared && map == iterated) {
+                it.remove();
+            } else {
+                writable().remove(lastKey);
+            }
+        }
+    }
+
+    private class ViewEntry extends AbstractMap.SimpleEntry<K, V> {
+
+        ViewEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return map.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+* Copyright 2010 BetaSteward_at_googlemail.com. All rights reserved.
+*
+* Redistribution and use in source and binary forms, with or without modification, are
+* permitted provided that the following conditions are met:
+*
+*    1. Redistributions of source code must retain the above copyright notice, this list of
+*       conditions and the following disclaimer.
+*
+*    2. Redistributions in binary form must reproduce the above copyright notice, this list
+*       of conditions and the following disclaimer in the documentation and/or other materials
+*       provided with the distribution.
+*
+* THIS SOFTWARE IS PROVIDED BY BetaSteward_at_googlemail.com ``AS IS'' AND ANY EXPRESS OR IMPLIED
+* WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+* FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL BetaSteward_at_googlemail.com OR
+* CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+* CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+* SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+* ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+* NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+* ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*
+* The views and conclusions contained in the software and documentation are those of the
+* authors and should not be interpreted as representing official policies, either expressed
+* or implied, of BetaSteward_at_googlemail.com.
+*/
+
+package mage.util;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of game threads that run rules engine work at the same
+ * time. A game thread holds a permit from {@link #enter()} until
+ * {@link #leave()}, but gives it back while it waits for player input, so
+ * games that wait for their players don't keep other games from running.
+ *
+ * Without a limit set all methods do nothing.
+ *
+ * @author magefree
+ */
+public final class GameThreads {
+
+    private static volatile Semaphore permits;
+    private static volatile int maxRunning;
+    private static final ThreadLocal<Semaphore> held = new ThreadLocal<>();
+
+    private GameThreads() {
+    }
+
+    /**
+     * @param maxRunning number of game threads that can run at the same time,
+     * 0 for no limit
+     */
+    public static void setMaxRunning(int maxRunning) {
+        permits = maxRunning > 0 ? new Semaphore(maxRunning, true) : null;
+        GameThreads.maxRunning = maxRunning;
+    }
+
+    /**
+     * @return number of game threads that run at the moment, -1 if there is
+     * no limit
+     */
+    public static int getRunning() {
+        Semaphore current = permits;
+        if (current == null) {
+            return -1;
+        }
+        return maxRunning - current.availablePermits();
+    }
+
+    /**
+     * Called by a game thread before it starts the game, waits until the game
+     * can run.
+     *
+     * @throws InterruptedException
+     */
+    public static void enter() throws InterruptedException {
+        Semaphore current = permits;
+        if (current != null) {
+            current.acquire();
+            held.set(current);
+        }
+    }
+
+    /**
+     * Called by a game thread when the game has ended.
+     */
+    public static void leave() {
+        Semaphore current = held.get();
+        if (current != null) {
+            held.remove();
+            current.release();
+        }
+    }
+
+    /**
+     * Called before the current thread waits for player input. Each call has
+     * to be followed by {@link #resume()} when the input was received.
+     */
+    public static void pause() {
+        Semaphore current = held.get();
+        if (current != null) {
+            current.release();
+        }
+    }
+
+    /**
+     * Called after the current thread received player input, waits until the
+     * game can run again.
+     */
+    public static void resume() {
+        Semaphore current = held.get();
+        if (current != null) {
+            current.acquireUninterruptibly();
+        }
+    }
+
+}
@@ -0,0 +1,624 @@
+/*
+ * Java port of mwmatching.py, the maximum weight matching of Joris van Rantwijk.
+ * The original Python code was released by its author into the public domain.
+ */
+
+package mage.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maximum weight matching in a general graph with Edmonds' blossom algorithm
+ * and dual variables, O(n^3) for n vertices. Ported from the public domain
+ * Python implementation by Joris van Rantwijk (mwmatching.py), which follows
+ * Z. Galil, "Efficient algorithms for finding maximum matching in graphs".
+ *
+ * The weights have to be integers, so all dual variables stay integers.
+ *
+ * @author magefree
+ */
+public final class MaxWeightMatching {
+
+    private final int nvertex;
+    private final int nedge;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] weights;
+    private final boolean maxCardinality;
+
+    private final int[] endpoint;
+    private final int[][] neighbend;
+    private final int[] mate;
+    private final int[] label;
+    private final int[] labelend;
+    private final int[] inblossom;
+    private final int[] blossomparent;
+    private final List<List<Integer>> blossomchilds;
+    private final int[] blossombase;
+    private final List<List<Integer>> blossomendps;
+    private final int[] bestedge;
+    private final List<List<Integer>> blossombestedges;
+    private final List<Integer> unusedblossoms;
+    private final long[] dualvar;
+    private final boolean[] allowedge;
+    private final List<Integer> queue;
+
+    /**
+     * Computes a maximum weight matching.
+     *
+     * @param nvertex number of vertices, numbered from 0
+     * @param edgeFrom first vertex of each edge
+     * @param edgeTo second vertex of each edge
+     * @param weights weight of each edge
+     * @param maxCardinality only matchings with the maximum number of edges
+     * are considered
+     * @return the vertex each vertex is matched with, -1 for unmatched
+     * vertices
+     */
+    public static int[] match(int nvertex, int[] edgeFrom, int[] edgeTo, long[] weights, boolean maxCardinality) {
+        MaxWeightMatching matching = new MaxWeightMatching(nvertex, edgeFrom, edgeTo, weights, maxCardinality);
+        matching.solve();
+        return matching.mate;
+    }
+
+    private MaxWeightMatching(int nvertex, int[] edgeFrom, int[] edgeTo, long[] weights, boolean maxCardinality) {
+        this.nvertex = nvertex;
+        this.nedge = edgeFrom.length;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.weights = weights;
+        this.maxCardinality = maxCardinality;
+
+        long maxweight = 0;
+        for (long weight : weights) {
+            maxweight = Math.max(maxweight, weight);
+        }
+        // endpoint p of edge p / 2 is the vertex edgeFrom for even p, edgeTo for odd p
+        endpoint = new int[2 * nedge];
+        int[] degree = new int[nvertex];
+        for (int k = 0; k < nedge; k++) {
+            endpoint[2 * k] = edgeFrom[k];
+            endpoint[2 * k + 1] = edgeTo[k];
+            degree[edgeFrom[k]]++;
+            degree[edgeTo[k]]++;
+        }
+        // remote endpoints of the edges of each vertex
+        neighbend = new int[nvertex][];
+        for (int v = 0; v < nvertex; v++) {
+            neighbend[v] = new int[degree[v]];
+            degree[v] = 0;
+        }
+        for (int k = 0; k < nedge; k++) {
+            neighbend[edgeFrom[k]][degree[edgeFrom[k]]++] = 2 * k + 1;
+            neighbend[edgeTo[k]][degree[edgeTo[k]]++] = 2 * k;
+        }
+
+        // mate[v] is the remote endpoint of the matched edge of v during the algorithm
+        mate = new int[nvertex];
+        Arrays.fill(mate, -1);
+        // labels of the top level blossoms and vertices: 0 free, 1 S, 2 T
+        label = new int[2 * nvertex];
+        labelend = new int[2 * nvertex];
+        Arrays.fill(labelend, -1);
+        inblossom = new int[nvertex];
+        for (int v = 0; v < nvertex; v++) {
+            inblossom[v] = v;
+        }
+        blossomparent = new int[2 * nvertex];
+        Arrays.fill(blossomparent, -1);
+        blossomchilds = new ArrayList<>(Collections.<List<Integer>>nCopies(2 * nvertex, null));
+        blossombase = new int[2 * nvertex];
+        for (int b = 0; b < 2 * nvertex; b++) {
+            blossombase[b] = b < nvertex ? b : -1;
+        }
+        blossomendps = new ArrayList<>(Collections.<List<Integer>>nCopies(2 * nvertex, null));
+        bestedge = new int[2 * nvertex];
+        Arrays.fill(bestedge, -1);
+        blossombestedges = new ArrayList<>(Collections.<List<Integer>>nCopies(2 * nvertex, null));
+        unusedblossoms = new ArrayList<>();
+        for (int b = nvertex; b < 2 * nvertex; b++) {
+            unusedblossoms.add(b);
+        }
+        dualvar = new long[2 * nvertex];
+        Arrays.fill(dualvar, 0, nvertex, maxweight);
+        allowedge = new boolean[nedge];
+        queue = new ArrayList<>();
+    }
+
+    private long slack(int k) {
+        return dualvar[edgeFrom[k]] + dualvar[edgeTo[k]] - 2 * weights[k];
+    }
+
+    private List<Integer> blossomLeaves(int b) {
+        List<Integer> leaves = new ArrayList<>();
+        addLeaves(b, leaves);
+        return leaves;
+    }
+
+    private void addLeaves(int b, List<Integer> leaves) {
+        if (b < nvertex) {
+            leaves.add(b);
+        } else {
+            for (int t : blossomchilds.get(b)) {
+                addLeaves(t, leaves);
+            }
+        }
+    }
+
+    /**
+     * Labels the top level blossom of vertex w with t (1 = S, 2 = T), reached
+     * through endpoint p. The mate of a T blossom gets an S label.
+     */
+    private void assignLabel(int w, int t, int p) {
+        int b = inblossom[w];
+        label[w] = label[b] = t;
+        labelend[w] = labelend[b] = p;
+        bestedge[w] = bestedge[b] = -1;
+        if (t == 1) {
+            queue.addAll(blossomLeaves(b));
+        } else if (t == 2) {
+            int base = blossombase[b];
+            assignLabel(endpoint[mate[base]], 1, mate[base] ^ 1);
+        }
+    }
+
+    /**
+     * Traces back from the S vertices v and w to find a new blossom or an
+     * augmenting path.
+     *
+     * @return the base of the new blossom, -1 for an augmenting path
+     */
+    private int scanBlossom(int v, int w) {
+        List<Integer> path = new ArrayList<>();
+        int base = -1;
+        while (v != -1 || w != -1) {
+            int b = inblossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossombase[b];
+                break;
+            }
+            path.add(b);
+            label[b] = 5;
+            if (labelend[b] == -1) {
+                v = -1;
+            } else {
+                v = endpoint[labelend[b]];
+                b = inblossom[v];
+                v = endpoint[labelend[b]];
+            }
+            if (w != -1) {
+                int swap = v;
+                v = w;
+                w = swap;
+            }
+        }
+        for (int b : path) {
+            label[b] = 1;
+        }
+        return base;
+    }
+
+    /**
+     * Builds a new blossom with the given base through the S-S edge k.
+     */
+    private void addBlossom(int base, int k) {
+        int v = edgeFrom[k];
+        int w = edgeTo[k];
+        int bb = inblossom[base];
+        int bv = inblossom[v];
+        int bw = inblossom[w];
+        int b = unusedblossoms.remove(unusedblossoms.size() - 1);
+        blossombase[b] = base;
+        blossomparent[b] = -1;
+        blossomparent[bb] = b;
+        List<Integer> path = new ArrayList<>();
+        List<Integer> endps = new ArrayList<>();
+        blossomchilds.set(b, path);
+        blossomendps.set(b, endps);
+        while (bv != bb) {
+            blossomparent[bv] = b;
+            path.add(bv);
+            endps.add(labelend[bv]);
+            v = endpoint[labelend[bv]];
+            bv = inblossom[v];
+        }
+        path.add(bb);
+        Collections.reverse(path);
+        Collections.reverse(endps);
+        endps.add(2 * k);
+        while (bw != bb) {
+            blossomparent[bw] = b;
+            path.add(bw);
+            endps.add(labelend[bw] ^ 1);
+            w = endpoint[labelend[bw]];
+            bw = inblossom[w];
+        }
+        label[b] = 1;
+        labelend[b] = labelend[bb];
+        dualvar[b] = 0;
+        for (int leaf : blossomLeaves(b)) {
+            if (label[inblossom[leaf]] == 2) {
+                // former T vertices become S vertices
+                queue.add(leaf);
+            }
+            inblossom[leaf] = b;
+        }
+        // least slack edges to the neighbouring S blossoms
+        int[] bestedgeto = new int[2 * nvertex];
+        Arrays.fill(bestedgeto, -1);
+        for (int child : path) {
+            List<List<Integer>> nblists = new ArrayList<>();
+            if (blossombestedges.get(child) == null) {
+                for (int leaf : blossomLeaves(child)) {
+                    List<Integer> nblist = new ArrayList<>();
+                    for (int p : neighbend[leaf]) {
+                        nblist.add(p / 2);
+                    }
+                    nblists.add(nblist);
+                }
+            } else {
+                nblists.add(blossombestedges.get(child));
+            }
+            for (List<Integer> nblist : nblists) {
+                for (int edge : nblist) {
+                    int j = edgeTo[edge];
+                    if (inblossom[j] == b) {
+                        j = edgeFrom[edge];
+                    }
+                    int bj = inblossom[j];
+                    if (bj != b && label[bj] == 1 && (bestedgeto[bj] == -1 || slack(edge) < slack(bestedgeto[bj]))) {
+                        bestedgeto[bj] = edge;
+                    }
+                }
+            }
+            blossombestedges.set(child, null);
+            bestedge[child] = -1;
+        }
+        List<Integer> best = new ArrayList<>();
+        for (int edge : bestedgeto) {
+            if (edge != -1) {
+                best.add(edge);
+            }
+        }
+        blossombestedges.set(b, best);
+        bestedge[b] = -1;
+        for (int edge : best) {
+            if (bestedge[b] == -1 || slack(edge) < slack(bestedge[b])) {
+                bestedge[b] = edge;
+            }
+        }
+    }
+
+    /**
+     * Expands a blossom into its sub-blossoms, relabeling them if the blossom
+     * was a T blossom during a stage.
+     */
+    private void expandBlossom(int b, boolean endstage) {
+        for (int s : blossomchilds.get(b)) {
+            blossomparent[s] = -1;
+            if (s < nvertex) {
+                inblossom[s] = s;
+            } else if (endstage && dualvar[s] == 0) {
+                expandBlossom(s, endstage);
+            } else {
+                for (int leaf : blossomLeaves(s)) {
+                    inblossom[leaf] = s;
+                }
+            }
+        }
+        if (!endstage && label[b] == 2) {
+            List<Integer> childs = blossomchilds.get(b);
+            List<Integer> endps = blossomendps.get(b);
+            int entrychild = inblossom[endpoint[labelend[b] ^ 1]];
+            int j = childs.indexOf(entrychild);
+            int jstep;
+            int endptrick;
+            if ((j & 1) != 0) {
+                j -= childs.size();
+                jstep = 1;
+                endptrick = 0;
+            } else {
+                jstep = -1;
+                endptrick = 1;
+            }
+            int p = labelend[b];
+            while (j != 0) {
+                label[endpoint[p ^ 1]] = 0;
+                label[endpoint[get(endps, j - endptrick) ^ endptrick ^ 1]] = 0;
+                assignLabel(endpoint[p ^ 1], 2, p);
+                allowedge[get(endps, j - endptrick) / 2] = true;
+                j += jstep;
+                p = get(endps, j - endptrick) ^ endptrick;
+                allowedge[p / 2] = true;
+                j += jstep;
+            }
+            int bv = get(childs, j);
+            label[endpoint[p ^ 1]] = label[bv] = 2;
+            labelend[endpoint[p ^ 1]] = labelend[bv] = p;
+            bestedge[bv] = -1;
+            j += jstep;
+            while (get(childs, j) != entrychild) {
+                bv = get(childs, j);
+                if (label[bv] == 1) {
+                    j += jstep;
+                    continue;
+                }
+                int labeled = -1;
+                for (int leaf : blossomLeaves(bv)) {
+                    if (label[leaf] != 0) {
+                        labeled = leaf;
+                        break;
+                    }
+                }
+                if (labeled != -1) {
+                    label[labeled] = 0;
+                    label[endpoint[mate[blossombase[bv]]]] = 0;
+                    assignLabel(labeled, 2, labelend[labeled]);
+                }
+                j += jstep;
+            }
+        }
+        label[b] = labelend[b] = -1;
+        blossomchilds.set(b, null);
+        blossomendps.set(b, null);
+        blossombase[b] = -1;
+        blossombestedges.set(b, null);
+        bestedge[b] = -1;
+        unusedblossoms.add(b);
+    }
+
+    /**
+     * Swaps matched and unmatched edges along the path from vertex v to the
+     * base of blossom b, v becomes the new base.
+     */
+    private void augmentBlossom(int b, int v) {
+        int t = v;
+        while (blossomparent[t] != b) {
+            t = blossomparent[t];
+        }
+        if (t >= nvertex) {
+            augmentBlossom(t, v);
+        }
+        List<Integer> childs = blossomchilds.get(b);
+        List<Integer> endps = blossomendps.get(b);
+        int i = childs.indexOf(t);
+        int j = i;
+        int jstep;
+        int endptrick;
+        if ((i & 1) != 0) {
+            j -= childs.size();
+            jstep = 1;
+            endptrick = 0;
+        } else {
+            jstep = -1;
+            endptrick = 1;
+        }
+        while (j != 0) {
+            j += jstep;
+            t = get(childs, j);
+            int p = get(endps, j - endptrick) ^ endptrick;
+            if (t >= nvertex) {
+                augmentBlossom(t, endpoint[p]);
+            }
+            j += jstep;
+            t = get(childs, j);
+            if (t >= nvertex) {
+                augmentBlossom(t, endpoint[p ^ 1]);
+            }
+            mate[endpoint[p]] = p ^ 1;
+            mate[endpoint[p ^ 1]] = p;
+        }
+        Collections.rotate(childs, -i);
+        Collections.rotate(endps, -i);
+        blossombase[b] = blossombase[childs.get(0)];
+    }
+
+    /**
+     * Swaps matched and unmatched edges along the augmenting path through the
+     * S-S edge k.
+     */
+    private void augmentMatching(int k) {
+        int[] starts = {edgeFrom[k], edgeTo[k]};
+        int[] ends = {2 * k + 1, 2 * k};
+        for (int n = 0; n < 2; n++) {
+            int s = starts[n];
+            int p = ends[n];
+            while (true) {
+                int bs = inblossom[s];
+                if (bs >= nvertex) {
+                    augmentBlossom(bs, s);
+                }
+                mate[s] = p;
+                if (labelend[bs] == -1) {
+                    break;
+                }
+                int t = endpoint[labelend[bs]];
+                int bt = inblossom[t];
+                s = endpoint[labelend[bt]];
+                int j = endpoint[labelend[bt] ^ 1];
+                if (bt >= nvertex) {
+                    augmentBlossom(bt, j);
+                }
+                mate[j] = labelend[bt];
+                p = labelend[bt] ^ 1;
+            }
+        }
+    }
+
+    private void solve() {
+        // each stage finds an augmenting path or ends the algorithm
+        for (int stage = 0; stage < nvertex; stage++) {
+            Arrays.fill(label, 0);
+            Arrays.fill(bestedge, -1);
+            for (int b = nvertex; b < 2 * nvertex; b++) {
+                blossombestedges.set(b, null);
+            }
+            Arrays.fill(allowedge, false);
+            queue.clear();
+            for (int v = 0; v < nvertex; v++) {
+                if (mate[v] == -1 && label[inblossom[v]] == 0) {
+                    assignLabel(v, 1, -1);
+                }
+            }
+            boolean augmented = false;
+            while (true) {
+                while (!queue.isEmpty() && !augmented) {
+                    int v = queue.remove(queue.size() - 1);
+                    for (int p : neighbend[v]) {
+                        int k = p / 2;
+                        int w = endpoint[p];
+                        if (inblossom[v] == inblossom[w]) {
+                            continue;
+                        }
+                        long kslack = 0;
+                        if (!allowedge[k]) {
+                            kslack = slack(k);
+                            if (kslack <= 0) {
+                                allowedge[k] = true;
+                            }
+                        }
+                        if (allowedge[k]) {
+                            if (label[inblossom[w]] == 0) {
+                                assignLabel(w, 2, p ^ 1);
+                            } else if (label[inblossom[w]] == 1) {
+                                int base = scanBlossom(v, w);
+                                if (base >= 0) {
+                                    addBlossom(base, k);
+                                } else {
+                                    augmentMatching(k);
+                                    augmented = true;
+                                    break;
+                                }
+                            } else if (label[w] == 0) {
+                                label[w] = 2;
+                                labelend[w] = p ^ 1;
+                            }
+                        } else if (label[inblossom[w]] == 1) {
+                            int b = inblossom[v];
+                            if (bestedge[b] == -1 || kslack < slack(bestedge[b])) {
+                                bestedge[b] = k;
+                            }
+                        } else if (label[w] == 0) {
+                            if (bestedge[w] == -1 || kslack < slack(bestedge[w])) {
+                                bestedge[w] = k;
+                            }
+                        }
+                    }
+                }
+                if (augmented) {
+                    break;
+                }
+
+                // no augmenting path with the allowed edges, update the dual variables
+                int deltatype = -1;
+                long delta = 0;
+                int deltaedge = -1;
+                int deltablossom = -1;
+                if (!maxCardinality) {
+                    deltatype = 1;
+                    delta = minVertexDual();
+                }
+                for (int v = 0; v < nvertex; v++) {
+                    if (label[inblossom[v]] == 0 && bestedge[v] != -1) {
+                        long d = slack(bestedge[v]);
+                        if (deltatype == -1 || d < delta) {
+                            delta = d;
+                            deltatype = 2;
+                            deltaedge = bestedge[v];
+                        }
+                    }
+                }
+                for (int b = 0; b < 2 * nvertex; b++) {
+                    if (blossomparent[b] == -1 && label[b] == 1 && bestedge[b] != -1) {
+                        long d = slack(bestedge[b]) / 2;
+                        if (deltatype == -1 || d < delta) {
+                            delta = d;
+                            deltatype = 3;
+                            deltaedge = bestedge[b];
+                        }
+                    }
+                }
+                for (int b = nvertex; b < 2 * nvertex; b++) {
+                    if (blossombase[b] >= 0 && blossomparent[b] == -1 && label[b] == 2
+                            && (deltatype == -1 || dualvar[b] < delta)) {
+                        delta = dualvar[b];
+                        deltatype = 4;
+                        deltablossom = b;
+                    }
+                }
+                if (deltatype == -1) {
+                    // no further improvement possible with maximum cardinality
+                    deltatype = 1;
+                    delta = Math.max(0, minVertexDual());
+                }
+
+                for (int v = 0; v < nvertex; v++) {
+                    if (label[inblossom[v]] == 1) {
+                        dualvar[v] -= delta;
+                    } else if (label[inblossom[v]] == 2) {
+                        dualvar[v] += delta;
+                    }
+                }
+                for (int b = nvertex; b < 2 * nvertex; b++) {
+                    if (blossombase[b] >= 0 && blossomparent[b] == -1) {
+                        if (label[b] == 1) {
+                            dualvar[b] += delta;
+                        } else if (label[b] == 2) {
+                            dualvar[b] -= delta;
+                        }
+                    }
+                }
+
+                if (deltatype == 1) {
+                    // optimum reached
+                    break;
+                } else if (deltatype == 2) {
+                    allowedge[deltaedge] = true;
+                    int i = edgeFrom[deltaedge];
+                    if (label[inblossom[i]] == 0) {
+                        i = edgeTo[deltaedge];
+                    }
+                    queue.add(i);
+                } else if (deltatype == 3) {
+                    allowedge[deltaedge] = true;
+                    queue.add(edgeFrom[deltaedge]);
+                } else {
+                    expandBlossom(deltablossom, false);
+                }
+            }
+            if (!augmented) {
+                break;
+            }
+            // expand S blossoms with zero dual at the end of the stage
+            for (int b = nvertex; b < 2 * nvertex; b++) {
+                if (blossomparent[b] == -1 && blossombase[b] >= 0 && label[b] == 1 && dualvar[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+        for (int v = 0; v < nvertex; v++) {
+            if (mate[v] >= 0) {
+                mate[v] = endpoint[mate[v]];
+            }
+        }
+    }
+
+    private long minVertexDual() {
+        long min = Long.MAX_VALUE;
+        for (int v = 0; v < nvertex; v++) {
+            min = Math.min(min, dualvar[v]);
+        }
+        return min;
+    }
+
+    /**
+     * Python style list access, negative indexes count from the end.
+     */
+    private static int get(List<Integer> list, int index) {
+        return list.get(index < 0 ? index + list.size() : index);
+    }
+
+}
@@ -29,10 +29,12 @@
 package mage.watchers;
 
 import java.io.Serializable;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 
 /**
  *
@@ -97,6 +99,16 @@ public abstract class Watcher implements Serializable {
         condition = false;
     }
 
+    /**
+     * The event types the watcher has to see. Events of other types are not
+     * dispatched to the watcher.
+     *
+     * @return the watched event types or null if the watcher has to see all events
+     */
+    public Set<EventType> getWatchedEventTypes() {
+        return null;
+    }
+
     public abstract void watch(GameEvent event, Game game);
 
     public abstract Watcher copy();
@@ -28,11 +28,16 @@
 
 package mage.watchers;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 
 /**
  *
@@ -40,6 +45,11 @@ import mage.game.events.GameEvent;
  */
 public class Watchers extends HashMap<String, Watcher> {
 
+    // watchers by the event types they declared, rebuilt after the map changed
+    private transient Map<EventType, List<Watcher>> watchersByType;
+    // watchers that have to see all events
+    private transient List<Watcher> allEventWatchers;
+
     public Watchers() {}
 
     public Watchers(final Watchers watchers) {
@@ -59,11 +69,67 @@ public class Watchers extends HashMap<String, Watcher> {
     }
 
     public void watch(GameEvent event, Game game) {
-        for (Watcher watcher: this.values()) {
+        if (watchersByType == null) {
+            buildIndex();
+        }
+        // the lists are never changed after they are built, so watchers added while dispatching do not disturb the loops
+        List<Watcher> typeWatchers = watchersByType.get(event.getType());
+        if (typeWatchers != null) {
+            for (Watcher watcher: typeWatchers) {
+                watcher.watch(event, game);
+            }
+        }
+        for (Watcher watcher: allEventWatchers) {
             watcher.watch(event, game);
         }
     }
 
+    private void buildIndex() {
+        Map<EventType, List<Watcher>> byType = new EnumMap<>(EventType.class);
+        List<Watcher> all = new ArrayList<>();
+        for (Watcher watcher: this.values()) {
+            Set<EventType> eventTypes = watcher.getWatchedEventTypes();
+            if (eventTypes == null) {
+                all.add(watcher);
+                continue;
+            }
+            for (EventType eventType: eventTypes) {
+                List<Watcher> list = byType.get(eventType);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    byType.put(eventType, list);
+                }
+                list.add(watcher);
+            }
+        }
+        allEventWatchers = all;
+        watchersByType = byType;
+    }
+
+    @Override
+    public Watcher put(String key, Watcher watcher) {
+        watchersByType = null;
+        return super.put(key, watcher);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Watcher> watchers) {
+        watchersByType = null;
+        super.putAll(watchers);
+    }
+
+    @Override
+    public Watcher remove(Object key) {
+        watchersByType = null;
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        watchersByType = null;
+        super.clear();
+    }
+
     public void reset() {
         for (Watcher watcher: this.values()) {
             watcher.reset();
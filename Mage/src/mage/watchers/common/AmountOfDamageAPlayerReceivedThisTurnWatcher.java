@@ -27,13 +27,16 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 /**
@@ -45,6 +48,8 @@ import mage.watchers.Watcher;
  */
 public class AmountOfDamageAPlayerReceivedThisTurnWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_PLAYER);
+
     private final Map<UUID, Integer> amountOfDamageReceivedThisTurn = new HashMap<>();
 
     public AmountOfDamageAPlayerReceivedThisTurnWatcher() {
@@ -58,6 +63,11 @@ public class AmountOfDamageAPlayerReceivedThisTurnWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.DAMAGED_PLAYER) {
@@ -27,12 +27,14 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 /**
@@ -40,6 +42,8 @@ import mage.watchers.Watcher;
  */
 public class AttackedThisTurnWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.ATTACKER_DECLARED);
+
     public Set<UUID> attackedThisTurnCreatures = new HashSet<>();
 
     public AttackedThisTurnWatcher() {
@@ -51,6 +55,11 @@ public class AttackedThisTurnWatcher extends Watcher {
         this.attackedThisTurnCreatures.addAll(watcher.attackedThisTurnCreatures);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.ATTACKER_DECLARED) {
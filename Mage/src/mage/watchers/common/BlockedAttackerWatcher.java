@@ -27,6 +27,7 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -44,6 +45,8 @@ import mage.watchers.Watcher;
  */
 public class BlockedAttackerWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.BLOCKER_DECLARED);
+
     public HashMap<MageObjectReference, Set<MageObjectReference>> blockData = new HashMap<>();
 
     public BlockedAttackerWatcher() {
@@ -64,6 +67,11 @@ public class BlockedAttackerWatcher extends Watcher {
         return new BlockedAttackerWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == EventType.BLOCKER_DECLARED) {
@@ -27,10 +27,13 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.DamagedPlayerEvent;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 import java.util.UUID;
@@ -40,6 +43,8 @@ import java.util.UUID;
  * @author Loki
  */
 public class BloodthirstWatcher extends Watcher {
+
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_PLAYER);
     public BloodthirstWatcher(UUID controllerId) {
         super("DamagedOpponents", WatcherScope.PLAYER);
         this.controllerId = controllerId;
@@ -49,6 +54,11 @@ public class BloodthirstWatcher extends Watcher {
         super(watcher);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (condition == true) { //no need to check - condition has already occured
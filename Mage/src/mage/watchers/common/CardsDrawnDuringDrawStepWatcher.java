@@ -28,14 +28,17 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.PhaseStep;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 /**
@@ -48,6 +51,8 @@ import mage.watchers.Watcher;
 
 public class CardsDrawnDuringDrawStepWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DREW_CARD);
+
     private final Map<UUID, Integer> amountOfCardsDrawnThisTurn = new HashMap<>();
 
     public CardsDrawnDuringDrawStepWatcher() {
@@ -61,6 +66,11 @@ public class CardsDrawnDuringDrawStepWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.DREW_CARD
@@ -28,6 +28,7 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -38,6 +39,7 @@ import mage.constants.WatcherScope;
 import mage.constants.Zone;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.events.ZoneChangeEvent;
 import mage.watchers.Watcher;
 
@@ -49,6 +51,8 @@ import mage.watchers.Watcher;
  */
 public class CardsPutIntoGraveyardWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.UNTAP_STEP_PRE, EventType.ZONE_CHANGE);
+
     private final Map<UUID, Integer> amountOfCardsThisTurn = new HashMap<>();
     private final Set<UUID> cardsPutToGraveyardFromBattlefield = new HashSet<>();
 
@@ -65,6 +69,11 @@ public class CardsPutIntoGraveyardWatcher extends Watcher {
         this.cardsPutToGraveyardFromBattlefield.addAll(watcher.cardsPutToGraveyardFromBattlefield);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.UNTAP_STEP_PRE) {
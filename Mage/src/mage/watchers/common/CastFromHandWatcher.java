@@ -1,13 +1,18 @@
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.WatcherScope;
 import mage.constants.Zone;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.stack.Spell;
 import mage.watchers.Watcher;
 
 public class CastFromHandWatcher extends Watcher {
+
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.SPELL_CAST);
     public CastFromHandWatcher() {
         super("CastFromHand", WatcherScope.CARD);
     }
@@ -16,6 +21,11 @@ public class CastFromHandWatcher extends Watcher {
         super(watcher);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
          if (event.getType() == GameEvent.EventType.SPELL_CAST && event.getZone() == Zone.HAND) {
@@ -27,8 +27,10 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import mage.MageObject;
 import mage.cards.Card;
@@ -51,6 +53,8 @@ import mage.watchers.Watcher;
 
 public class CommanderInfoWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_PLAYER, EventType.ZONE_CHANGE);
+
     public Map<UUID, Integer> damageToPlayer = new HashMap<>();
     public boolean checkCommanderDamage;
 
@@ -72,6 +76,11 @@ public class CommanderInfoWatcher extends Watcher {
         return new CommanderInfoWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (checkCommanderDamage && event.getType() == EventType.DAMAGED_PLAYER && event instanceof DamagedPlayerEvent) {
@@ -27,9 +27,12 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.events.ZoneChangeEvent;
 import mage.watchers.Watcher;
 
@@ -40,6 +43,8 @@ import mage.watchers.Watcher;
 
 public class CreaturesDiedWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.ZONE_CHANGE);
+
     private int amountOfCreaturesThatDied;
 
     public CreaturesDiedWatcher() {
@@ -51,6 +56,11 @@ public class CreaturesDiedWatcher extends Watcher {
        this.amountOfCreaturesThatDied = watcher.amountOfCreaturesThatDied;
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
        if (event.getType() == GameEvent.EventType.ZONE_CHANGE && ((ZoneChangeEvent)event).isDiesEvent()) {
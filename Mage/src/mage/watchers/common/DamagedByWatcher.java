@@ -27,6 +27,7 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -45,6 +46,8 @@ import mage.watchers.Watcher;
  */
 public class DamagedByWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_CREATURE);
+
     public Set<MageObjectReference> damagedCreatures = new HashSet<>();
 
     public DamagedByWatcher() {
@@ -61,6 +64,11 @@ public class DamagedByWatcher extends Watcher {
         return new DamagedByWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == EventType.DAMAGED_CREATURE && sourceId.equals(event.getSourceId())) {
@@ -27,6 +27,7 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -36,6 +37,7 @@ import mage.constants.WatcherScope;
 import mage.filter.common.FilterCreaturePermanent;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.stack.Spell;
 import mage.watchers.Watcher;
 
@@ -45,6 +47,8 @@ import mage.watchers.Watcher;
  */
 public class DragonOnTheBattlefieldWhileSpellWasCastWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.SPELL_CAST);
+
     private static final FilterCreaturePermanent filter = new FilterCreaturePermanent("Dragon", "Dragons");
 
     private final Set<UUID> castWithDragonOnTheBattlefield = new HashSet<>();
@@ -58,6 +62,11 @@ public class DragonOnTheBattlefieldWhileSpellWasCastWatcher extends Watcher {
         this.castWithDragonOnTheBattlefield.addAll(watcher.castWithDragonOnTheBattlefield);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.SPELL_CAST) {
@@ -1,9 +1,12 @@
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.CardType;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.permanent.Permanent;
 import mage.watchers.Watcher;
 
@@ -13,6 +16,8 @@ import mage.watchers.Watcher;
  */
 public class LandfallWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.ENTERS_THE_BATTLEFIELD);
+
     public LandfallWatcher() {
         super("LandPlayed", WatcherScope.PLAYER);
     }
@@ -26,6 +31,11 @@ public class LandfallWatcher extends Watcher {
         return new LandfallWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (condition == true) { //no need to check - condition has already occured
@@ -28,11 +28,14 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.Mana;
 import mage.constants.WatcherScope;
 import mage.constants.Zone;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.events.ZoneChangeEvent;
 import mage.game.stack.Spell;
 import mage.watchers.Watcher;
@@ -45,6 +48,8 @@ import mage.watchers.Watcher;
  */
 public class ManaSpentToCastWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.SPELL_CAST, EventType.ZONE_CHANGE);
+
     Mana payment = null;
 
     public ManaSpentToCastWatcher() {
@@ -56,6 +61,11 @@ public class ManaSpentToCastWatcher extends Watcher {
         this.payment = watcher.payment;
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
          if (event.getType() == GameEvent.EventType.SPELL_CAST && event.getZone() == Zone.HAND) {
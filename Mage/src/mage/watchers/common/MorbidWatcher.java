@@ -28,11 +28,14 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.CardType;
 import mage.constants.WatcherScope;
 import mage.constants.Zone;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.events.ZoneChangeEvent;
 import mage.game.permanent.Permanent;
 import mage.watchers.Watcher;
@@ -43,6 +46,8 @@ import mage.watchers.Watcher;
  */
 public class MorbidWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.ZONE_CHANGE);
+
     public MorbidWatcher() {
         super("Morbid", WatcherScope.GAME);
     }
@@ -51,6 +56,11 @@ public class MorbidWatcher extends Watcher {
         super(watcher);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (condition == true) {
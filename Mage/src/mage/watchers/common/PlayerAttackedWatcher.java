@@ -28,12 +28,15 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 /**
@@ -43,6 +46,8 @@ import mage.watchers.Watcher;
 
 public class PlayerAttackedWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.ATTACKER_DECLARED);
+
     // With how many creatures attacked this player this turn
     private final Map<UUID,Integer> playerAttacked = new HashMap<>();
 
@@ -63,6 +68,11 @@ public class PlayerAttackedWatcher extends Watcher {
         return new PlayerAttackedWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.ATTACKER_DECLARED) {
@@ -27,6 +27,7 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -34,6 +35,7 @@ import mage.constants.CardType;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.stack.Spell;
 import mage.watchers.Watcher;
 
@@ -43,6 +45,8 @@ import mage.watchers.Watcher;
  */
 public class PlayerCastCreatureWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.SPELL_CAST);
+
     Set<UUID> playerIds = new HashSet<>();
 
     public PlayerCastCreatureWatcher() {
@@ -54,6 +58,11 @@ public class PlayerCastCreatureWatcher extends Watcher {
         this.playerIds.addAll(watcher.playerIds);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.SPELL_CAST) {
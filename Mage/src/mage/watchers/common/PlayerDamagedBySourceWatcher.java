@@ -27,6 +27,7 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -44,6 +45,8 @@ import mage.watchers.Watcher;
  */
 public class PlayerDamagedBySourceWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_PLAYER);
+
     private final Set<String> damageSourceIds = new HashSet<>();
 
     public PlayerDamagedBySourceWatcher(UUID playerId) {
@@ -61,6 +64,11 @@ public class PlayerDamagedBySourceWatcher extends Watcher {
         return new PlayerDamagedBySourceWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == EventType.DAMAGED_PLAYER) {
@@ -28,13 +28,16 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 
@@ -47,6 +50,8 @@ import mage.watchers.Watcher;
  */
 public class PlayerGainedLifeWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.UNTAP_STEP_PRE, EventType.GAINED_LIFE);
+
     private Map<UUID, Integer> amountOfLifeGainedThisTurn = new HashMap<UUID, Integer>();
 
 
@@ -61,6 +66,11 @@ public class PlayerGainedLifeWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.UNTAP_STEP_PRE) {
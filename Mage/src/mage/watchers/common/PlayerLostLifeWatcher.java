@@ -28,13 +28,16 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.watchers.Watcher;
 
 
@@ -47,6 +50,8 @@ import mage.watchers.Watcher;
  */
 public class PlayerLostLifeWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.LOST_LIFE);
+
     private final Map<UUID, Integer> amountOfLifeLostThisTurn = new HashMap<>();
     private final Map<UUID, Integer> amountOfLifeLostLastTurn = new HashMap<>();
 
@@ -61,6 +66,11 @@ public class PlayerLostLifeWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.LOST_LIFE) {
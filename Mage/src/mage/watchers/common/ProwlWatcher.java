@@ -27,6 +27,7 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -51,6 +52,8 @@ import mage.watchers.Watcher;
  */
 public class ProwlWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_PLAYER);
+
     private final Map<UUID, Set<String>> damagingSubtypes = new HashMap<>();
     private final Set<UUID> allSubtypes = new HashSet<>();
 
@@ -70,6 +73,11 @@ public class ProwlWatcher extends Watcher {
         return new ProwlWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == EventType.DAMAGED_PLAYER) {
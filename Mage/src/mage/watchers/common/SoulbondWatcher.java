@@ -28,6 +28,8 @@
 
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.abilities.keyword.SoulbondAbility;
 import mage.cards.Cards;
 import mage.cards.CardsImpl;
@@ -41,6 +43,7 @@ import mage.filter.predicate.Predicates;
 import mage.filter.predicate.permanent.AnotherPredicate;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 import mage.game.permanent.Permanent;
 import mage.players.Player;
 import mage.target.common.TargetControlledPermanent;
@@ -53,6 +56,8 @@ import mage.watchers.Watcher;
  */
 public class SoulbondWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.ENTERS_THE_BATTLEFIELD);
+
     private static final FilterControlledCreaturePermanent filter = new FilterControlledCreaturePermanent("another not paired creature you control");
 
     static {
@@ -68,6 +73,11 @@ public class SoulbondWatcher extends Watcher {
         super(watcher);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == GameEvent.EventType.ENTERS_THE_BATTLEFIELD) {
@@ -27,6 +27,8 @@
  */
 package mage.watchers.common;
 
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
@@ -44,6 +46,8 @@ import java.util.UUID;
  */
 public class SourceDidDamageWatcher extends Watcher {
 
+    private static final Set<EventType> WATCHED_EVENT_TYPES = EnumSet.of(EventType.DAMAGED_CREATURE, EventType.DAMAGED_PLANESWALKER, EventType.DAMAGED_PLAYER);
+
     public List<UUID> damageSources = new ArrayList<UUID>();
 
     public SourceDidDamageWatcher() {
@@ -60,6 +64,11 @@ public class SourceDidDamageWatcher extends Watcher {
         return new SourceDidDamageWatcher(this);
     }
 
+    @Override
+    public Set<EventType> getWatchedEventTypes() {
+        return WATCHED_EVENT_TYPES;
+    }
+
     @Override
     public void watch(GameEvent event, Game game) {
         if (event.getType() == EventType.DAMAGED_CREATURE